@@ -1,9 +1,12 @@
 package com.urlshortener.controller;
 
+import com.urlshortener.dto.UrlAnalyticsBatchRequest;
 import com.urlshortener.dto.UrlAnalyticsResponse;
 import com.urlshortener.model.ClickEvent;
 import com.urlshortener.service.AnalyticsService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,6 +20,9 @@ public class AnalyticsController {
 
     private final AnalyticsService analyticsService;
 
+    @Value("${analytics.stats.batch.max-size:500}")
+    private int maxBatchSize;
+
     @GetMapping("/urls/{urlId}/clicks")
     public ResponseEntity<List<ClickEvent>> getClickEvents(@PathVariable Long urlId) {
         return ResponseEntity.ok(analyticsService.getClickEvents(urlId));
@@ -50,4 +56,15 @@ public class AnalyticsController {
             @RequestParam(defaultValue = "7") int days) {
         return ResponseEntity.ok(analyticsService.getUrlAnalytics(urlId, shortCode, originalUrl, days));
     }
+
+    // Stats for a whole dashboard in one call; a few set-based queries regardless of size
+    @PostMapping("/urls/stats:batch")
+    public ResponseEntity<List<UrlAnalyticsResponse>> getUrlAnalyticsBatch(
+            @Valid @RequestBody UrlAnalyticsBatchRequest request) {
+        if (request.getUrlIds().size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch of " + request.getUrlIds().size()
+                    + " URL ids exceeds the limit of " + maxBatchSize);
+        }
+        return ResponseEntity.ok(analyticsService.getUrlAnalyticsBatch(request.getUrlIds(), request.getDays()));
+    }
 } 
\ No newline at end of file
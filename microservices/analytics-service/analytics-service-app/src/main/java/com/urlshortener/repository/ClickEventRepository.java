@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ClickEventRepository extends JpaRepository<ClickEvent, Long> {
@@ -22,6 +23,36 @@ public interface ClickEventRepository extends JpaRepository<ClickEvent, Long> {
     @Query("SELECT c.deviceType, COUNT(c) FROM ClickEvent c WHERE c.urlId = ?1 GROUP BY c.deviceType")
     List<Object[]> getClicksByDeviceType(Long urlId);
 
-    @Query(value = "SELECT FORMATDATETIME(timestamp, 'yyyy-MM-dd') as date, COUNT(id) as count FROM click_events WHERE url_id = :urlId AND timestamp >= :startDate GROUP BY FORMATDATETIME(timestamp, 'yyyy-MM-dd') ORDER BY date DESC", nativeQuery = true)
-    List<Object[]> getClicksByDate(@Param("urlId") Long urlId, @Param("startDate") LocalDateTime startDate);
+    /**
+     * Everything getUrlAnalytics needs in one scan of the URL's click_events rows.
+     * Each row is (dimension, day, browser, device_type, country, clicks), where dimension is
+     * GROUPING(day, browser, device_type, country): 15 = total, 7 = per day, 11 = per browser,
+     * 13 = per device type, 14 = per country. day is NULL for clicks before startDate, so
+     * only recent clicks are counted per day.
+     */
+    @Query(value = "SELECT GROUPING(day, browser, device_type, country) AS dimension, "
+            + "day, browser, device_type, country, COUNT(*) AS clicks "
+            + "FROM (SELECT CASE WHEN timestamp >= :startDate THEN CAST(timestamp AS DATE) END AS day, "
+            + "browser, device_type, country FROM click_events WHERE url_id = :urlId) c "
+            + "GROUP BY GROUPING SETS ((), (day), (browser), (device_type), (country))", nativeQuery = true)
+    List<Object[]> aggregateClicks(@Param("urlId") Long urlId, @Param("startDate") LocalDateTime startDate);
+
+    // Batch variants: one query for any number of URLs, each row prefixed with the url id
+
+    @Query("SELECT c.urlId, COUNT(c) FROM ClickEvent c WHERE c.urlId IN :urlIds GROUP BY c.urlId")
+    List<Object[]> countByUrlIds(@Param("urlIds") Collection<Long> urlIds);
+
+    @Query("SELECT c.urlId, c.country, COUNT(c) FROM ClickEvent c WHERE c.urlId IN :urlIds GROUP BY c.urlId, c.country")
+    List<Object[]> getClicksByCountry(@Param("urlIds") Collection<Long> urlIds);
+
+    @Query("SELECT c.urlId, c.browser, COUNT(c) FROM ClickEvent c WHERE c.urlId IN :urlIds GROUP BY c.urlId, c.browser")
+    List<Object[]> getClicksByBrowser(@Param("urlIds") Collection<Long> urlIds);
+
+    @Query("SELECT c.urlId, c.deviceType, COUNT(c) FROM ClickEvent c WHERE c.urlId IN :urlIds GROUP BY c.urlId, c.deviceType")
+    List<Object[]> getClicksByDeviceType(@Param("urlIds") Collection<Long> urlIds);
+
+    @Query("SELECT c.urlId, CAST(c.timestamp AS LocalDate), COUNT(c) FROM ClickEvent c "
+            + "WHERE c.urlId IN :urlIds AND c.timestamp >= :startDate "
+            + "GROUP BY c.urlId, CAST(c.timestamp AS LocalDate)")
+    List<Object[]> getClicksByDate(@Param("urlIds") Collection<Long> urlIds, @Param("startDate") LocalDateTime startDate);
 } 
\ No newline at end of file
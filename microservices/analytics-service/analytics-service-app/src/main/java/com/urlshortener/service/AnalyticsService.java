@@ -14,4 +14,5 @@ public interface AnalyticsService {
     Map<String, Long> getClicksByBrowser(Long urlId);
     Map<String, Long> getClicksByDeviceType(Long urlId);
     UrlAnalyticsResponse getUrlAnalytics(Long urlId, String shortCode, String originalUrl, int days);
+    List<UrlAnalyticsResponse> getUrlAnalyticsBatch(List<Long> urlIds, int days);
 } 
\ No newline at end of file
@@ -10,12 +10,17 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,6 +30,13 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     private final ClickEventRepository clickEventRepository;
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
+    // GROUPING(day, browser, device_type, country) of an aggregateClicks row: a set bit is a column not grouped on
+    private static final int TOTAL = 0b1111;
+    private static final int BY_DATE = 0b0111;
+    private static final int BY_BROWSER = 0b1011;
+    private static final int BY_DEVICE_TYPE = 0b1101;
+    private static final int BY_COUNTRY = 0b1110;
+
     @Override
     @Async("analyticsTaskExecutor")
     @Transactional
@@ -56,37 +68,102 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     public UrlAnalyticsResponse getUrlAnalytics(Long urlId, String shortCode, String originalUrl, int days) {
         // Analytics service doesn't have access to Url entity - receives data from url-service
         LocalDateTime startDate = LocalDateTime.now().minusDays(days);
+        Map<String, Long> clicksByDate = new HashMap<>();
+        Map<String, Long> clicksByBrowser = new HashMap<>();
+        Map<String, Long> clicksByDeviceType = new HashMap<>();
+        Map<String, Long> clicksByCountry = new HashMap<>();
+        long totalClicks = 0;
+
+        // One scan folds all five aggregates; NULL keys are skipped like in the per-dimension maps
+        for (Object[] row : clickEventRepository.aggregateClicks(urlId, startDate)) {
+            long clicks = ((Number) row[5]).longValue();
+            switch (((Number) row[0]).intValue()) {
+                case TOTAL -> totalClicks = clicks;
+                case BY_DATE -> put(clicksByDate, row[1], clicks);
+                case BY_BROWSER -> put(clicksByBrowser, row[2], clicks);
+                case BY_DEVICE_TYPE -> put(clicksByDeviceType, row[3], clicks);
+                case BY_COUNTRY -> put(clicksByCountry, row[4], clicks);
+                default -> throw new IllegalStateException("Unexpected grouping " + row[0]);
+            }
+        }
 
         return UrlAnalyticsResponse.builder()
                 .shortCode(shortCode)
                 .originalUrl(originalUrl)
-                .totalClicks(getTotalClicks(urlId))
-                .clicksByDate(getClicksByDate(urlId, startDate))
-                .clicksByBrowser(getClicksByBrowser(urlId))
-                .clicksByDeviceType(getClicksByDeviceType(urlId))
-                .clicksByCountry(getClicksByCountry(urlId))
+                .totalClicks(totalClicks)
+                .clicksByDate(clicksByDate)
+                .clicksByBrowser(clicksByBrowser)
+                .clicksByDeviceType(clicksByDeviceType)
+                .clicksByCountry(clicksByCountry)
                 .build();
     }
 
-    private Map<String, Long> getClicksByDate(Long urlId, LocalDateTime startDate) {
-        return clickEventRepository.getClicksByDate(urlId, startDate).stream()
-                .filter(row -> row[0] != null)
-                .collect(Collectors.toMap(
-                    row -> {
-                        Object dateObj = row[0];
-                        if (dateObj instanceof java.sql.Date) {
-                            return ((java.sql.Date) dateObj).toLocalDate().format(DATE_FORMATTER);
-                        } else if (dateObj instanceof java.util.Date) {
-                            return ((java.util.Date) dateObj).toInstant()
-                                    .atZone(java.time.ZoneId.systemDefault())
-                                    .toLocalDate()
-                                    .format(DATE_FORMATTER);
-                        } else {
-                            return dateObj.toString();
-                        }
-                    },
-                    row -> (Long) row[1]
-                ));
+    /**
+     * Analytics for many URLs with one query per aggregate (WHERE url_id IN (...)),
+     * instead of five queries per URL. Results follow the order of urlIds, duplicates
+     * removed; URLs without clicks get zero totals and empty maps. shortCode and
+     * originalUrl are left to the caller, which owns the URL data.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<UrlAnalyticsResponse> getUrlAnalyticsBatch(List<Long> urlIds, int days) {
+        Map<Long, UrlAnalyticsResponse> responses = new LinkedHashMap<>();
+        for (Long urlId : urlIds) {
+            responses.computeIfAbsent(urlId, id -> UrlAnalyticsResponse.builder()
+                    .urlId(id)
+                    .totalClicks(0L)
+                    .clicksByDate(new HashMap<>())
+                    .clicksByBrowser(new HashMap<>())
+                    .clicksByDeviceType(new HashMap<>())
+                    .clicksByCountry(new HashMap<>())
+                    .build());
+        }
+        if (responses.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> ids = responses.keySet();
+        LocalDateTime startDate = LocalDateTime.now().minusDays(days);
+
+        for (Object[] row : clickEventRepository.countByUrlIds(ids)) {
+            responses.get((Long) row[0]).setTotalClicks((Long) row[1]);
+        }
+        collect(clickEventRepository.getClicksByDate(ids, startDate), responses, UrlAnalyticsResponse::getClicksByDate);
+        collect(clickEventRepository.getClicksByBrowser(ids), responses, UrlAnalyticsResponse::getClicksByBrowser);
+        collect(clickEventRepository.getClicksByDeviceType(ids), responses, UrlAnalyticsResponse::getClicksByDeviceType);
+        collect(clickEventRepository.getClicksByCountry(ids), responses, UrlAnalyticsResponse::getClicksByCountry);
+
+        return new ArrayList<>(responses.values());
+    }
+
+    // Rows are (urlId, key, count); null keys are skipped like in the single-URL maps
+    private void collect(List<Object[]> rows, Map<Long, UrlAnalyticsResponse> responses,
+                         Function<UrlAnalyticsResponse, Map<String, Long>> target) {
+        for (Object[] row : rows) {
+            if (row[1] != null) {
+                target.apply(responses.get((Long) row[0])).put(formatKey(row[1]), (Long) row[2]);
+            }
+        }
+    }
+
+    private static void put(Map<String, Long> target, Object key, long clicks) {
+        if (key != null) {
+            target.put(formatKey(key), clicks);
+        }
+    }
+
+    private static String formatKey(Object key) {
+        if (key instanceof LocalDate localDate) {
+            return localDate.format(DATE_FORMATTER);
+        } else if (key instanceof java.sql.Date) {
+            return ((java.sql.Date) key).toLocalDate().format(DATE_FORMATTER);
+        } else if (key instanceof java.util.Date) {
+            return ((java.util.Date) key).toInstant()
+                    .atZone(java.time.ZoneId.systemDefault())
+                    .toLocalDate()
+                    .format(DATE_FORMATTER);
+        } else {
+            return key.toString();
+        }
     }
 
     @Override
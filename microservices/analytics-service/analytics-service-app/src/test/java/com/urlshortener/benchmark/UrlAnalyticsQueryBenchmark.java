@@ -0,0 +1,157 @@
+package com.urlshortener.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Latency of the GET /api/v1/analytics/urls/stats aggregation: the previous five queries
+ * (count, per day, per browser, per device type, per country) versus the single
+ * GROUPING SETS query of ClickEventRepository.aggregateClicks.
+ *
+ * Not a JMH benchmark: the cost being measured is PostgreSQL scanning click_events, not
+ * JIT-level code. Start PostgreSQL with the schema applied (docker-compose up), pick an
+ * existing URL id (click_events.url_id references urls.id), then run from analytics-service-app:
+ *   java -cp target/test-classes:<postgresql driver jar> com.urlshortener.benchmark.UrlAnalyticsQueryBenchmark \
+ *        [jdbcUrl=jdbc:postgresql://localhost:5432/urlshortener] [user=postgres] [password=postgres] \
+ *        <urlId> [events=1000000] [rounds=20]
+ * The events are spread over 90 days and deleted again after the run.
+ */
+public class UrlAnalyticsQueryBenchmark {
+
+    private static final String COUNT =
+            "SELECT COUNT(*) FROM click_events WHERE url_id = ?";
+    private static final String BY_DATE =
+            "SELECT CAST(timestamp AS DATE), COUNT(*) FROM click_events WHERE url_id = ? AND timestamp >= ? "
+            + "GROUP BY CAST(timestamp AS DATE)";
+    private static final String BY_BROWSER =
+            "SELECT browser, COUNT(*) FROM click_events WHERE url_id = ? GROUP BY browser";
+    private static final String BY_DEVICE_TYPE =
+            "SELECT device_type, COUNT(*) FROM click_events WHERE url_id = ? GROUP BY device_type";
+    private static final String BY_COUNTRY =
+            "SELECT country, COUNT(*) FROM click_events WHERE url_id = ? GROUP BY country";
+
+    // Same SQL as ClickEventRepository.aggregateClicks
+    private static final String GROUPING_SETS =
+            "SELECT GROUPING(day, browser, device_type, country) AS dimension, "
+            + "day, browser, device_type, country, COUNT(*) AS clicks "
+            + "FROM (SELECT CASE WHEN timestamp >= ? THEN CAST(timestamp AS DATE) END AS day, "
+            + "browser, device_type, country FROM click_events WHERE url_id = ?) c "
+            + "GROUP BY GROUPING SETS ((), (day), (browser), (device_type), (country))";
+
+    private static final String SEED =
+            "INSERT INTO click_events (url_id, timestamp, ip_address, browser, device_type, country) "
+            + "SELECT ?, now() - (random() * interval '90 days'), '10.0.0.' || (n % 250), "
+            + "(ARRAY['Chrome', 'Firefox', 'Safari', 'Edge', 'Opera'])[1 + n % 5], "
+            + "(ARRAY['Computer', 'Mobile', 'Tablet'])[1 + n % 3], "
+            + "(ARRAY['US', 'IN', 'DE', 'GB', 'FR', 'BR', 'JP', NULL])[1 + n % 8] "
+            + "FROM generate_series(1, ?) AS n";
+
+    public static void main(String[] args) throws Exception {
+        String jdbcUrl = args.length > 0 ? args[0] : "jdbc:postgresql://localhost:5432/urlshortener";
+        String user = args.length > 1 ? args[1] : "postgres";
+        String password = args.length > 2 ? args[2] : "postgres";
+        if (args.length < 4) {
+            throw new IllegalArgumentException("urlId is required");
+        }
+        long urlId = Long.parseLong(args[3]);
+        int events = args.length > 4 ? Integer.parseInt(args[4]) : 1_000_000;
+        int rounds = args.length > 5 ? Integer.parseInt(args[5]) : 20;
+
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, user, password)) {
+            long firstSeededId = seed(connection, urlId, events);
+            try {
+                Timestamp startDate = Timestamp.valueOf(LocalDateTime.now().minusDays(7));
+
+                // Warm up both paths (buffer cache, plans) before measuring
+                for (int i = 0; i < 3; i++) {
+                    runFiveQueries(connection, urlId, startDate);
+                    runGroupingSets(connection, urlId, startDate);
+                }
+
+                long[] five = new long[rounds];
+                long[] single = new long[rounds];
+                for (int i = 0; i < rounds; i++) {
+                    // Alternate so both paths see the same cache state and background load
+                    five[i] = runFiveQueries(connection, urlId, startDate);
+                    single[i] = runGroupingSets(connection, urlId, startDate);
+                }
+                report("five queries", five);
+                report("grouping sets", single);
+            } finally {
+                try (PreparedStatement delete = connection.prepareStatement(
+                        "DELETE FROM click_events WHERE url_id = ? AND id >= ?")) {
+                    delete.setLong(1, urlId);
+                    delete.setLong(2, firstSeededId);
+                    delete.executeUpdate();
+                }
+            }
+        }
+    }
+
+    private static long seed(Connection connection, long urlId, int events) throws SQLException {
+        long firstSeededId;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM click_events")) {
+            rs.next();
+            firstSeededId = rs.getLong(1);
+        }
+        try (PreparedStatement insert = connection.prepareStatement(SEED)) {
+            insert.setLong(1, urlId);
+            insert.setInt(2, events);
+            insert.executeUpdate();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE click_events");
+        }
+        System.out.printf("Seeded %d click events for url %d%n", events, urlId);
+        return firstSeededId;
+    }
+
+    private static long runFiveQueries(Connection connection, long urlId, Timestamp startDate) throws SQLException {
+        long start = System.nanoTime();
+        for (String sql : List.of(COUNT, BY_DATE, BY_BROWSER, BY_DEVICE_TYPE, BY_COUNTRY)) {
+            try (PreparedStatement query = connection.prepareStatement(sql)) {
+                query.setLong(1, urlId);
+                if (BY_DATE.equals(sql)) {
+                    query.setTimestamp(2, startDate);
+                }
+                drain(query);
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long runGroupingSets(Connection connection, long urlId, Timestamp startDate) throws SQLException {
+        long start = System.nanoTime();
+        try (PreparedStatement query = connection.prepareStatement(GROUPING_SETS)) {
+            query.setTimestamp(1, startDate);
+            query.setLong(2, urlId);
+            drain(query);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static void drain(PreparedStatement query) throws SQLException {
+        try (ResultSet rs = query.executeQuery()) {
+            while (rs.next()) {
+                rs.getObject(1);
+            }
+        }
+    }
+
+    private static void report(String name, long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        double median = sorted[sorted.length / 2] / 1e6;
+        double p95 = sorted[Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * 0.95) - 1)] / 1e6;
+        System.out.printf("%-14s median %8.1f ms  p95 %8.1f ms%n", name, median, p95);
+    }
+}
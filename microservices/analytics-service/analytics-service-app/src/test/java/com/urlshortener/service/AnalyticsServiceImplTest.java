@@ -13,13 +13,16 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -57,31 +60,27 @@ class AnalyticsServiceImplTest {
     @DisplayName("getUrlAnalytics tests")
     class GetUrlAnalyticsTests {
 
+        // (dimension, day, browser, device_type, country, clicks) as returned by aggregateClicks
+        private Object[] row(int dimension, Object day, String browser, String deviceType, String country, long clicks) {
+            return new Object[]{dimension, day, browser, deviceType, country, clicks};
+        }
+
         @Test
-        @DisplayName("Should return complete analytics response")
+        @DisplayName("Should return complete analytics response from one query")
         void getUrlAnalytics_Success() {
             // Given
             Long urlId = 1L;
-            when(clickEventRepository.countByUrlId(urlId)).thenReturn(100L);
-            when(clickEventRepository.getClicksByDate(eq(urlId), any(LocalDateTime.class)))
-                    .thenReturn(Arrays.asList(
-                            new Object[]{"2024-01-01", 50L},
-                            new Object[]{"2024-01-02", 50L}
-                    ));
-            when(clickEventRepository.getClicksByBrowser(urlId))
-                    .thenReturn(Arrays.asList(
-                            new Object[]{"Chrome", 60L},
-                            new Object[]{"Firefox", 40L}
-                    ));
-            when(clickEventRepository.getClicksByDeviceType(urlId))
+            when(clickEventRepository.aggregateClicks(eq(urlId), any(LocalDateTime.class)))
                     .thenReturn(Arrays.asList(
-                            new Object[]{"Computer", 70L},
-                            new Object[]{"Mobile", 30L}
-                    ));
-            when(clickEventRepository.getClicksByCountry(urlId))
-                    .thenReturn(Arrays.asList(
-                            new Object[]{"US", 80L},
-                            new Object[]{"UK", 20L}
+                            row(15, null, null, null, null, 100L),
+                            row(7, java.sql.Date.valueOf("2024-01-01"), null, null, null, 50L),
+                            row(7, LocalDate.of(2024, 1, 2), null, null, null, 50L),
+                            row(11, null, "Chrome", null, null, 60L),
+                            row(11, null, "Firefox", null, null, 40L),
+                            row(13, null, null, "Computer", null, 70L),
+                            row(13, null, null, "Mobile", null, 30L),
+                            row(14, null, null, null, "US", 80L),
+                            row(14, null, null, null, "UK", 20L)
                     ));
 
             // When
@@ -94,8 +93,13 @@ class AnalyticsServiceImplTest {
             assertEquals("https://example.com", result.getOriginalUrl());
             assertEquals(100L, result.getTotalClicks());
             assertEquals(2, result.getClicksByDate().size());
+            assertEquals(50L, result.getClicksByDate().get("2024-01-01"));
             assertEquals(2, result.getClicksByBrowser().size());
             assertEquals(60L, result.getClicksByBrowser().get("Chrome"));
+            assertEquals(30L, result.getClicksByDeviceType().get("Mobile"));
+            assertEquals(20L, result.getClicksByCountry().get("UK"));
+            verify(clickEventRepository).aggregateClicks(eq(urlId), any(LocalDateTime.class));
+            verifyNoMoreInteractions(clickEventRepository);
         }
 
         @Test
@@ -103,15 +107,8 @@ class AnalyticsServiceImplTest {
         void getUrlAnalytics_ZeroClicks() {
             // Given
             Long urlId = 1L;
-            when(clickEventRepository.countByUrlId(urlId)).thenReturn(0L);
-            when(clickEventRepository.getClicksByDate(eq(urlId), any(LocalDateTime.class)))
-                    .thenReturn(Collections.emptyList());
-            when(clickEventRepository.getClicksByBrowser(urlId))
-                    .thenReturn(Collections.emptyList());
-            when(clickEventRepository.getClicksByDeviceType(urlId))
-                    .thenReturn(Collections.emptyList());
-            when(clickEventRepository.getClicksByCountry(urlId))
-                    .thenReturn(Collections.emptyList());
+            when(clickEventRepository.aggregateClicks(eq(urlId), any(LocalDateTime.class)))
+                    .thenReturn(Collections.singletonList(row(15, null, null, null, null, 0L)));
 
             // When
             UrlAnalyticsResponse result = analyticsService.getUrlAnalytics(
@@ -128,29 +125,100 @@ class AnalyticsServiceImplTest {
         void getUrlAnalytics_HandlesNullValues() {
             // Given
             Long urlId = 1L;
-            when(clickEventRepository.countByUrlId(urlId)).thenReturn(10L);
-            when(clickEventRepository.getClicksByDate(eq(urlId), any(LocalDateTime.class)))
+            when(clickEventRepository.aggregateClicks(eq(urlId), any(LocalDateTime.class)))
                     .thenReturn(Arrays.asList(
-                            new Object[]{null, 5L},  // Null date should be filtered
-                            new Object[]{"2024-01-01", 5L}
+                            row(15, null, null, null, null, 10L),
+                            row(7, null, null, null, null, 5L),  // Clicks before the window
+                            row(7, LocalDate.of(2024, 1, 1), null, null, null, 5L),
+                            row(11, null, null, null, null, 10L)
                     ));
-            when(clickEventRepository.getClicksByBrowser(urlId))
-                    .thenReturn(Arrays.<Object[]>asList(new Object[]{null, 10L}));
-            when(clickEventRepository.getClicksByDeviceType(urlId))
-                    .thenReturn(Collections.emptyList());
-            when(clickEventRepository.getClicksByCountry(urlId))
-                    .thenReturn(Collections.emptyList());
 
             // When
             UrlAnalyticsResponse result = analyticsService.getUrlAnalytics(
                     urlId, "abc123", "https://example.com", 7);
 
             // Then
+            assertEquals(10L, result.getTotalClicks());
             assertEquals(1, result.getClicksByDate().size()); // Null filtered out
             assertTrue(result.getClicksByBrowser().isEmpty()); // Null filtered out
         }
     }
 
+    @Nested
+    @DisplayName("getUrlAnalyticsBatch tests")
+    class GetUrlAnalyticsBatchTests {
+
+        @Test
+        @DisplayName("Should aggregate all URLs with one query per aggregate")
+        void getUrlAnalyticsBatch_Success() {
+            // Given
+            List<Long> urlIds = List.of(1L, 2L, 3L);
+            when(clickEventRepository.countByUrlIds(anyCollection()))
+                    .thenReturn(Arrays.asList(new Object[]{1L, 10L}, new Object[]{2L, 5L}));
+            when(clickEventRepository.getClicksByDate(anyCollection(), any(LocalDateTime.class)))
+                    .thenReturn(Arrays.asList(
+                            new Object[]{1L, LocalDate.of(2024, 1, 1), 10L},
+                            new Object[]{2L, LocalDate.of(2024, 1, 2), 5L}
+                    ));
+            when(clickEventRepository.getClicksByBrowser(anyCollection()))
+                    .thenReturn(Arrays.asList(
+                            new Object[]{1L, "Chrome", 6L},
+                            new Object[]{1L, "Firefox", 4L},
+                            new Object[]{2L, null, 5L}
+                    ));
+            when(clickEventRepository.getClicksByDeviceType(anyCollection()))
+                    .thenReturn(Collections.singletonList(new Object[]{2L, "Mobile", 5L}));
+            when(clickEventRepository.getClicksByCountry(anyCollection()))
+                    .thenReturn(Collections.singletonList(new Object[]{1L, "US", 10L}));
+
+            // When
+            List<UrlAnalyticsResponse> result = analyticsService.getUrlAnalyticsBatch(urlIds, 7);
+
+            // Then
+            assertEquals(3, result.size());
+            assertEquals(List.of(1L, 2L, 3L), result.stream().map(UrlAnalyticsResponse::getUrlId).toList());
+
+            UrlAnalyticsResponse first = result.get(0);
+            assertEquals(10L, first.getTotalClicks());
+            assertEquals(10L, first.getClicksByDate().get("2024-01-01"));
+            assertEquals(2, first.getClicksByBrowser().size());
+            assertEquals(10L, first.getClicksByCountry().get("US"));
+
+            UrlAnalyticsResponse second = result.get(1);
+            assertEquals(5L, second.getTotalClicks());
+            assertTrue(second.getClicksByBrowser().isEmpty()); // null browser skipped
+            assertEquals(5L, second.getClicksByDeviceType().get("Mobile"));
+
+            UrlAnalyticsResponse noClicks = result.get(2);
+            assertEquals(0L, noClicks.getTotalClicks());
+            assertTrue(noClicks.getClicksByCountry().isEmpty());
+
+            verify(clickEventRepository, never()).countByUrlId(any());
+        }
+
+        @Test
+        @DisplayName("Should query each URL once when ids repeat")
+        void getUrlAnalyticsBatch_RemovesDuplicates() {
+            // When
+            List<UrlAnalyticsResponse> result = analyticsService.getUrlAnalyticsBatch(List.of(7L, 7L), 7);
+
+            // Then
+            assertEquals(1, result.size());
+            verify(clickEventRepository).countByUrlIds(Set.of(7L));
+        }
+
+        @Test
+        @DisplayName("Should not query for an empty batch")
+        void getUrlAnalyticsBatch_Empty() {
+            // When
+            List<UrlAnalyticsResponse> result = analyticsService.getUrlAnalyticsBatch(List.of(), 7);
+
+            // Then
+            assertTrue(result.isEmpty());
+            verifyNoInteractions(clickEventRepository);
+        }
+    }
+
     @Nested
     @DisplayName("getTotalClicks tests")
     class GetTotalClicksTests {
@@ -1,12 +1,16 @@
 package com.urlshortener.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.util.List;
 import java.util.Map;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class UrlAnalyticsResponse {
     private Long urlId;
     private String shortCode;
@@ -1,9 +1,11 @@
 package com.urlshortener.lib;
 
+import com.urlshortener.dto.UrlAnalyticsBatchRequest;
 import com.urlshortener.dto.UrlAnalyticsResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 @FeignClient(name = "analytics-service")
@@ -27,4 +29,7 @@ public interface AnalyticsServiceClient {
             @RequestParam String shortCode,
             @RequestParam String originalUrl,
             @RequestParam(defaultValue = "7") int days);
+
+    @PostMapping("/api/v1/analytics/urls/stats:batch")
+    List<UrlAnalyticsResponse> getUrlAnalyticsBatch(@RequestBody UrlAnalyticsBatchRequest request);
 }
@@ -0,0 +1,31 @@
+package com.urlshortener.gateway.config;
+
+import com.urlshortener.gateway.redirect.CachedUrlDecoder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Redis access for EdgeRedirectFilter.
+ * Cache values are read as raw bytes and decoded by CachedUrlDecoder.
+ */
+@Configuration
+public class EdgeRedirectConfig {
+
+    @Bean
+    public ReactiveRedisTemplate<String, byte[]> urlCacheRedisTemplate(ReactiveRedisConnectionFactory connectionFactory) {
+        RedisSerializationContext<String, byte[]> context = RedisSerializationContext
+                .<String, byte[]>newSerializationContext(RedisSerializer.string())
+                .value(RedisSerializer.byteArray())
+                .build();
+        return new ReactiveRedisTemplate<>(connectionFactory, context);
+    }
+
+    @Bean
+    public CachedUrlDecoder cachedUrlDecoder() {
+        return new CachedUrlDecoder();
+    }
+}
@@ -1,6 +1,7 @@
 package com.urlshortener.gateway.config;
 
 import com.urlshortener.gateway.filter.AuthenticationFilter;
+import com.urlshortener.gateway.filter.EdgeRedirectFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
@@ -34,7 +35,8 @@ public class GatewayConfig {
                         .uri("lb://ANALYTICS-SERVICE"))
 
                 // Redirect route (no authentication - public)
-                .route("redirect-service", r -> r
+                // Cached links are answered by EdgeRedirectFilter; only misses reach url-service
+                .route(EdgeRedirectFilter.REDIRECT_ROUTE_ID, r -> r
                         .path("/{shortCode}")
                         .uri("lb://URL-SERVICE"))
 
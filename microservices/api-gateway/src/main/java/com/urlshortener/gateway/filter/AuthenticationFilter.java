@@ -1,6 +1,7 @@
 package com.urlshortener.gateway.filter;
 
 import com.urlshortener.gateway.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
@@ -14,6 +15,10 @@ import reactor.core.publisher.Mono;
 @Component
 public class AuthenticationFilter extends AbstractGatewayFilterFactory<AuthenticationFilter.Config> {
 
+    public static final String USER_NAME_HEADER = "X-User-Name";
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String USER_ROLE_HEADER = "X-User-Role";
+
     @Autowired
     private JwtUtil jwtUtil;
 
@@ -38,21 +43,30 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Authentic
 
             String token = authHeader.substring(7);
 
-            try {
-                if (!jwtUtil.validateToken(token)) {
-                    return onError(exchange, "Invalid or expired token", HttpStatus.UNAUTHORIZED);
-                }
+            Claims claims = jwtUtil.extractValidClaims(token);
+            if (claims == null) {
+                return onError(exchange, "Invalid or expired token", HttpStatus.UNAUTHORIZED);
+            }
 
-                // Extract username and pass to downstream services
-                String username = jwtUtil.extractUsername(token);
-                ServerHttpRequest modifiedRequest = request.mutate()
-                        .header("X-User-Name", username)
-                        .build();
+            // Pass the verified identity to downstream services. Client-sent copies of
+            // these headers are dropped first, so downstream services can trust them.
+            Number userId = claims.get(JwtUtil.USER_ID_CLAIM, Number.class);
+            String role = claims.get(JwtUtil.ROLE_CLAIM, String.class);
+            ServerHttpRequest modifiedRequest = request.mutate()
+                    .headers(headers -> {
+                        headers.remove(USER_ID_HEADER);
+                        headers.remove(USER_ROLE_HEADER);
+                        headers.set(USER_NAME_HEADER, claims.getSubject());
+                        if (userId != null) {
+                            headers.set(USER_ID_HEADER, String.valueOf(userId.longValue()));
+                        }
+                        if (role != null) {
+                            headers.set(USER_ROLE_HEADER, role);
+                        }
+                    })
+                    .build();
 
-                return chain.filter(exchange.mutate().request(modifiedRequest).build());
-            } catch (Exception e) {
-                return onError(exchange, "Token validation failed: " + e.getMessage(), HttpStatus.UNAUTHORIZED);
-            }
+            return chain.filter(exchange.mutate().request(modifiedRequest).build());
         };
     }
 
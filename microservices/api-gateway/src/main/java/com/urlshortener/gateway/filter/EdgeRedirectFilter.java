@@ -0,0 +1,197 @@
+package com.urlshortener.gateway.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.urlshortener.gateway.redirect.CachedRedirect;
+import com.urlshortener.gateway.redirect.CachedUrlDecoder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Answers cached redirects at the gateway, without a hop to url-service.
+ *
+ * Applies to the "redirect-service" route (GET /{shortCode}) only:
+ * 1. Local Caffeine cache (small, short TTL)
+ * 2. url-service's shared Redis "urls" cache (urlshortener:urls::{code}), read reactively
+ * 3. Active, unexpired link → 302 written here; the click is added to a Redis hash
+ *    that url-service drains into its write-behind click counter
+ *
+ * Everything else falls through to lb://URL-SERVICE unchanged: cache misses, Redis
+ * errors, deactivated or expired links, so url-service keeps answering 404/403/410.
+ *
+ * Local entries are dropped on url-service's cache invalidation messages; the short TTL
+ * bounds staleness if a message is missed.
+ *
+ * Metrics: gateway.redirect.edge{result=served|fallthrough}
+ */
+@Slf4j
+@Component
+public class EdgeRedirectFilter implements GlobalFilter, Ordered {
+
+    public static final String REDIRECT_ROUTE_ID = "redirect-service";
+
+    private static final Pattern SHORT_CODE = Pattern.compile("^[0-9A-Za-z]{1,32}$");
+    private static final String URL_CACHE = "urls";
+    private static final String SEPARATOR = "|";
+
+    private final ReactiveRedisTemplate<String, byte[]> urlCacheRedisTemplate;
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final CachedUrlDecoder decoder;
+    private final Cache<String, CachedRedirect> localCache;
+    private final Counter served;
+    private final Counter fallthrough;
+
+    @Value("${gateway.redirect.edge.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gateway.redirect.edge.cache-key-prefix:urlshortener:urls::}")
+    private String cacheKeyPrefix;
+
+    @Value("${gateway.redirect.edge.clicks-key:urlshortener:clicks:edge}")
+    private String clicksKey;
+
+    @Value("${gateway.redirect.edge.invalidation-channel:url-cache-invalidation}")
+    private String invalidationChannel;
+
+    private Disposable invalidationSubscription;
+
+    public EdgeRedirectFilter(ReactiveRedisTemplate<String, byte[]> urlCacheRedisTemplate,
+                              ReactiveStringRedisTemplate redisTemplate,
+                              CachedUrlDecoder decoder,
+                              MeterRegistry meterRegistry,
+                              @Value("${gateway.redirect.edge.local-cache.max-size:10000}") long localMaxSize,
+                              @Value("${gateway.redirect.edge.local-cache.ttl:PT5S}") Duration localTtl) {
+        this.urlCacheRedisTemplate = urlCacheRedisTemplate;
+        this.redisTemplate = redisTemplate;
+        this.decoder = decoder;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .build();
+        this.served = Counter.builder("gateway.redirect.edge")
+                .description("Redirects answered at the gateway or passed to url-service")
+                .tag("result", "served")
+                .register(meterRegistry);
+        this.fallthrough = Counter.builder("gateway.redirect.edge")
+                .description("Redirects answered at the gateway or passed to url-service")
+                .tag("result", "fallthrough")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        // Before the load balancer and routing filters, so a hit never opens a connection to url-service
+        return 0;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (!enabled || route == null || !REDIRECT_ROUTE_ID.equals(route.getId())
+                || exchange.getRequest().getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+
+        String shortCode = exchange.getRequest().getPath().value().substring(1);
+        if (!SHORT_CODE.matcher(shortCode).matches()) {
+            return chain.filter(exchange);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        return resolve(shortCode)
+                .filter(redirect -> redirect.isServable(now))
+                .map(redirect -> serve(exchange, shortCode, redirect))
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    fallthrough.increment();
+                    return chain.filter(exchange);
+                }))
+                .flatMap(Function.identity());
+    }
+
+    private Mono<CachedRedirect> resolve(String shortCode) {
+        CachedRedirect local = localCache.getIfPresent(shortCode);
+        if (local != null) {
+            return Mono.just(local);
+        }
+        return urlCacheRedisTemplate.opsForValue().get(cacheKeyPrefix + shortCode)
+                .mapNotNull(decoder::decode)
+                .doOnNext(redirect -> localCache.put(shortCode, redirect))
+                .onErrorResume(e -> {
+                    // Redis trouble: url-service answers from its own cache or the DB
+                    log.warn("Edge cache lookup failed for {}", shortCode, e);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, String shortCode, CachedRedirect redirect) {
+        served.increment();
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.FOUND);
+        response.getHeaders().setLocation(URI.create(redirect.getOriginalUrl()));
+
+        return redisTemplate.opsForHash().increment(clicksKey, shortCode, 1L)
+                .onErrorResume(e -> {
+                    log.warn("Failed to record edge click for {}", shortCode, e);
+                    return Mono.empty();
+                })
+                .then(Mono.defer(response::setComplete));
+    }
+
+    /**
+     * Drops local entries evicted in url-service. Payload: instanceId|cacheName|key
+     * (an empty key means the whole cache was cleared).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribeToInvalidations() {
+        invalidationSubscription = redisTemplate.listenToChannel(invalidationChannel)
+                .doOnNext(message -> invalidate(message.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe();
+    }
+
+    void invalidate(String payload) {
+        String[] parts = payload.split("\\" + SEPARATOR, 3);
+        if (parts.length != 3 || !URL_CACHE.equals(parts[1])) {
+            return;
+        }
+        if (parts[2].isEmpty()) {
+            localCache.invalidateAll();
+        } else {
+            localCache.invalidate(parts[2]);
+        }
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (invalidationSubscription != null) {
+            invalidationSubscription.dispose();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.urlshortener.gateway.redirect;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * The part of a url-service "urls" cache entry the gateway needs to answer a redirect.
+ */
+@Value
+public class CachedRedirect {
+
+    String originalUrl;
+    LocalDateTime expiresAt;
+    boolean deactivated;
+
+    /**
+     * Only active, unexpired links are answered at the edge. Everything else goes to
+     * url-service so the 403/410 responses stay in one place.
+     */
+    public boolean isServable(LocalDateTime now) {
+        return originalUrl != null
+                && !deactivated
+                && (expiresAt == null || expiresAt.isAfter(now));
+    }
+}
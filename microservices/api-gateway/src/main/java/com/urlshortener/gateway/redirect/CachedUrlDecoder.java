@@ -0,0 +1,101 @@
+package com.urlshortener.gateway.redirect;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Reads url-service's cached UrlResponseDto values without depending on url-service.
+ *
+ * Two layouts can be in Redis (url.cache.codec in url-service):
+ * - BINARY: 0xB1, version, flags, then varint fields (see url-service UrlCacheValueSerializer)
+ * - JSON:   ["com.urlshortener.dto.UrlResponseDto", {...}] written by GenericJackson2JsonRedisSerializer
+ *
+ * JSON is read as a tree, never bound to the class named in the value, so the gateway
+ * does not instantiate types chosen by whoever can write to Redis.
+ *
+ * Returns null for anything it does not recognise; the caller then falls through to url-service.
+ */
+public class CachedUrlDecoder {
+
+    static final byte MAGIC = (byte) 0xB1;
+    static final byte VERSION = 1;
+    static final String URL_DTO_TYPE = "com.urlshortener.dto.UrlResponseDto";
+
+    private static final int FLAG_DEACTIVATED = 1;
+    private static final int FLAG_ID = 1 << 1;
+    private static final int FLAG_EXPIRES_AT = 1 << 2;
+    private static final int FLAG_CLICK_COUNT = 1 << 3;
+    private static final int FLAG_ORIGINAL_URL = 1 << 4;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public CachedRedirect decode(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            return bytes[0] == MAGIC ? decodeBinary(bytes) : decodeJson(bytes);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private CachedRedirect decodeBinary(byte[] bytes) {
+        if (bytes.length < 3 || bytes[1] != VERSION) {
+            return null;
+        }
+        ByteBuffer in = ByteBuffer.wrap(bytes, 3, bytes.length - 3);
+        int flags = bytes[2];
+
+        LocalDateTime expiresAt = null;
+        String originalUrl = null;
+        if ((flags & FLAG_ID) != 0) {
+            readVarLong(in);
+        }
+        if ((flags & FLAG_EXPIRES_AT) != 0) {
+            long zigzag = readVarLong(in);
+            long millis = (zigzag >>> 1) ^ -(zigzag & 1);
+            expiresAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+        }
+        if ((flags & FLAG_CLICK_COUNT) != 0) {
+            readVarLong(in);
+        }
+        if ((flags & FLAG_ORIGINAL_URL) != 0) {
+            int length = (int) readVarLong(in);
+            originalUrl = new String(bytes, in.position(), length, StandardCharsets.UTF_8);
+        }
+        return new CachedRedirect(originalUrl, expiresAt, (flags & FLAG_DEACTIVATED) != 0);
+    }
+
+    private CachedRedirect decodeJson(byte[] bytes) throws IOException {
+        JsonNode root = objectMapper.readTree(bytes);
+        if (!root.isArray() || root.size() != 2 || !URL_DTO_TYPE.equals(root.get(0).asText())) {
+            return null;
+        }
+        JsonNode url = root.get(1);
+        JsonNode expiresAt = url.path("expiresAt");
+        return new CachedRedirect(
+                url.path("originalUrl").isTextual() ? url.get("originalUrl").asText() : null,
+                expiresAt.isTextual() ? LocalDateTime.parse(expiresAt.asText()) : null,
+                url.path("deactivated").asBoolean(false));
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in cache value");
+    }
+}
@@ -13,6 +13,10 @@ import java.util.Date;
 @Component
 public class JwtUtil {
 
+    // Set by auth-service's JwtService; absent in tokens issued before they were added
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+
     @Value("${jwt.secret}")
     private String secretKey;
 
@@ -28,6 +32,19 @@ public class JwtUtil {
         }
     }
 
+    /**
+     * Verifies the signature and expiry once and returns the claims, or null if the
+     * token is invalid or expired.
+     */
+    public Claims extractValidClaims(String token) {
+        try {
+            Claims claims = extractAllClaims(token);
+            return claims.getExpiration().before(new Date()) ? null : claims;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
     private boolean isTokenExpired(String token) {
         return extractAllClaims(token).getExpiration().before(new Date());
     }
@@ -0,0 +1,121 @@
+package com.urlshortener.gateway.filter;
+
+import com.urlshortener.gateway.util.JwtUtil;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AuthenticationFilter.
+ * Tokens are signed with the same secret the filter's JwtUtil verifies against.
+ */
+class AuthenticationFilterTest {
+
+    private static final String SECRET = "test-secret-key-that-is-long-enough-for-hs256-signing";
+
+    private final AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.set(exchange);
+        return Mono.empty();
+    };
+    private GatewayFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secretKey", SECRET);
+        AuthenticationFilter factory = new AuthenticationFilter();
+        ReflectionTestUtils.setField(factory, "jwtUtil", jwtUtil);
+        filter = factory.apply(new AuthenticationFilter.Config());
+    }
+
+    private static JwtBuilder token(String username) {
+        return Jwts.builder()
+                .subject(username)
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MockServerWebExchange exchange(String token, String spoofedUserId, String spoofedRole) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/urls")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(AuthenticationFilter.USER_ID_HEADER, spoofedUserId)
+                .header(AuthenticationFilter.USER_ROLE_HEADER, spoofedRole)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should replace client-sent identity headers with the token's claims")
+    void filter_SpoofedHeaders_ReplacedFromClaims() {
+        // Given
+        String token = token("alice")
+                .claim(JwtUtil.USER_ID_CLAIM, 42L)
+                .claim(JwtUtil.ROLE_CLAIM, "USER")
+                .compact();
+
+        // When
+        filter.filter(exchange(token, "1", "ADMIN"), chain).block();
+
+        // Then
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertEquals("alice", headers.getFirst(AuthenticationFilter.USER_NAME_HEADER));
+        assertEquals(List.of("42"), headers.get(AuthenticationFilter.USER_ID_HEADER));
+        assertEquals(List.of("USER"), headers.get(AuthenticationFilter.USER_ROLE_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should forward no user id or role for a token without those claims")
+    void filter_TokenWithoutUid_ForwardsNoUserId() {
+        // Given
+        String token = token("alice").compact();
+
+        // When
+        filter.filter(exchange(token, "1", "ADMIN"), chain).block();
+
+        // Then
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertEquals("alice", headers.getFirst(AuthenticationFilter.USER_NAME_HEADER));
+        assertFalse(headers.containsKey(AuthenticationFilter.USER_ID_HEADER));
+        assertFalse(headers.containsKey(AuthenticationFilter.USER_ROLE_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should reject a token signed with another key")
+    void filter_InvalidSignature_Returns401() {
+        // Given
+        String token = Jwts.builder()
+                .subject("alice")
+                .claim(JwtUtil.USER_ID_CLAIM, 42L)
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor("another-secret-key-that-is-long-enough-for-hs256".getBytes(StandardCharsets.UTF_8)))
+                .compact();
+        MockServerWebExchange exchange = exchange(token, "1", "ADMIN");
+
+        // When
+        filter.filter(exchange, chain).block();
+
+        // Then
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertNull(forwarded.get());
+    }
+}
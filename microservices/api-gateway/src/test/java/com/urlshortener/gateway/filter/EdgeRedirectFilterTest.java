@@ -0,0 +1,207 @@
+package com.urlshortener.gateway.filter;
+
+import com.urlshortener.gateway.redirect.CachedRedirect;
+import com.urlshortener.gateway.redirect.CachedUrlDecoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Unit tests for EdgeRedirectFilter.
+ * Redis is mocked; the chain stands in for the route to lb://URL-SERVICE.
+ */
+class EdgeRedirectFilterTest {
+
+    private static final String CACHE_KEY = "urlshortener:urls::abc123XY";
+    private static final String CLICKS_KEY = "urlshortener:clicks:edge";
+    private static final byte[] CACHED = {1};
+
+    private ReactiveRedisTemplate<String, byte[]> urlCacheRedisTemplate;
+    private ReactiveValueOperations<String, byte[]> valueOperations;
+    private ReactiveHashOperations<String, Object, Object> hashOperations;
+    private CachedUrlDecoder decoder;
+    private GatewayFilterChain chain;
+    private SimpleMeterRegistry meterRegistry;
+    private EdgeRedirectFilter filter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        urlCacheRedisTemplate = mock(ReactiveRedisTemplate.class);
+        valueOperations = mock(ReactiveValueOperations.class);
+        ReactiveStringRedisTemplate redisTemplate = mock(ReactiveStringRedisTemplate.class);
+        hashOperations = mock(ReactiveHashOperations.class);
+        decoder = mock(CachedUrlDecoder.class);
+        chain = mock(GatewayFilterChain.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        when(urlCacheRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.increment(CLICKS_KEY, "abc123XY", 1L)).thenReturn(Mono.just(1L));
+        when(chain.filter(any())).thenReturn(Mono.empty());
+
+        filter = new EdgeRedirectFilter(urlCacheRedisTemplate, redisTemplate, decoder, meterRegistry,
+                100, Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "cacheKeyPrefix", "urlshortener:urls::");
+        ReflectionTestUtils.setField(filter, "clicksKey", CLICKS_KEY);
+    }
+
+    private MockServerWebExchange exchange(String path, String routeId) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path).build());
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, Route.async()
+                .id(routeId)
+                .uri(URI.create("lb://URL-SERVICE"))
+                .predicate(e -> true)
+                .build());
+        return exchange;
+    }
+
+    private void cache(CachedRedirect redirect) {
+        when(valueOperations.get(CACHE_KEY)).thenReturn(Mono.just(CACHED));
+        when(decoder.decode(CACHED)).thenReturn(redirect);
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("gateway.redirect.edge").tag("result", result).counter().count();
+    }
+
+    @Nested
+    @DisplayName("Served at the edge")
+    class ServedTests {
+
+        @Test
+        @DisplayName("Should answer a cached active link with 302 and count the click")
+        void filter_CachedActive_Returns302() {
+            // Given
+            cache(new CachedRedirect("https://example.com/long/url", LocalDateTime.now().plusDays(7), false));
+            MockServerWebExchange exchange = exchange("/abc123XY", EdgeRedirectFilter.REDIRECT_ROUTE_ID);
+
+            // When
+            filter.filter(exchange, chain).block();
+
+            // Then
+            assertEquals(HttpStatus.FOUND, exchange.getResponse().getStatusCode());
+            assertEquals(URI.create("https://example.com/long/url"), exchange.getResponse().getHeaders().getLocation());
+            verify(hashOperations).increment(CLICKS_KEY, "abc123XY", 1L);
+            verify(chain, never()).filter(any());
+            assertEquals(1.0, count("served"));
+        }
+
+        @Test
+        @DisplayName("Should answer repeated redirects from the local cache")
+        void filter_RepeatedRedirect_ReadsRedisOnce() {
+            // Given
+            cache(new CachedRedirect("https://example.com/long/url", null, false));
+
+            // When
+            filter.filter(exchange("/abc123XY", EdgeRedirectFilter.REDIRECT_ROUTE_ID), chain).block();
+            filter.filter(exchange("/abc123XY", EdgeRedirectFilter.REDIRECT_ROUTE_ID), chain).block();
+
+            // Then
+            verify(valueOperations, times(1)).get(CACHE_KEY);
+            assertEquals(2.0, count("served"));
+        }
+
+        @Test
+        @DisplayName("Should drop the local entry when url-service evicts the code")
+        void invalidate_EvictedCode_ReadsRedisAgain() {
+            // Given
+            cache(new CachedRedirect("https://example.com/long/url", null, false));
+            filter.filter(exchange("/abc123XY", EdgeRedirectFilter.REDIRECT_ROUTE_ID), chain).block();
+
+            // When
+            filter.invalidate("instance-1|urls|abc123XY");
+            filter.filter(exchange("/abc123XY", EdgeRedirectFilter.REDIRECT_ROUTE_ID), chain).block();
+
+            // Then
+            verify(valueOperations, times(2)).get(CACHE_KEY);
+        }
+    }
+
+    @Nested
+    @DisplayName("Fall through to url-service")
+    class FallthroughTests {
+
+        @Test
+        @DisplayName("Should route a cache miss to url-service")
+        void filter_CacheMiss_FallsThrough() {
+            // Given
+            when(valueOperations.get(CACHE_KEY)).thenReturn(Mono.empty());
+            MockServerWebExchange exchange = exchange("/abc123XY", EdgeRedirectFilter.REDIRECT_ROUTE_ID);
+
+            // When
+            filter.filter(exchange, chain).block();
+
+            // Then
+            verify(chain).filter(exchange);
+            assertNull(exchange.getResponse().getStatusCode());
+            assertEquals(1.0, count("fallthrough"));
+        }
+
+        @Test
+        @DisplayName("Should leave deactivated and expired links to url-service")
+        void filter_DeactivatedOrExpired_FallsThrough() {
+            // Given
+            cache(new CachedRedirect("https://example.com/long/url", LocalDateTime.now().minusDays(1), false));
+
+            // When
+            filter.filter(exchange("/abc123XY", EdgeRedirectFilter.REDIRECT_ROUTE_ID), chain).block();
+
+            // Then
+            verify(chain).filter(any());
+            verifyNoInteractions(hashOperations);
+            assertEquals(0.0, count("served"));
+        }
+
+        @Test
+        @DisplayName("Should route to url-service when Redis is unavailable")
+        void filter_RedisError_FallsThrough() {
+            // Given
+            when(valueOperations.get(CACHE_KEY))
+                    .thenReturn(Mono.error(new RedisConnectionFailureException("Redis down")));
+
+            // When
+            filter.filter(exchange("/abc123XY", EdgeRedirectFilter.REDIRECT_ROUTE_ID), chain).block();
+
+            // Then
+            verify(chain).filter(any());
+            assertEquals(1.0, count("fallthrough"));
+        }
+
+        @Test
+        @DisplayName("Should not touch requests of other routes")
+        void filter_OtherRoute_PassesThrough() {
+            // When
+            filter.filter(exchange("/api/v1/urls", "url-service"), chain).block();
+
+            // Then
+            verify(chain).filter(any());
+            verifyNoInteractions(valueOperations);
+            assertEquals(0.0, count("fallthrough"));
+        }
+    }
+}
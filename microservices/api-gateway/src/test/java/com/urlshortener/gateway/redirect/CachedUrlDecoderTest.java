@@ -0,0 +1,107 @@
+package com.urlshortener.gateway.redirect;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CachedUrlDecoder.
+ * Values are built in the layouts url-service writes (binary codec and JSON fallback).
+ */
+class CachedUrlDecoderTest {
+
+    private static final LocalDateTime EXPIRES_AT = LocalDateTime.of(2030, 5, 17, 13, 45, 12, 123_000_000);
+
+    private final CachedUrlDecoder decoder = new CachedUrlDecoder();
+
+    /**
+     * Same layout as url-service's UrlCacheValueSerializer with every field present.
+     */
+    private static byte[] binary(boolean deactivated) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(CachedUrlDecoder.MAGIC);
+        out.write(CachedUrlDecoder.VERSION);
+        out.write((deactivated ? 1 : 0) | 0b111110);
+        writeVarLong(out, 1234567L);
+        long millis = EXPIRES_AT.toInstant(ZoneOffset.UTC).toEpochMilli();
+        writeVarLong(out, (millis << 1) ^ (millis >> 63));
+        writeVarLong(out, 42);
+        writeString(out, "https://example.com/some/long/path?q=ünïcödé");
+        writeString(out, "2Bx9kQz1mPq");
+        return out.toByteArray();
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, utf8.length);
+        out.write(utf8, 0, utf8.length);
+    }
+
+    @Test
+    @DisplayName("Should read a binary cache entry")
+    void decode_Binary_ReturnsRedirect() {
+        // When
+        CachedRedirect redirect = decoder.decode(binary(false));
+
+        // Then
+        assertEquals("https://example.com/some/long/path?q=ünïcödé", redirect.getOriginalUrl());
+        assertEquals(EXPIRES_AT, redirect.getExpiresAt());
+        assertFalse(redirect.isDeactivated());
+    }
+
+    @Test
+    @DisplayName("Should read the deactivated flag of a binary cache entry")
+    void decode_BinaryDeactivated_NotServable() {
+        // When
+        CachedRedirect redirect = decoder.decode(binary(true));
+
+        // Then
+        assertTrue(redirect.isDeactivated());
+        assertFalse(redirect.isServable(LocalDateTime.now()));
+    }
+
+    @Test
+    @DisplayName("Should read a JSON cache entry")
+    void decode_Json_ReturnsRedirect() {
+        // Given
+        byte[] json = ("[\"com.urlshortener.dto.UrlResponseDto\",{\"id\":1,"
+                + "\"originalUrl\":\"https://example.com/long/url\",\"shortUrl\":\"abc123XY\","
+                + "\"expiresAt\":\"2030-05-17T13:45:12.123\",\"clickCount\":0,\"deactivated\":false}]")
+                .getBytes(StandardCharsets.UTF_8);
+
+        // When
+        CachedRedirect redirect = decoder.decode(json);
+
+        // Then
+        assertEquals("https://example.com/long/url", redirect.getOriginalUrl());
+        assertEquals(EXPIRES_AT, redirect.getExpiresAt());
+        assertTrue(redirect.isServable(LocalDateTime.of(2030, 1, 1, 0, 0)));
+        assertFalse(redirect.isServable(LocalDateTime.of(2031, 1, 1, 0, 0)));
+    }
+
+    @Test
+    @DisplayName("Should ignore values that are not a cached URL")
+    void decode_UnknownValue_ReturnsNull() {
+        assertNull(decoder.decode(null));
+        assertNull(decoder.decode(new byte[0]));
+        assertNull(decoder.decode("[\"java.net.URL\",\"http://attacker.example\"]".getBytes(StandardCharsets.UTF_8)));
+        assertNull(decoder.decode(new byte[]{CachedUrlDecoder.MAGIC, 99, 0}));
+        // url-service tombstone (dead link): answered by url-service
+        assertNull(decoder.decode(new byte[]{CachedUrlDecoder.MAGIC, 2, 0}));
+        assertNull(decoder.decode(new byte[]{CachedUrlDecoder.MAGIC, CachedUrlDecoder.VERSION, 0b10000, (byte) 0x80}));
+    }
+}
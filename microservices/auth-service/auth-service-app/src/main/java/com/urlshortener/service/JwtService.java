@@ -1,5 +1,6 @@
 package com.urlshortener.service;
 
+import com.urlshortener.model.User;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -30,6 +31,11 @@ import java.util.function.Function;
 @Service
 public class JwtService {
 
+    // Claims read by the API gateway and forwarded as X-User-Id / X-User-Role,
+    // so downstream services don't have to look the user up by name
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+
     @Value("${jwt.secret}")
     private String secretKey;
 
@@ -55,7 +61,12 @@ public class JwtService {
     // jwt token is used to authenticate the user
     // jwt token is used to authorize the user
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof User user) {
+            claims.put(USER_ID_CLAIM, user.getId());
+            claims.put(ROLE_CLAIM, user.getRole().name());
+        }
+        return generateToken(claims, userDetails);
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
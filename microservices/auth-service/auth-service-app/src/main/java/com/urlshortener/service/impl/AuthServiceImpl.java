@@ -45,7 +45,8 @@ public class AuthServiceImpl implements AuthService {
                 .role(Role.USER)
                 .build();
         
-        userRepository.save(user);
+        // The token carries the generated id, so it is built from the saved user
+        user = userRepository.save(user);
         var jwtToken = jwtService.generateToken(user);
         
         return AuthResponse.builder()
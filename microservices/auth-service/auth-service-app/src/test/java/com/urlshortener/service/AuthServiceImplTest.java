@@ -7,6 +7,9 @@ import com.urlshortener.model.Role;
 import com.urlshortener.model.User;
 import com.urlshortener.repository.UserRepository;
 import com.urlshortener.service.impl.AuthServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -20,7 +23,9 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -156,6 +161,55 @@ class AuthServiceImplTest {
             verify(userRepository).save(userCaptor.capture());
             assertEquals("$2a$10$encodedHash", userCaptor.getValue().getPassword());
         }
+
+        @Test
+        @DisplayName("Should build the token from the saved user, which carries the generated id")
+        void register_GeneratesTokenFromSavedUser() {
+            // Given
+            when(userRepository.existsByUsername(anyString())).thenReturn(false);
+            when(userRepository.existsByEmail(anyString())).thenReturn(false);
+            when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+            when(userRepository.save(any(User.class))).thenReturn(testUser);
+            when(jwtService.generateToken(any(User.class))).thenReturn("token");
+
+            // When
+            authService.register(registerRequest);
+
+            // Then
+            ArgumentCaptor<User> tokenUser = ArgumentCaptor.forClass(User.class);
+            verify(jwtService).generateToken(tokenUser.capture());
+            assertSame(testUser, tokenUser.getValue());
+            assertEquals(1L, tokenUser.getValue().getId());
+        }
+    }
+
+    @Nested
+    @DisplayName("token claims tests")
+    class TokenClaimsTests {
+
+        private static final String SECRET = "test-secret-key-that-is-long-enough-for-hs256-signing";
+
+        @Test
+        @DisplayName("Should embed the user id and role for the API gateway")
+        void generateToken_User_EmbedsUidAndRole() {
+            // Given
+            JwtService realJwtService = new JwtService();
+            ReflectionTestUtils.setField(realJwtService, "secretKey", SECRET);
+            ReflectionTestUtils.setField(realJwtService, "jwtExpiration", 60_000L);
+
+            // When
+            String token = realJwtService.generateToken(testUser);
+
+            // Then
+            Claims claims = Jwts.parser()
+                    .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+            assertEquals("testuser", claims.getSubject());
+            assertEquals(1L, claims.get(JwtService.USER_ID_CLAIM, Number.class).longValue());
+            assertEquals("USER", claims.get(JwtService.ROLE_CLAIM, String.class));
+        }
     }
 
     @Nested
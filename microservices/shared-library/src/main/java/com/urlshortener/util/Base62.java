@@ -0,0 +1,126 @@
+package com.urlshortener.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Base62 codec for short codes (alphabet 0-9, A-Z, a-z).
+ *
+ * Encoding writes the digits right-to-left into a fixed 11-slot buffer (62^11 > 2^63),
+ * so the only allocations are that buffer and the resulting String. The previous StringBuilder.insert(0, ...)
+ * loop shifted the whole buffer on every digit.
+ *
+ * Decoding maps a short code back to its non-negative long, e.g. a Snowflake ID, using a
+ * 128-entry lookup table instead of indexOf on the alphabet.
+ *
+ * Examples:
+ *   encode(0)          → "0"
+ *   encode(61)         → "z"
+ *   encode(62)         → "10"
+ *   encode(1_000_000)  → "4C92"
+ *   decode("4C92")     → 1_000_000
+ */
+public final class Base62 {
+
+    public static final int BASE = 62;
+
+    /** Length of the longest code: encode(Long.MAX_VALUE) */
+    public static final int MAX_LENGTH = 11;
+
+    private static final char[] ALPHABET =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+
+    private static final byte[] DIGITS = new byte[128];
+
+    static {
+        Arrays.fill(DIGITS, (byte) -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DIGITS[ALPHABET[i]] = (byte) i;
+        }
+    }
+
+    private Base62() {
+    }
+
+    /**
+     * @param value a non-negative number
+     * @return the shortest Base62 representation, without padding
+     */
+    public static String encode(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Cannot Base62-encode a negative value: " + value);
+        }
+        // Latin-1 bytes: the String keeps a compact byte[] copy, no char[] → byte[] compression
+        byte[] buffer = new byte[MAX_LENGTH];
+        int position = MAX_LENGTH;
+        do {
+            buffer[--position] = (byte) ALPHABET[(int) (value % BASE)];
+            value /= BASE;
+        } while (value != 0);
+        return new String(buffer, position, MAX_LENGTH - position, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Writes the digits of value so that the last one lands at buffer[end - 1].
+     *
+     * @return index of the first digit written
+     */
+    public static int encodeTo(long value, char[] buffer, int end) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Cannot Base62-encode a negative value: " + value);
+        }
+        int position = end;
+        do {
+            buffer[--position] = ALPHABET[(int) (value % BASE)];
+            value /= BASE;
+        } while (value != 0);
+        return position;
+    }
+
+    /**
+     * @return the number the code represents
+     * @throws IllegalArgumentException if the code is empty, contains a character outside
+     *                                  the alphabet, or does not fit in a long
+     */
+    public static long decode(CharSequence code) {
+        int length = code.length();
+        if (length == 0 || length > MAX_LENGTH) {
+            throw new IllegalArgumentException("Invalid Base62 code length: " + length);
+        }
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            int digit = digit(code.charAt(i));
+            if (digit < 0) {
+                throw new IllegalArgumentException("Invalid Base62 character '" + code.charAt(i) + "' in " + code);
+            }
+            if (value > (Long.MAX_VALUE - digit) / BASE) {
+                throw new IllegalArgumentException("Base62 code out of range: " + code);
+            }
+            value = value * BASE + digit;
+        }
+        return value;
+    }
+
+    /**
+     * @return true if the code is non-empty, only uses the alphabet and decodes to a long
+     */
+    public static boolean isValid(CharSequence code) {
+        int length = code.length();
+        if (length == 0 || length > MAX_LENGTH) {
+            return false;
+        }
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            int digit = digit(code.charAt(i));
+            if (digit < 0 || value > (Long.MAX_VALUE - digit) / BASE) {
+                return false;
+            }
+            value = value * BASE + digit;
+        }
+        return true;
+    }
+
+    private static int digit(char c) {
+        return c < DIGITS.length ? DIGITS[c] : -1;
+    }
+}
@@ -0,0 +1,84 @@
+package com.urlshortener.benchmark;
+
+import com.urlshortener.util.Base62;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base62 codec vs. the StringBuilder.insert(0, ...) encoder the generators used before,
+ * for an 11-character Snowflake ID.
+ *
+ * Add -prof gc to the options to compare bytes allocated per operation.
+ *
+ * Run main() from the IDE, or after mvn test-compile:
+ *   java -cp target/test-classes:target/classes:<test classpath> com.urlshortener.benchmark.Base62Benchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Base62Benchmark {
+
+    private static final String CHARACTERS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+
+    private long id;
+    private String code;
+
+    @Setup
+    public void setUp() {
+        // Snowflake layout: 42-bit timestamp, 10-bit node, 12-bit sequence
+        id = (System.currentTimeMillis() << 22) | (1 << 12) | 7;
+        code = Base62.encode(id);
+    }
+
+    @Benchmark
+    public String encodeStringBuilderInsert() {
+        long number = id;
+        StringBuilder shortUrl = new StringBuilder();
+        while (number > 0) {
+            shortUrl.insert(0, CHARACTERS.charAt((int) (number % CHARACTERS.length())));
+            number = number / CHARACTERS.length();
+        }
+        return shortUrl.toString();
+    }
+
+    @Benchmark
+    public String encode() {
+        return Base62.encode(id);
+    }
+
+    @Benchmark
+    public long decodeIndexOf() {
+        long value = 0;
+        for (int i = 0; i < code.length(); i++) {
+            value = value * CHARACTERS.length() + CHARACTERS.indexOf(code.charAt(i));
+        }
+        return value;
+    }
+
+    @Benchmark
+    public long decode() {
+        return Base62.decode(code);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(Base62Benchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,74 @@
+package com.urlshortener.util;
+
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Base62Test {
+
+    @Test
+    void whenEncodingKnownValues_thenMatchesPreviousGeneratorOutput() {
+        assertEquals("0", Base62.encode(0));
+        assertEquals("z", Base62.encode(61));
+        assertEquals("10", Base62.encode(62));
+        assertEquals("4C92", Base62.encode(1_000_000));
+        assertEquals("AzL8n0Y58m7", Base62.encode(Long.MAX_VALUE));
+        assertEquals(Base62.MAX_LENGTH, Base62.encode(Long.MAX_VALUE).length());
+    }
+
+    @RepeatedTest(5)
+    void whenRandomValuesAreEncoded_thenTheyDecodeBackToTheSameValue() {
+        SplittableRandom random = new SplittableRandom();
+        for (int i = 0; i < 100_000; i++) {
+            // Spread over all magnitudes, not just values near Long.MAX_VALUE
+            long value = random.nextLong(Long.MAX_VALUE) >>> random.nextInt(63);
+            String code = Base62.encode(value);
+            assertEquals(value, Base62.decode(code), () -> "Round trip failed for " + value);
+            assertTrue(Base62.isValid(code));
+        }
+    }
+
+    @Test
+    void whenValuesIncrease_thenCodesOfTheSameLengthSortTheSameWay() {
+        SplittableRandom random = new SplittableRandom();
+        for (int i = 0; i < 10_000; i++) {
+            long a = random.nextLong(1L << 40, 1L << 41);
+            long b = random.nextLong(1L << 40, 1L << 41);
+            String codeA = Base62.encode(a);
+            String codeB = Base62.encode(b);
+            if (codeA.length() == codeB.length()) {
+                assertEquals(Long.signum(Long.compare(a, b)), Integer.signum(codeA.compareTo(codeB)));
+            }
+        }
+    }
+
+    @Test
+    void whenEncodingIntoABuffer_thenDigitsEndAtTheGivenIndex() {
+        char[] buffer = new char[16];
+        int start = Base62.encodeTo(1_000_000, buffer, 10);
+
+        assertEquals(6, start);
+        assertEquals("4C92", new String(buffer, start, 10 - start));
+    }
+
+    @Test
+    void whenValueIsNegative_thenThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> Base62.encode(-1));
+    }
+
+    @Test
+    void whenCodeIsMalformed_thenDecodeThrowsAndIsValidIsFalse() {
+        for (String code : new String[] {"", "abc-1", "ab c", "é", "AzL8n0Y58m8", "zzzzzzzzzzz", "000000000000"}) {
+            assertThrows(IllegalArgumentException.class, () -> Base62.decode(code), code);
+            assertFalse(Base62.isValid(code), code);
+        }
+    }
+
+    @Test
+    void whenCodeHasLeadingZeros_thenDecodesToTheSameValue() {
+        assertEquals(1_000_000, Base62.decode("004C92"));
+    }
+}
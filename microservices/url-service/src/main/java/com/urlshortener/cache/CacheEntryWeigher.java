@@ -0,0 +1,33 @@
+package com.urlshortener.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.urlshortener.dto.UrlResponseDto;
+
+/**
+ * Approximates the heap footprint of an L1 entry in bytes so the local tier can be
+ * bounded by memory instead of entry count (original URLs vary from ~20 to 2048 chars).
+ */
+public class CacheEntryWeigher implements Weigher<Object, Object> {
+
+    private static final int ENTRY_OVERHEAD = 64;
+    private static final int DTO_OVERHEAD = 96;
+    private static final int TOMBSTONE_WEIGHT = 16;
+    private static final int DEFAULT_VALUE_WEIGHT = 256;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        int weight = ENTRY_OVERHEAD + stringWeight(key.toString());
+        if (value instanceof UrlResponseDto dto) {
+            weight += DTO_OVERHEAD + stringWeight(dto.getOriginalUrl()) + stringWeight(dto.getShortUrl());
+        } else if (value instanceof UrlTombstone) {
+            weight += TOMBSTONE_WEIGHT;
+        } else {
+            weight += DEFAULT_VALUE_WEIGHT;
+        }
+        return weight;
+    }
+
+    private int stringWeight(String value) {
+        return value != null ? 40 + value.length() * 2 : 0;
+    }
+}
@@ -0,0 +1,196 @@
+package com.urlshortener.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs at most one loader per cache key at a time, so a hot key falling out of the
+ * cache causes one DB query instead of hundreds.
+ *
+ * Within an instance: the first caller for a key registers a future; concurrent callers
+ * wait on it (coalesced_local).
+ *
+ * Across instances (short Redis lock-or-wait protocol):
+ * 1. The local leader tries SET lock:{cache}::{key} token NX PX lockTtl
+ * 2. Acquired → it checks the cache once more, since another instance may have
+ *    loaded the value and released the lock between our miss and the SET NX
+ *    (coalesced_remote); otherwise it loads (the loader also writes the cache), then
+ *    releases the lock only if it still holds it (leader)
+ * 3. Not acquired → another instance is loading; poll the cache until the value
+ *    appears (coalesced_remote). If the lock is gone and the cache is still empty, the
+ *    leader finished with a value that is not cached (e.g. a dead link while tombstones
+ *    are off) → load now instead of waiting out waitTimeout (uncached)
+ * 4. Waited longer than waitTimeout, or Redis unavailable → load anyway (fallback),
+ *    so coalescing never turns into an outage
+ *
+ * Metric url.cache.loads{cache, result} counts each outcome.
+ */
+@Slf4j
+public class SingleFlightLoader {
+
+    private static final RedisScript<Long> RELEASE_LOCK = RedisScript.of(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Duration lockTtl;
+    private final Duration waitTimeout;
+    private final Duration pollInterval;
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public SingleFlightLoader(StringRedisTemplate redisTemplate,
+                              MeterRegistry meterRegistry,
+                              Duration lockTtl,
+                              Duration waitTimeout,
+                              Duration pollInterval) {
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.lockTtl = lockTtl;
+        this.waitTimeout = waitTimeout;
+        this.pollInterval = pollInterval;
+    }
+
+    /**
+     * @param cacheLookup returns the cached value, or null while it is still missing
+     * @param loader      loads the value and writes it to the cache
+     */
+    public Object load(String cacheName, String key, Supplier<Object> cacheLookup, Supplier<Object> loader) {
+        String flightKey = cacheName + "::" + key;
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            Object value = await(existing);
+            if (value != null) {
+                count(cacheName, "coalesced_local");
+                return value;
+            }
+            count(cacheName, "fallback");
+            return loader.get();
+        }
+
+        try {
+            Object value = loadOnce(cacheName, flightKey, cacheLookup, loader);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    private Object loadOnce(String cacheName, String flightKey, Supplier<Object> cacheLookup, Supplier<Object> loader) {
+        String lockKey = "lock:" + flightKey;
+        String token = UUID.randomUUID().toString();
+        Boolean acquired;
+        try {
+            acquired = redisTemplate.opsForValue().setIfAbsent(lockKey, token, lockTtl);
+        } catch (Exception e) {
+            log.warn("Single-flight lock unavailable for {}, loading directly", flightKey, e);
+            count(cacheName, "fallback");
+            return loader.get();
+        }
+
+        if (Boolean.TRUE.equals(acquired)) {
+            try {
+                Object cached = cacheLookup.get();
+                if (cached != null) {
+                    count(cacheName, "coalesced_remote");
+                    return cached;
+                }
+                count(cacheName, "leader");
+                return loader.get();
+            } finally {
+                release(lockKey, token);
+            }
+        }
+
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!sleep(pollInterval)) {
+                break;
+            }
+            Object value = cacheLookup.get();
+            if (value != null) {
+                count(cacheName, "coalesced_remote");
+                return value;
+            }
+            if (!isLocked(lockKey)) {
+                count(cacheName, "uncached");
+                return loader.get();
+            }
+        }
+        count(cacheName, "fallback");
+        return loader.get();
+    }
+
+    private Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.get(waitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    // A Redis error counts as locked: the wait then ends at waitTimeout as before
+    private boolean isLocked(String lockKey) {
+        try {
+            return !Boolean.FALSE.equals(redisTemplate.hasKey(lockKey));
+        } catch (Exception e) {
+            log.warn("Failed to check single-flight lock {}", lockKey, e);
+            return true;
+        }
+    }
+
+    private void release(String lockKey, String token) {
+        try {
+            redisTemplate.execute(RELEASE_LOCK, List.of(lockKey), token);
+        } catch (Exception e) {
+            // The lock expires on its own after lockTtl
+            log.warn("Failed to release single-flight lock {}", lockKey, e);
+        }
+    }
+
+    private boolean sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void count(String cacheName, String result) {
+        Counter.builder("url.cache.loads")
+                .description("Cache miss loads by single-flight outcome")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+}
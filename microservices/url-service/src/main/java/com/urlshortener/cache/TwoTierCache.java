@@ -0,0 +1,177 @@
+package com.urlshortener.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
+/**
+ * Cache that layers a bounded in-process L1 (Caffeine) over a shared L2 (Redis).
+ *
+ * Reads:
+ * 1. L1 hit → returned without any network round trip
+ * 2. L1 miss, L2 hit → value is copied into L1 and returned
+ * 3. Both miss → caller loads the value and puts it into both tiers
+ *
+ * Writes that remove or replace data (evict / clear) are applied to both tiers and
+ * then broadcast through the invalidation callback so that every other instance
+ * drops its L1 copy as well. Plain puts are not broadcast: a put only ever follows
+ * a miss, so no other instance can hold a different value for that key.
+ */
+public class TwoTierCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> localCache;
+    private final Cache remoteCache;
+    private final Consumer<Object> invalidationPublisher;
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+
+    public TwoTierCache(String name,
+                        com.github.benmanes.caffeine.cache.Cache<Object, Object> localCache,
+                        Cache remoteCache,
+                        Consumer<Object> invalidationPublisher,
+                        MeterRegistry meterRegistry) {
+        this.name = name;
+        this.localCache = localCache;
+        this.remoteCache = remoteCache;
+        this.invalidationPublisher = invalidationPublisher;
+        this.l1Hits = requestCounter(meterRegistry, "l1", "hit");
+        this.l1Misses = requestCounter(meterRegistry, "l1", "miss");
+        this.l2Hits = requestCounter(meterRegistry, "l2", "hit");
+        this.l2Misses = requestCounter(meterRegistry, "l2", "miss");
+        meterRegistry.gauge("url.cache.l1.size", Tags.of("cache", name),
+                localCache, com.github.benmanes.caffeine.cache.Cache::estimatedSize);
+    }
+
+    private Counter requestCounter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("url.cache.requests")
+                .description("Cache lookups per tier")
+                .tag("cache", name)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object local = localCache.getIfPresent(key);
+        if (local != null) {
+            l1Hits.increment();
+            return new SimpleValueWrapper(local);
+        }
+        l1Misses.increment();
+
+        ValueWrapper remote = remoteCache.get(key);
+        if (remote == null || remote.get() == null) {
+            l2Misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+        localCache.put(key, remote.get());
+        return remote;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+        remoteCache.put(key, value);
+        localCache.put(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        remoteCache.evict(key);
+        localCache.invalidate(key);
+        invalidationPublisher.accept(key);
+    }
+
+    @Override
+    public void clear() {
+        remoteCache.clear();
+        localCache.invalidateAll();
+        invalidationPublisher.accept(null);
+    }
+
+    /**
+     * L1 lookup only, for callers that read Redis themselves (the reactive redirect path).
+     */
+    public ValueWrapper getLocal(Object key) {
+        Object local = localCache.getIfPresent(key);
+        if (local == null) {
+            l1Misses.increment();
+            return null;
+        }
+        l1Hits.increment();
+        return new SimpleValueWrapper(local);
+    }
+
+    /**
+     * Stores a value in L1 only, after the caller has read or written it in Redis.
+     */
+    public void putLocal(Object key, Object value) {
+        if (value != null) {
+            localCache.put(key, value);
+        }
+    }
+
+    /**
+     * Drops a key (or every key when {@code key} is null) from the local tier only.
+     * Called when another instance broadcasts an invalidation.
+     */
+    void invalidateLocal(Object key) {
+        if (key == null) {
+            localCache.invalidateAll();
+        } else {
+            localCache.invalidate(key);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.urlshortener.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache manager that wraps every Redis cache in a {@link TwoTierCache}.
+ *
+ * It also acts as the Redis pub/sub listener for L1 invalidations. Each message is
+ * "instanceId|cacheName|key" (empty key means "clear the whole cache"); messages sent
+ * by this instance are ignored because the local tier was already updated.
+ *
+ * L1 entries use the same per-entry TTL as Redis, capped at the L1 TTL.
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, MessageListener {
+
+    private static final String SEPARATOR = "|";
+
+    private final RedisCacheManager redisCacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String invalidationChannel;
+    private final long localMaxWeightBytes;
+    private final Duration localTtl;
+    private final RedisCacheWriter.TtlFunction ttlFunction;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+    private final Counter invalidationsReceived;
+
+    public TwoTierCacheManager(RedisCacheManager redisCacheManager,
+                               StringRedisTemplate redisTemplate,
+                               MeterRegistry meterRegistry,
+                               String invalidationChannel,
+                               long localMaxWeightBytes,
+                               Duration localTtl,
+                               RedisCacheWriter.TtlFunction ttlFunction) {
+        this.redisCacheManager = redisCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.invalidationChannel = invalidationChannel;
+        this.localMaxWeightBytes = localMaxWeightBytes;
+        this.localTtl = localTtl;
+        this.ttlFunction = ttlFunction;
+        this.invalidationsReceived = Counter.builder("url.cache.invalidations.received")
+                .description("L1 invalidations received from other instances")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    private TwoTierCache createCache(String name) {
+        Cache remote = redisCacheManager.getCache(name);
+        if (remote == null) {
+            throw new IllegalStateException("No Redis cache configured for name: " + name);
+        }
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> local = Caffeine.newBuilder()
+                .maximumWeight(localMaxWeightBytes)
+                .weigher(new CacheEntryWeigher())
+                .expireAfter(new LocalExpiry())
+                .build();
+        return new TwoTierCache(name, local, remote, key -> publishInvalidation(name, key), meterRegistry);
+    }
+
+    private class LocalExpiry implements Expiry<Object, Object> {
+
+        @Override
+        public long expireAfterCreate(Object key, Object value, long currentTime) {
+            Duration ttl = ttlFunction.getTimeToLive(key, value);
+            return (ttl.isZero() || ttl.compareTo(localTtl) > 0 ? localTtl : ttl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private void publishInvalidation(String cacheName, Object key) {
+        String payload = instanceId + SEPARATOR + cacheName + SEPARATOR + (key != null ? key : "");
+        try {
+            redisTemplate.convertAndSend(invalidationChannel, payload);
+        } catch (Exception e) {
+            // Other instances fall back to the L1 TTL; the eviction itself already succeeded
+            log.warn("Failed to publish cache invalidation for {}::{}", cacheName, key, e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = payload.split("\\" + SEPARATOR, 3);
+        if (parts.length != 3 || instanceId.equals(parts[0])) {
+            return;
+        }
+        TwoTierCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        invalidationsReceived.increment();
+        cache.invalidateLocal(parts[2].isEmpty() ? null : parts[2]);
+    }
+}
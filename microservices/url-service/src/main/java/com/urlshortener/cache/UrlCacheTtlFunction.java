@@ -0,0 +1,52 @@
+package com.urlshortener.cache;
+
+import com.urlshortener.dto.UrlResponseDto;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Per-entry TTL for the "urls" cache.
+ *
+ * - UrlResponseDto: time left until expiresAt, capped at the maximum TTL, so a link
+ *   expiring in 5 minutes leaves the cache in 5 minutes and not after a flat hour
+ * - UrlTombstone:   the (short) tombstone TTL
+ * - anything else:  the maximum TTL
+ *
+ * Used for Redis entries and, capped by the L1 TTL, for the local tier.
+ */
+public class UrlCacheTtlFunction implements RedisCacheWriter.TtlFunction {
+
+    private static final Duration MIN_TTL = Duration.ofSeconds(1);
+
+    private final Duration maxTtl;
+    private final Duration tombstoneTtl;
+    private final Clock clock;
+
+    public UrlCacheTtlFunction(Duration maxTtl, Duration tombstoneTtl) {
+        this(maxTtl, tombstoneTtl, Clock.systemDefaultZone());
+    }
+
+    UrlCacheTtlFunction(Duration maxTtl, Duration tombstoneTtl, Clock clock) {
+        this.maxTtl = maxTtl;
+        this.tombstoneTtl = tombstoneTtl;
+        this.clock = clock;
+    }
+
+    @Override
+    public Duration getTimeToLive(Object key, Object value) {
+        if (value instanceof UrlTombstone) {
+            return tombstoneTtl;
+        }
+        if (value instanceof UrlResponseDto dto && dto.getExpiresAt() != null) {
+            Duration remaining = Duration.between(LocalDateTime.now(clock), dto.getExpiresAt());
+            if (remaining.compareTo(MIN_TTL) < 0) {
+                return MIN_TTL;
+            }
+            return remaining.compareTo(maxTtl) < 0 ? remaining : maxTtl;
+        }
+        return maxTtl;
+    }
+}
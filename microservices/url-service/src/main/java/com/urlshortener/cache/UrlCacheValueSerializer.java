@@ -0,0 +1,175 @@
+package com.urlshortener.cache;
+
+import com.urlshortener.dto.UrlResponseDto;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Compact binary Redis serializer for cached {@link UrlResponseDto} values.
+ *
+ * The JSON serializer stores the class name and ISO date strings in every value
+ * (~250 bytes for a short URL). This layout stores the same data in ~40 bytes:
+ *
+ *   magic    1 byte   0xB1 (JSON values always start with '{' or '[')
+ *   version  1 byte
+ *   flags    1 byte   deactivated + which optional fields are present
+ *   id       varint
+ *   expires  zigzag varint, epoch millis (UTC)
+ *   clicks   varint
+ *   original varint length + UTF-8 bytes
+ *   short    varint length + UTF-8 bytes
+ *
+ * A {@link UrlTombstone} is three bytes: magic, TOMBSTONE in place of the version,
+ * and the reason ordinal. Instances that predate tombstones reject that value, which
+ * is why url.cache.tombstone-ttl defaults to PT0S (no tombstones are written). Turn it
+ * on only once every instance reading the cache runs this version.
+ *
+ * Any other value type is written by the fallback serializer, and any value that does
+ * not start with the magic byte is read by it. Entries written as JSON before the
+ * rollout therefore stay readable until they expire.
+ */
+public class UrlCacheValueSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xB1;
+    static final byte VERSION = 1;
+    static final byte TOMBSTONE = 2;
+
+    private static final int FLAG_DEACTIVATED = 1;
+    private static final int FLAG_ID = 1 << 1;
+    private static final int FLAG_EXPIRES_AT = 1 << 2;
+    private static final int FLAG_CLICK_COUNT = 1 << 3;
+    private static final int FLAG_ORIGINAL_URL = 1 << 4;
+    private static final int FLAG_SHORT_URL = 1 << 5;
+
+    private final RedisSerializer<Object> fallback;
+
+    public UrlCacheValueSerializer(RedisSerializer<Object> fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value instanceof UrlTombstone tombstone) {
+            return new byte[] {MAGIC, TOMBSTONE, (byte) tombstone.getReason().ordinal()};
+        }
+        if (!(value instanceof UrlResponseDto dto)) {
+            return fallback.serialize(value);
+        }
+
+        int flags = (dto.isDeactivated() ? FLAG_DEACTIVATED : 0)
+                | (dto.getId() != null ? FLAG_ID : 0)
+                | (dto.getExpiresAt() != null ? FLAG_EXPIRES_AT : 0)
+                | (dto.getClickCount() != null ? FLAG_CLICK_COUNT : 0)
+                | (dto.getOriginalUrl() != null ? FLAG_ORIGINAL_URL : 0)
+                | (dto.getShortUrl() != null ? FLAG_SHORT_URL : 0);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        out.write(MAGIC);
+        out.write(VERSION);
+        out.write(flags);
+        if (dto.getId() != null) {
+            writeVarLong(out, dto.getId());
+        }
+        if (dto.getExpiresAt() != null) {
+            long millis = dto.getExpiresAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+            writeVarLong(out, (millis << 1) ^ (millis >> 63));
+        }
+        if (dto.getClickCount() != null) {
+            writeVarLong(out, dto.getClickCount());
+        }
+        if (dto.getOriginalUrl() != null) {
+            writeString(out, dto.getOriginalUrl());
+        }
+        if (dto.getShortUrl() != null) {
+            writeString(out, dto.getShortUrl());
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+        if (bytes.length == 3 && bytes[1] == TOMBSTONE) {
+            UrlTombstone.Reason[] reasons = UrlTombstone.Reason.values();
+            if (bytes[2] < 0 || bytes[2] >= reasons.length) {
+                throw new SerializationException("Unknown tombstone reason: " + bytes[2]);
+            }
+            return new UrlTombstone(reasons[bytes[2]]);
+        }
+        if (bytes.length < 3 || bytes[1] != VERSION) {
+            throw new SerializationException("Unsupported cache value version: " + (bytes.length > 1 ? bytes[1] : -1));
+        }
+
+        ByteBuffer in = ByteBuffer.wrap(bytes, 3, bytes.length - 3);
+        int flags = bytes[2];
+        try {
+            UrlResponseDto.UrlResponseDtoBuilder builder = UrlResponseDto.builder()
+                    .deactivated((flags & FLAG_DEACTIVATED) != 0);
+            if ((flags & FLAG_ID) != 0) {
+                builder.id(readVarLong(in));
+            }
+            if ((flags & FLAG_EXPIRES_AT) != 0) {
+                long zigzag = readVarLong(in);
+                long millis = (zigzag >>> 1) ^ -(zigzag & 1);
+                builder.expiresAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC));
+            }
+            if ((flags & FLAG_CLICK_COUNT) != 0) {
+                builder.clickCount((int) readVarLong(in));
+            }
+            if ((flags & FLAG_ORIGINAL_URL) != 0) {
+                builder.originalUrl(readString(in));
+            }
+            if ((flags & FLAG_SHORT_URL) != 0) {
+                builder.shortUrl(readString(in));
+            }
+            return builder.build();
+        } catch (RuntimeException e) {
+            throw new SerializationException("Corrupt binary cache value", e);
+        }
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new SerializationException("Malformed varint in cache value");
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, utf8.length);
+        out.write(utf8, 0, utf8.length);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = (int) readVarLong(in);
+        String value = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+}
@@ -0,0 +1,42 @@
+package com.urlshortener.cache;
+
+import com.urlshortener.exception.UrlDeactivatedException;
+import com.urlshortener.exception.UrlExpiredException;
+import com.urlshortener.exception.UrlNotFoundException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cached marker for a short code that cannot be redirected.
+ *
+ * Without it, every hit on an expired, deactivated or unknown code misses the cache,
+ * queries the DB and throws. With it, repeated hits cost one cache lookup. Tombstones
+ * get their own short TTL (url.cache.tombstone-ttl, off by default until every
+ * instance can decode them), and createShortUrl evicts the key so a NOT_FOUND
+ * tombstone never hides a newly created link.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UrlTombstone {
+
+    private Reason reason;
+
+    /**
+     * The same exception the DB lookup would have thrown for this code.
+     */
+    public RuntimeException toException(String shortUrl) {
+        return switch (reason) {
+            case NOT_FOUND -> new UrlNotFoundException("URL not found: " + shortUrl);
+            case EXPIRED -> new UrlExpiredException("URL has expired: " + shortUrl);
+            case DEACTIVATED -> new UrlDeactivatedException("URL has been deactivated: " + shortUrl);
+        };
+    }
+
+    public enum Reason {
+        NOT_FOUND,
+        EXPIRED,
+        DEACTIVATED
+    }
+}
@@ -2,25 +2,139 @@ package com.urlshortener.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.urlshortener.cache.SingleFlightLoader;
+import com.urlshortener.cache.TwoTierCacheManager;
+import com.urlshortener.cache.UrlCacheTtlFunction;
+import com.urlshortener.cache.UrlCacheValueSerializer;
+import com.urlshortener.cache.UrlTombstone;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
 
+/**
+ * Cache for URL lookups (@Cacheable getOriginalUrl, @CacheEvict deactivateUrl).
+ *
+ * TIERS:
+ * - L1: Caffeine, in-process, bounded by approximate bytes, short TTL
+ * - L2: Redis (the RedisCacheManager below), shared by all instances
+ *
+ * Redirects for hot links are served from L1 without a Redis round trip. Evictions
+ * are broadcast over Redis pub/sub (url.cache.invalidation-channel) so every
+ * url-service instance drops its L1 copy.
+ *
+ * TTLs are per entry (UrlCacheTtlFunction): links leave the cache when they expire,
+ * capped at url.cache.ttl; dead-link tombstones live for url.cache.tombstone-ttl.
+ *
+ * Concurrent misses for the same key are coalesced by SingleFlightLoader, locally and
+ * across instances through a short Redis lock (url.cache.single-flight.*).
+ *
+ * Value codec (url.cache.codec):
+ * - BINARY: compact layout for UrlResponseDto, still reads JSON entries (default)
+ * - JSON:   the previous JSON format; use while instances that cannot read binary are still running
+ */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    public static final String URL_CACHE = "urls";
+
+    // The one place that defaults url.cache.tombstone-ttl; everything reading it uses this
+    public static final String TOMBSTONE_TTL = "${url.cache.tombstone-ttl:PT0S}";
+
+    @Value("${url.cache.ttl:PT1H}")
+    private Duration ttl;
+
+    @Value(TOMBSTONE_TTL)
+    private Duration tombstoneTtl;
+
+    @Value("${url.cache.l1.max-weight-bytes:67108864}")
+    private long localMaxWeightBytes;
+
+    @Value("${url.cache.l1.ttl:PT1M}")
+    private Duration localTtl;
+
+    @Value("${url.cache.invalidation-channel:url-cache-invalidation}")
+    private String invalidationChannel;
+
+    @Value("${url.cache.single-flight.lock-ttl:PT2S}")
+    private Duration singleFlightLockTtl;
+
+    @Value("${url.cache.single-flight.wait-timeout:PT1S}")
+    private Duration singleFlightWaitTimeout;
+
+    @Value("${url.cache.single-flight.poll-interval:PT0.02S}")
+    private Duration singleFlightPollInterval;
+
+    @Value("${url.cache.codec:BINARY}")
+    private CacheCodec codec;
+
+    public String getInvalidationChannel() {
+        return invalidationChannel;
+    }
+
+    /**
+     * Redis layout of the "urls" cache: key prefix, value codec and TTL. Also used by
+     * the reactive redirect path, which reads and writes the same entries.
+     */
+    @Bean
+    public RedisCacheConfiguration cacheConfiguration() {
+        RedisSerializer<Object> jsonSerializer = jsonSerializer();
+        RedisSerializer<Object> valueSerializer = switch (codec) {
+            case BINARY -> new UrlCacheValueSerializer(jsonSerializer);
+            case JSON -> jsonSerializer;
+        };
+
+        return RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(new UrlCacheTtlFunction(ttl, tombstoneTtl))
+                .disableCachingNullValues()
+                .serializeKeysWith(
+                        RedisSerializationContext.SerializationPair
+                                .fromSerializer(new StringRedisSerializer()))
+                .serializeValuesWith(
+                        RedisSerializationContext.SerializationPair
+                                .fromSerializer(valueSerializer))
+                .prefixCacheNameWith("urlshortener:");
+    }
+
+    @Bean
+    public TwoTierCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                            RedisCacheConfiguration cacheConfiguration,
+                                            StringRedisTemplate redisTemplate,
+                                            MeterRegistry meterRegistry) {
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(cacheConfiguration)
+                .build();
+        // Not a bean, so Spring does not initialize it
+        redisCacheManager.afterPropertiesSet();
+        return new TwoTierCacheManager(redisCacheManager, redisTemplate, meterRegistry,
+                invalidationChannel, localMaxWeightBytes, localTtl, cacheConfiguration.getTtlFunction());
+    }
+
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public SingleFlightLoader singleFlightLoader(StringRedisTemplate redisTemplate, MeterRegistry meterRegistry) {
+        return new SingleFlightLoader(redisTemplate, meterRegistry,
+                singleFlightLockTtl, singleFlightWaitTimeout, singleFlightPollInterval);
+    }
+
+    /**
+     * JSON format used for cached values before the binary codec, kept byte-compatible:
+     * ["com.urlshortener.dto.UrlResponseDto",{...,"expiresAt":"2030-05-17T13:45:12"}]
+     */
+    public static RedisSerializer<Object> jsonSerializer() {
         // Custom ObjectMapper with Java 8 date/time support
         // GenericJackson2JsonRedisSerializer uses its own internal ObjectMapper,
         // which does NOT have JavaTimeModule registered by default.
@@ -29,26 +143,25 @@ public class CacheConfig {
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
         objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        // Same NON_FINAL typing as before, so existing entries stay readable, but only our
+        // own DTOs (and JDK collections) may be named in a value: a class name written to
+        // Redis by someone else cannot make this service instantiate arbitrary types
         objectMapper.activateDefaultTyping(
-                objectMapper.getPolymorphicTypeValidator(),
+                BasicPolymorphicTypeValidator.builder()
+                        .allowIfSubType("com.urlshortener.dto.")
+                        .allowIfSubType(UrlTombstone.class)
+                        .allowIfSubType("java.util.")
+                        .build(),
                 ObjectMapper.DefaultTyping.NON_FINAL);
 
-        GenericJackson2JsonRedisSerializer jsonSerializer =
-                new GenericJackson2JsonRedisSerializer(objectMapper);
-
-        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofHours(1))
-                .disableCachingNullValues()
-                .serializeKeysWith(
-                        RedisSerializationContext.SerializationPair
-                                .fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(
-                        RedisSerializationContext.SerializationPair
-                                .fromSerializer(jsonSerializer))
-                .prefixCacheNameWith("urlshortener:");
+        return new GenericJackson2JsonRedisSerializer(objectMapper);
+    }
 
-        return RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(config)
-                .build();
+    /**
+     * Available encodings for cached values.
+     */
+    public enum CacheCodec {
+        BINARY,
+        JSON
     }
 }
@@ -0,0 +1,99 @@
+package com.urlshortener.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.okhttp3.OkHttpConnectionPoolMetrics;
+import okhttp3.Call;
+import okhttp3.ConnectionPool;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transport for the Feign clients (AuthServiceClient, AnalyticsServiceClient).
+ *
+ * WHY THIS EXISTS:
+ * - Feign's default client (HttpURLConnection) keeps almost no connections alive, so
+ *   under load every call opens a new socket and closed ones pile up in TIME_WAIT
+ *
+ * HOW IT WORKS:
+ * - spring.cloud.openfeign.okhttp.enabled=true switches to OkHttp (brought in by the
+ *   *-service-lib modules); Spring Cloud builds the client from this builder
+ * - Pool: up to httpclient.max-connections idle keep-alive connections, each kept for
+ *   httpclient.time-to-live seconds
+ * - HTTP/2: httpclient.ok-http.protocols (H2_PRIOR_KNOWLEDGE for plain-text h2c)
+ * - Compression: OkHttp asks for gzip and decompresses responses transparently
+ *
+ * METRICS:
+ * - http.client.requests{clientName, method, uri, status}: per-method latency (feign-micrometer)
+ * - okhttp.pool.connection.count{state=active|idle}, okhttp.pool.connection.limit
+ * - feign.client.connect{host, outcome}: time to open a new connection (pool misses)
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.cloud.openfeign.okhttp.enabled", havingValue = "true")
+public class FeignClientConfig {
+
+    @Bean
+    public OkHttpClient.Builder okHttpClientBuilder(MeterRegistry meterRegistry) {
+        return new OkHttpClient.Builder()
+                .eventListenerFactory(call -> new ConnectTimingListener(meterRegistry));
+    }
+
+    @Bean
+    public MeterBinder okHttpConnectionPoolMetrics(
+            ConnectionPool connectionPool,
+            @Value("${spring.cloud.openfeign.httpclient.max-connections:200}") int maxIdleConnections) {
+        return new OkHttpConnectionPoolMetrics(connectionPool, "okhttp.pool", Tags.of("client", "feign"),
+                maxIdleConnections);
+    }
+
+    /**
+     * Times connection setup (TCP + TLS) of one call. Calls served from the pool never
+     * reach connectStart, so the timer's count is also the number of pool misses.
+     */
+    static class ConnectTimingListener extends EventListener {
+
+        private final MeterRegistry meterRegistry;
+        private long connectStart;
+
+        ConnectTimingListener(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress address, Proxy proxy) {
+            connectStart = System.nanoTime();
+        }
+
+        @Override
+        public void connectEnd(Call call, InetSocketAddress address, Proxy proxy, Protocol protocol) {
+            record(call, "success");
+        }
+
+        @Override
+        public void connectFailed(Call call, InetSocketAddress address, Proxy proxy, Protocol protocol,
+                                  IOException e) {
+            record(call, "failure");
+        }
+
+        private void record(Call call, String outcome) {
+            Timer.builder("feign.client.connect")
+                    .description("Time to open a new connection for a Feign call")
+                    .tag("host", call.request().url().host())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - connectStart, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.urlshortener.config;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Non-blocking I/O clients for the reactive redirect path (profile: reactive-redirect).
+ *
+ * Boot's R2DBC auto-configuration is excluded in application.yml: its
+ * ReactiveTransactionManager would clash with the JPA transaction manager that the
+ * rest of the application uses. Only the redirect lookup goes through R2DBC.
+ */
+@Configuration
+@Profile("reactive-redirect")
+public class ReactiveRedirectConfig {
+
+    @Bean
+    public ConnectionFactory redirectConnectionFactory(@Value("${url.redirect.r2dbc.url}") String url,
+                                                       @Value("${spring.datasource.username}") String username,
+                                                       @Value("${spring.datasource.password}") String password) {
+        return ConnectionFactories.get(ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient redirectDatabaseClient(ConnectionFactory redirectConnectionFactory) {
+        return DatabaseClient.create(redirectConnectionFactory);
+    }
+
+    /**
+     * Reads and writes the same Redis entries as the "urls" cache: same key prefix,
+     * same value codec.
+     */
+    @Bean
+    public ReactiveRedisTemplate<String, Object> urlCacheRedisTemplate(ReactiveRedisConnectionFactory connectionFactory,
+                                                                      RedisCacheConfiguration cacheConfiguration) {
+        RedisSerializationContext<String, Object> context = RedisSerializationContext
+                .<String, Object>newSerializationContext(StringRedisSerializer.UTF_8)
+                .value(cacheConfiguration.getValueSerializationPair())
+                .build();
+        return new ReactiveRedisTemplate<>(connectionFactory, context);
+    }
+}
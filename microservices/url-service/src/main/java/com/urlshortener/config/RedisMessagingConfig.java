@@ -0,0 +1,30 @@
+package com.urlshortener.config;
+
+import com.urlshortener.cache.TwoTierCacheManager;
+import com.urlshortener.service.bloom.ShortUrlBloomFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Redis pub/sub subscriptions shared by all url-service instances:
+ * - cache invalidations → drop the key from the local L1 cache
+ * - created short codes → add the code to the local Bloom filter
+ */
+@Configuration
+public class RedisMessagingConfig {
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       CacheConfig cacheConfig,
+                                                                       TwoTierCacheManager cacheManager,
+                                                                       ShortUrlBloomFilter shortUrlBloomFilter) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(cacheConfig.getInvalidationChannel()));
+        container.addMessageListener(shortUrlBloomFilter, new ChannelTopic(shortUrlBloomFilter.getChannel()));
+        return container;
+    }
+}
@@ -0,0 +1,12 @@
+package com.urlshortener.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled jobs (WriteBehindClickCounter flush).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
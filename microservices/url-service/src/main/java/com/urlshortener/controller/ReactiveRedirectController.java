@@ -0,0 +1,58 @@
+package com.urlshortener.controller;
+
+import com.urlshortener.exception.UrlDeactivatedException;
+import com.urlshortener.exception.UrlExpiredException;
+import com.urlshortener.exception.UrlNotFoundException;
+import com.urlshortener.service.ReactiveUrlService;
+import com.urlshortener.service.UrlService;
+import com.urlshortener.service.bloom.ShortUrlBloomFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+/**
+ * Non-blocking replacement for {@link RedirectController} (profile: reactive-redirect).
+ *
+ * Returning a Mono makes Spring MVC handle the request asynchronously: the Tomcat
+ * thread is released as soon as the lookup is started, and the 302 is written when
+ * Redis / R2DBC complete. Concurrency is then bounded by connections, not threads.
+ *
+ * Same outcomes as RedirectController, mapped by GlobalExceptionHandler:
+ * 404 not found, 410 expired, 403 deactivated.
+ */
+@Controller
+@Profile("reactive-redirect")
+@RequiredArgsConstructor
+public class ReactiveRedirectController {
+
+    private final ReactiveUrlService reactiveUrlService;
+    private final UrlService urlService;
+    private final ShortUrlBloomFilter shortUrlBloomFilter;
+
+    @GetMapping("/{shortUrl}")
+    public Mono<ResponseEntity<Void>> redirectToOriginalUrl(@PathVariable String shortUrl) {
+        // Unknown codes (scanners, typos) are rejected before any cache or DB lookup
+        if (!shortUrlBloomFilter.mightContain(shortUrl)) {
+            return Mono.error(new UrlNotFoundException("URL not found"));
+        }
+
+        return reactiveUrlService.getOriginalUrl(shortUrl)
+                .map(url -> {
+                    // Non-blocking: buffered in memory (WriteBehindClickCounter)
+                    urlService.incrementClickCount(shortUrl);
+                    return ResponseEntity.status(HttpStatus.FOUND)
+                            .location(URI.create(url.getOriginalUrl()))
+                            .<Void>build();
+                })
+                .onErrorMap(UrlNotFoundException.class, e -> new UrlNotFoundException("URL not found"))
+                .onErrorMap(UrlExpiredException.class, e -> new UrlExpiredException("URL has expired"))
+                .onErrorMap(UrlDeactivatedException.class, e -> new UrlDeactivatedException("URL has been deactivated"));
+    }
+}
@@ -5,8 +5,10 @@ import com.urlshortener.exception.UrlDeactivatedException;
 import com.urlshortener.exception.UrlExpiredException;
 import com.urlshortener.exception.UrlNotFoundException;
 import com.urlshortener.service.UrlService;
+import com.urlshortener.service.bloom.ShortUrlBloomFilter;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -24,18 +26,24 @@ import org.springframework.web.servlet.view.RedirectView;
  * - Integrates with Spring's view resolution system
  */
 @Controller
+@Profile("!reactive-redirect")
 @RequiredArgsConstructor
 public class RedirectController {
 
     private final UrlService urlService;
+    private final ShortUrlBloomFilter shortUrlBloomFilter;
 
     @GetMapping("/{shortUrl}")
     public RedirectView redirectToOriginalUrl(@PathVariable String shortUrl, HttpServletRequest request) {
+        // Unknown codes (scanners, typos) are rejected before any cache or DB lookup
+        if (!shortUrlBloomFilter.mightContain(shortUrl)) {
+            throw new UrlNotFoundException("URL not found");
+        }
         try {
             // Step 1: Get URL from cache (Redis) or DB on cache miss
             UrlResponseDto urlResponse = urlService.getOriginalUrl(shortUrl);
 
-            // Step 2: Increment click count (atomic DB update, runs on every redirect)
+            // Step 2: Count the click (buffered, flushed to the DB in batches)
             urlService.incrementClickCount(shortUrl);
 
             // Step 3: Redirect (302 status code — browser won't cache the redirect)
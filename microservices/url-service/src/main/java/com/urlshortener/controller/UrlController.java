@@ -1,18 +1,28 @@
 package com.urlshortener.controller;
 
+import com.urlshortener.dto.BatchUrlRequestDto;
+import com.urlshortener.dto.BatchUrlResponseDto;
 import com.urlshortener.dto.UrlAnalyticsResponse;
 import com.urlshortener.dto.UrlRequestDto;
 import com.urlshortener.dto.UrlResponseDto;
+import com.urlshortener.dto.UrlStatsBatchRequestDto;
 import com.urlshortener.model.Url;
 import com.urlshortener.repository.UrlRepository;
 import com.urlshortener.service.AnalyticsClientService;
 import com.urlshortener.service.UrlService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/v1/urls")
@@ -23,11 +33,23 @@ public class UrlController {
     private final AnalyticsClientService analyticsClientService;  // Uses Circuit Breaker
     private final UrlRepository urlRepository;
 
+    @Value("${url.stats.batch.max-size:500}")
+    private int maxStatsBatchSize;
+
     @PostMapping
     public ResponseEntity<UrlResponseDto> createShortUrl(
             @Valid @RequestBody UrlRequestDto request,
-            @RequestHeader("X-User-Name") String username) {
-        return ResponseEntity.ok(urlService.createShortUrl(request, username));
+            @RequestHeader("X-User-Name") String username,
+            @RequestHeader(value = "X-User-Id", required = false) Long userId) {
+        return ResponseEntity.ok(urlService.createShortUrl(request, username, userId));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<BatchUrlResponseDto> createShortUrls(
+            @Valid @RequestBody BatchUrlRequestDto request,
+            @RequestHeader("X-User-Name") String username,
+            @RequestHeader(value = "X-User-Id", required = false) Long userId) {
+        return ResponseEntity.ok(urlService.createShortUrls(request.getUrls(), username, userId));
     }
 
     @GetMapping("/{shortUrl}")
@@ -60,9 +82,64 @@ public class UrlController {
         );
     }
 
+    /**
+     * Stats for a whole dashboard: one URL query plus one analytics-service call
+     * (a few set-based queries there), instead of a lookup and a call per URL.
+     * Unknown short codes and other users' URLs are left out of the result.
+     */
+    @PostMapping("/stats:batch")
+    public ResponseEntity<List<UrlAnalyticsResponse>> getUrlStatsBatch(
+            @Valid @RequestBody UrlStatsBatchRequestDto request,
+            @RequestHeader("X-User-Name") String username,
+            @RequestHeader(value = "X-User-Id", required = false) Long userId) {
+        if (request.getShortCodes().size() > maxStatsBatchSize) {
+            throw new IllegalArgumentException("Batch of " + request.getShortCodes().size()
+                    + " short codes exceeds the limit of " + maxStatsBatchSize);
+        }
+        Map<Long, Url> urlsById = new LinkedHashMap<>();
+        Map<String, Url> urlsByCode = urlRepository.findByShortUrlIn(request.getShortCodes()).stream()
+                .filter(ownedBy(username, userId))
+                .collect(Collectors.toMap(Url::getShortUrl, Function.identity()));
+        for (String shortCode : request.getShortCodes()) {
+            Url url = urlsByCode.get(shortCode);
+            if (url != null) {
+                urlsById.putIfAbsent(url.getId(), url);
+            }
+        }
+        if (urlsById.isEmpty()) {
+            return ResponseEntity.ok(List.of());
+        }
+
+        List<UrlAnalyticsResponse> stats = analyticsClientService.getUrlAnalyticsBatch(
+                List.copyOf(urlsById.keySet()), request.getDays());
+        for (UrlAnalyticsResponse stat : stats) {
+            Url url = urlsById.get(stat.getUrlId());
+            if (url != null) {
+                stat.setShortCode(url.getShortUrl());
+                stat.setOriginalUrl(url.getOriginalUrl());
+            }
+        }
+        return ResponseEntity.ok(stats);
+    }
+
+    /**
+     * Matches the caller's own URLs. Tokens without the uid claim carry no X-User-Id;
+     * the caller's URLs are then looked up by name.
+     */
+    private Predicate<Url> ownedBy(String username, Long userId) {
+        if (userId != null) {
+            return url -> userId.equals(url.getUserId());
+        }
+        Set<Long> ownIds = urlService.getAllUserUrls(username).stream()
+                .map(UrlResponseDto::getId)
+                .collect(Collectors.toSet());
+        return url -> ownIds.contains(url.getId());
+    }
+
     @GetMapping
     public ResponseEntity<List<UrlResponseDto>> getUserUrls(
-            @RequestHeader("X-User-Name") String username) {
-        return ResponseEntity.ok(urlService.getAllUserUrls(username));
+            @RequestHeader("X-User-Name") String username,
+            @RequestHeader(value = "X-User-Id", required = false) Long userId) {
+        return ResponseEntity.ok(urlService.getAllUserUrls(username, userId));
     }
 } 
\ No newline at end of file
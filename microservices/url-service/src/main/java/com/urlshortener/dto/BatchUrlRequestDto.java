@@ -0,0 +1,22 @@
+package com.urlshortener.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request body for POST /api/v1/urls/batch.
+ * Items are validated one by one, so an invalid URL fails only its own result.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchUrlRequestDto {
+    @NotEmpty(message = "Batch cannot be empty")
+    private List<UrlRequestDto> urls;
+}
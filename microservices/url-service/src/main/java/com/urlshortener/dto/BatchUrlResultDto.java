@@ -0,0 +1,20 @@
+package com.urlshortener.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a batch request, in request order.
+ * Exactly one of url / error is set.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchUrlResultDto {
+    private int index;
+    private UrlResponseDto url;
+    private String error;
+}
@@ -0,0 +1,23 @@
+package com.urlshortener.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UrlStatsBatchRequestDto {
+    @NotNull(message = "Short codes cannot be empty")
+    private List<String> shortCodes;
+
+    @Min(value = 1, message = "Days must be at least 1")
+    @Builder.Default
+    private int days = 7;
+}
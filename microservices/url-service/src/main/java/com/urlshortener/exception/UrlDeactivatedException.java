@@ -2,6 +2,6 @@ package com.urlshortener.exception;
 
 public class UrlDeactivatedException extends RuntimeException {
     public UrlDeactivatedException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 } 
\ No newline at end of file
@@ -2,6 +2,6 @@ package com.urlshortener.exception;
 
 public class UrlExpiredException extends RuntimeException {
     public UrlExpiredException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 } 
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.urlshortener.exception;
 
 public class UrlNotFoundException extends RuntimeException {
     public UrlNotFoundException(String message) {
-        super(message);
+        // Thrown on every dead-link redirect and mapped to a status code; no stack trace needed
+        super(message, null, false, false);
     }
 } 
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.urlshortener.model;
 
+import com.urlshortener.util.ShortCodeKey;
+import com.urlshortener.util.UrlCanonicalizer;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -22,9 +24,17 @@ public class Url {
     @Column(nullable = false)
     private String originalUrl;
 
-    @Column(nullable = false, unique = true, length = 10)
+    // Hash of the canonical originalUrl (UrlCanonicalizer), indexed per user for dedup
+    private Long originalUrlHash;
+
+    // Matches the VARCHAR(32) column; Snowflake codes are up to 11 characters
+    @Column(nullable = false, unique = true, length = 32)
     private String shortUrl;
 
+    // Base62 value of shortUrl (see ShortCodeKey); null for codes without a numeric form
+    @Column(unique = true)
+    private Long shortCodeKey;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
@@ -40,4 +50,14 @@ public class Url {
 
     @Column(name = "user_id", nullable = false)
     private Long userId;
+
+    @PrePersist
+    void assignDerivedKeys() {
+        if (shortCodeKey == null) {
+            shortCodeKey = ShortCodeKey.of(shortUrl);
+        }
+        if (originalUrlHash == null && originalUrl != null) {
+            originalUrlHash = UrlCanonicalizer.hash(originalUrl);
+        }
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.urlshortener.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Counts virtual threads that pin their carrier thread.
+ *
+ * A virtual thread that blocks inside a synchronized block (or native frame) cannot
+ * unmount, so it keeps one of the few carrier threads busy. The JVM reports each such
+ * block longer than the threshold as a jdk.VirtualThreadPinned JFR event; this monitor
+ * streams those events into metrics:
+ * - jvm.threads.virtual.pinned        count of pinning events
+ * - jvm.threads.virtual.pinned.time   how long carriers stayed pinned
+ *
+ * The top application frame is logged so hot spots can be found and fixed.
+ * Only active when spring.threads.virtual.enabled=true (requires Java 21).
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final RecordingStream recordingStream;
+    private final Counter pinnedCount;
+    private final Timer pinnedTime;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${monitoring.virtual-threads.pinned-threshold:PT0.02S}") Duration threshold) {
+        this.pinnedCount = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier")
+                .register(meterRegistry);
+        this.pinnedTime = Timer.builder("jvm.threads.virtual.pinned.time")
+                .description("Time carrier threads stayed pinned")
+                .register(meterRegistry);
+
+        this.recordingStream = new RecordingStream();
+        this.recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        this.recordingStream.onEvent(PINNED_EVENT, this::record);
+        this.recordingStream.startAsync();
+    }
+
+    private void record(RecordedEvent event) {
+        pinnedCount.increment();
+        pinnedTime.record(event.getDuration());
+        if (log.isDebugEnabled() && event.getStackTrace() != null) {
+            event.getStackTrace().getFrames().stream()
+                    .map(RecordedFrame::getMethod)
+                    .filter(method -> method.getType().getName().startsWith("com.urlshortener"))
+                    .findFirst()
+                    .ifPresent(method -> log.debug("Virtual thread pinned for {} ms in {}.{}",
+                            event.getDuration().toMillis(), method.getType().getName(), method.getName()));
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        recordingStream.close();
+    }
+}
@@ -0,0 +1,73 @@
+package com.urlshortener.repository;
+
+import com.urlshortener.model.Url;
+import com.urlshortener.util.ShortCodeKey;
+import com.urlshortener.util.UrlCanonicalizer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk insert for urls that bypasses JPA.
+ *
+ * Hibernate cannot batch inserts for IDENTITY ids (it needs each generated id right
+ * away), so saving N entities costs N round trips. Here all rows go out as one JDBC
+ * batch; with reWriteBatchedInserts=true the PostgreSQL driver sends them as
+ * multi-row INSERTs and returns the generated ids in row order.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UrlBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO urls (original_url, original_url_hash, short_url, short_code_key, created_at, expires_at, "
+            + "click_count, deactivated, user_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts all rows in one batch and sets the generated id on each Url.
+     * Must run inside a transaction so a failed batch leaves no rows behind.
+     */
+    public void insertAll(List<Url> urls) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Url url = urls.get(i);
+                        ps.setString(1, url.getOriginalUrl());
+                        ps.setLong(2, UrlCanonicalizer.hash(url.getOriginalUrl()));
+                        ps.setString(3, url.getShortUrl());
+                        ps.setObject(4, ShortCodeKey.of(url.getShortUrl()), Types.BIGINT);
+                        ps.setTimestamp(5, Timestamp.valueOf(url.getCreatedAt()));
+                        ps.setTimestamp(6, Timestamp.valueOf(url.getExpiresAt()));
+                        ps.setInt(7, url.getClickCount());
+                        ps.setBoolean(8, url.getDeactivated());
+                        ps.setLong(9, url.getUserId());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return urls.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < urls.size(); i++) {
+            urls.get(i).setId(((Number) keys.get(i).get("id")).longValue());
+        }
+    }
+}
@@ -2,21 +2,27 @@ package com.urlshortener.repository;
 
 import com.urlshortener.model.Url;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface UrlRepository extends JpaRepository<Url, Long> {
     Optional<Url> findByShortUrl(String shortUrl);
-    boolean existsByShortUrl(String shortUrl);
+    Optional<Url> findByShortCodeKey(Long shortCodeKey);
     List<Url> findByUserIdOrderByCreatedAtDesc(Long userId);
 
-    @Modifying
-    @Query("UPDATE Url u SET u.clickCount = u.clickCount + 1 WHERE u.shortUrl = :shortUrl")
-    void incrementClickCount(@Param("shortUrl") String shortUrl);
+    List<Url> findByShortUrlIn(Collection<String> shortUrls);
+
+    // Active URLs of the user with this destination hash that live at least until expiresAt
+    @Query("SELECT u FROM Url u WHERE u.userId = :userId AND u.originalUrlHash = :hash "
+            + "AND u.deactivated = false AND u.expiresAt >= :expiresAt ORDER BY u.expiresAt DESC")
+    List<Url> findDedupCandidates(@Param("userId") Long userId,
+                                  @Param("hash") long originalUrlHash,
+                                  @Param("expiresAt") LocalDateTime expiresAt);
 }
 
 
@@ -1,5 +1,6 @@
 package com.urlshortener.service;
 
+import com.urlshortener.dto.UrlAnalyticsBatchRequest;
 import com.urlshortener.dto.UrlAnalyticsResponse;
 import com.urlshortener.lib.AnalyticsServiceClient;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
@@ -7,6 +8,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 /**
  * Service wrapper for Analytics Service client calls.
  *
@@ -76,4 +79,29 @@ public class AnalyticsClientService {
                 .message("Analytics temporarily unavailable. URL data is current.")
                 .build();
     }
+
+    /**
+     * Analytics for many URLs in one call (dashboard), with circuit breaker protection.
+     * Returns one response per distinct url id, in request order.
+     */
+    @CircuitBreaker(name = "analyticsService", fallbackMethod = "getUrlAnalyticsBatchFallback")
+    public List<UrlAnalyticsResponse> getUrlAnalyticsBatch(List<Long> urlIds, int days) {
+        log.debug("Calling Analytics Service for {} URLs", urlIds.size());
+        return analyticsServiceClient.getUrlAnalyticsBatch(
+                UrlAnalyticsBatchRequest.builder().urlIds(urlIds).days(days).build());
+    }
+
+    public List<UrlAnalyticsResponse> getUrlAnalyticsBatchFallback(List<Long> urlIds, int days, Exception ex) {
+        log.warn("Analytics Service unavailable. Circuit breaker fallback triggered for {} URLs. Error: {}",
+                urlIds.size(), ex.getMessage());
+
+        return urlIds.stream()
+                .distinct()
+                .map(urlId -> UrlAnalyticsResponse.builder()
+                        .urlId(urlId)
+                        .totalClicks(0L)
+                        .message("Analytics temporarily unavailable. URL data is current.")
+                        .build())
+                .toList();
+    }
 }
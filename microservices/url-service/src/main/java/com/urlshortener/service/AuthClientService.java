@@ -0,0 +1,93 @@
+package com.urlshortener.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.urlshortener.dto.UserDto;
+import com.urlshortener.lib.AuthServiceClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+/**
+ * Cached wrapper for Auth Service user lookups.
+ *
+ * WHY THIS EXISTS:
+ * - createShortUrl and getAllUserUrls only need the user's id, but resolving it
+ *   meant a synchronous call to Auth Service on every request
+ * - Users rarely change, so the answer can be kept locally for minutes
+ *
+ * HOW IT WORKS (stale-while-revalidate):
+ * - Miss: the user is loaded from Auth Service and cached
+ * - Older than auth.user-cache.ttl: the cached user is returned right away and
+ *   reloaded in the background, so a slow Auth Service never delays the request
+ * - Reload fails (Auth Service down): the cached user keeps being served until
+ *   auth.user-cache.max-stale after it was loaded
+ * - Unknown users (null) are not cached
+ *
+ * Metrics: cache.gets{cache=authUsers,result=hit|miss}, cache.loads and cache.size.
+ * Call evict() when a user changes or is deleted, so the next lookup reloads it.
+ */
+@Service
+@Slf4j
+public class AuthClientService {
+
+    public static final String CACHE_NAME = "authUsers";
+
+    private final LoadingCache<String, UserDto> users;
+
+    @Autowired
+    public AuthClientService(AuthServiceClient authServiceClient,
+                             MeterRegistry meterRegistry,
+                             @Value("${auth.user-cache.ttl:5m}") Duration ttl,
+                             @Value("${auth.user-cache.max-stale:1h}") Duration maxStale,
+                             @Value("${auth.user-cache.max-size:10000}") long maxSize,
+                             @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                             Executor refreshExecutor) {
+        // Background reloads block on a Feign call: run them on Boot's task executor (virtual
+        // threads when spring.threads.virtual.enabled=true), not on the shared common pool
+        this(authServiceClient, meterRegistry, ttl, maxStale, maxSize, Ticker.systemTicker(), refreshExecutor);
+    }
+
+    AuthClientService(AuthServiceClient authServiceClient, MeterRegistry meterRegistry, Duration ttl,
+                      Duration maxStale, long maxSize, Ticker ticker, Executor refreshExecutor) {
+        if (maxStale.compareTo(ttl) <= 0) {
+            throw new IllegalArgumentException("auth.user-cache.max-stale must be longer than auth.user-cache.ttl");
+        }
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .refreshAfterWrite(ttl)
+                .expireAfterWrite(maxStale)
+                .recordStats()
+                .ticker(ticker)
+                .executor(refreshExecutor)
+                .build(username -> {
+                    log.debug("Loading user {} from Auth Service", username);
+                    return authServiceClient.getUserByUsername(username);
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, users, CACHE_NAME);
+    }
+
+    /**
+     * @return the user, or null if Auth Service does not know the username
+     */
+    public UserDto getUserByUsername(String username) {
+        return users.get(username);
+    }
+
+    public void evict(String username) {
+        users.invalidate(username);
+    }
+
+    public void evictAll() {
+        users.invalidateAll();
+    }
+}
@@ -0,0 +1,8 @@
+package com.urlshortener.service;
+
+import com.urlshortener.dto.UrlResponseDto;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUrlService {
+    Mono<UrlResponseDto> getOriginalUrl(String shortUrl);
+}
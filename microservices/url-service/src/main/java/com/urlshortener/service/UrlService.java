@@ -1,14 +1,34 @@
 package com.urlshortener.service;
 
+import com.urlshortener.dto.BatchUrlResponseDto;
 import com.urlshortener.dto.UrlRequestDto;
 import com.urlshortener.dto.UrlResponseDto;
 
 import java.util.List;
 
 public interface UrlService {
-    UrlResponseDto createShortUrl(UrlRequestDto request, String userName);
+    /**
+     * @param userId the caller's id from the gateway's X-User-Id header; null for tokens
+     *               without the claim, in which case it is looked up by userName
+     */
+    UrlResponseDto createShortUrl(UrlRequestDto request, String userName, Long userId);
+
+    default UrlResponseDto createShortUrl(UrlRequestDto request, String userName) {
+        return createShortUrl(request, userName, null);
+    }
+
+    /**
+     * Bulk variant of createShortUrl; the user is resolved once for the whole batch.
+     * @param userId as for createShortUrl
+     */
+    BatchUrlResponseDto createShortUrls(List<UrlRequestDto> requests, String userName, Long userId);
+
     UrlResponseDto getOriginalUrl(String shortUrl);
     void incrementClickCount(String shortUrl);
     void deactivateUrl(String shortUrl);
-    List<UrlResponseDto> getAllUserUrls(String userName);
+    List<UrlResponseDto> getAllUserUrls(String userName, Long userId);
+
+    default List<UrlResponseDto> getAllUserUrls(String userName) {
+        return getAllUserUrls(userName, null);
+    }
 } 
\ No newline at end of file
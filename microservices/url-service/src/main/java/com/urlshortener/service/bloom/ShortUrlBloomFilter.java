@@ -0,0 +1,240 @@
+package com.urlshortener.service.bloom;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+
+/**
+ * Per-instance Bloom filter of every existing short code.
+ *
+ * WHY THIS EXISTS:
+ * - Scanners and typos request codes that were never created. Each new one misses the
+ *   "urls" cache (NOT_FOUND tombstones only help for repeats) and falls through to the DB
+ * - The filter answers "definitely not created" from memory, so RedirectController
+ *   returns 404 without a Redis or DB call
+ *
+ * HOW IT STAYS COMPLETE (a missing code would break a live link):
+ * 1. Built from the urls table at startup, before the instance reports ready
+ * 2. createShortUrl adds the new code locally and publishes it so other instances add it too
+ * 3. Pub/sub is fire-and-forget, so every url.bloom-filter.catch-up-interval the filter also
+ *    adds the rows with an id above what it has already seen. A lost message or a Redis
+ *    reconnect therefore rejects a new code for at most one interval, not until the next
+ *    rebuild. Each poll starts from the id seen one poll earlier, so a row whose insert
+ *    committed after a higher id was read is still picked up
+ * 4. Rebuilt periodically, re-sized for the current row count
+ *
+ * The urls table is owned by auth-service (its Liquibase changelog), not by this service.
+ * If it cannot be read at startup the instance still starts, every code is reported as
+ * "maybe present", and the build is retried every url.bloom-filter.retry-interval.
+ *
+ * METRICS:
+ * - url.bloom.rejections: lookups rejected as definitely unknown
+ * - url.bloom.memory.bytes, url.bloom.elements
+ * - url.bloom.fpp.configured / url.bloom.fpp.expected (grows once the filter is over capacity)
+ */
+@Slf4j
+@Component
+public class ShortUrlBloomFilter implements ApplicationRunner, MessageListener {
+
+    private static final int SCAN_FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final StringRedisTemplate redisTemplate;
+
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final String channel;
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter building;
+    // Highest urls.id read by the previous poll (next poll starts here) and by the latest one
+    private long catchUpFromId;
+    private long lastSeenId;
+    private final Counter rejections;
+
+    public ShortUrlBloomFilter(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               StringRedisTemplate redisTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${url.bloom-filter.enabled:true}") boolean enabled,
+                               @Value("${url.bloom-filter.expected-insertions:1000000}") long expectedInsertions,
+                               @Value("${url.bloom-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                               @Value("${url.bloom-filter.channel:url-created}") String channel) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.channel = channel;
+
+        this.rejections = Counter.builder("url.bloom.rejections")
+                .description("Lookups rejected as definitely unknown short codes")
+                .register(meterRegistry);
+        meterRegistry.gauge("url.bloom.memory.bytes", this, filter -> filter.current != null ? filter.current.bitSize() / 8.0 : 0);
+        meterRegistry.gauge("url.bloom.elements", this, filter -> filter.current != null ? filter.current.insertions() : 0);
+        meterRegistry.gauge("url.bloom.fpp.configured", this, filter -> filter.falsePositiveRate);
+        meterRegistry.gauge("url.bloom.fpp.expected", this,
+                filter -> filter.current != null ? filter.current.expectedFalsePositiveRate() : 0);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        buildIfMissing();
+    }
+
+    /**
+     * @return false only if the short code was definitely never created
+     */
+    public boolean mightContain(String shortUrl) {
+        BloomFilter filter = current;
+        if (filter == null || filter.mightContain(shortUrl)) {
+            return true;
+        }
+        rejections.increment();
+        return false;
+    }
+
+    /**
+     * Registers a newly created short code on this instance and broadcasts it to the others.
+     */
+    public void add(String shortUrl) {
+        if (!enabled) {
+            return;
+        }
+        addLocal(shortUrl);
+        try {
+            redisTemplate.convertAndSend(channel, shortUrl);
+        } catch (Exception e) {
+            // Other instances pick the code up on their next rebuild
+            log.warn("Failed to publish created short code {}", shortUrl, e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        if (enabled) {
+            addLocal(new String(message.getBody(), StandardCharsets.UTF_8));
+        }
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    /**
+     * Retries the initial build while the urls table could not be read yet.
+     */
+    @Scheduled(fixedDelayString = "${url.bloom-filter.retry-interval:PT30S}",
+               initialDelayString = "${url.bloom-filter.retry-interval:PT30S}")
+    public void buildIfMissing() {
+        if (current != null) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (DataAccessException e) {
+            log.warn("Could not build the short URL Bloom filter yet, all codes are allowed until it is built: {}",
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Adds codes created on other instances whose url-created message never arrived.
+     */
+    @Scheduled(fixedDelayString = "${url.bloom-filter.catch-up-interval:PT5S}",
+               initialDelayString = "${url.bloom-filter.catch-up-interval:PT5S}")
+    public synchronized void catchUp() {
+        BloomFilter filter = current;
+        if (!enabled || filter == null) {
+            return;
+        }
+        long[] maxId = {lastSeenId};
+        try {
+            jdbcTemplate.query("SELECT short_url, id FROM urls WHERE id > ?",
+                    rs -> {
+                        filter.put(rs.getString(1));
+                        maxId[0] = Math.max(maxId[0], rs.getLong(2));
+                    },
+                    catchUpFromId);
+        } catch (DataAccessException e) {
+            log.warn("Could not add new short codes to the Bloom filter: {}", e.getMessage());
+            return;
+        }
+        catchUpFromId = lastSeenId;
+        lastSeenId = maxId[0];
+    }
+
+    @Scheduled(fixedDelayString = "${url.bloom-filter.rebuild-interval:PT6H}",
+               initialDelayString = "${url.bloom-filter.rebuild-interval:PT6H}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        LocalDateTime scanStart = LocalDateTime.now();
+        Long rowCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM urls", Long.class);
+        BloomFilter filter = new BloomFilter(Math.max(expectedInsertions, rowCount * 2), falsePositiveRate);
+
+        // Codes created while the table is being scanned are added to both filters
+        building = filter;
+        long[] maxId = {0};
+        try {
+            // PostgreSQL only streams with a fetch size inside a transaction
+            readOnlyTransaction.executeWithoutResult(status ->
+                    jdbcTemplate.query(connection -> {
+                        PreparedStatement statement = connection.prepareStatement("SELECT short_url, id FROM urls");
+                        statement.setFetchSize(SCAN_FETCH_SIZE);
+                        return statement;
+                    }, rs -> {
+                        filter.put(rs.getString(1));
+                        maxId[0] = Math.max(maxId[0], rs.getLong(2));
+                    }));
+            current = filter;
+        } finally {
+            building = null;
+        }
+        // Rows whose transaction committed after the scan snapshot were added to the old
+        // filter only; pick them up again now that the new filter is live
+        jdbcTemplate.query("SELECT short_url FROM urls WHERE created_at >= ?",
+                rs -> {
+                    filter.put(rs.getString(1));
+                },
+                scanStart.minusMinutes(1));
+        catchUpFromId = maxId[0];
+        lastSeenId = maxId[0];
+        log.info("Built short URL Bloom filter: {} codes, {} KB, {} hash functions in {} ms",
+                filter.insertions(), filter.bitSize() / 8 / 1024, filter.hashFunctions(),
+                System.currentTimeMillis() - start);
+    }
+
+    private void addLocal(String shortUrl) {
+        BloomFilter filter = current;
+        if (filter != null) {
+            filter.put(shortUrl);
+        }
+        BloomFilter pending = building;
+        if (pending != null) {
+            pending.put(shortUrl);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.urlshortener.service.counter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Collects clicks on redirects that the api-gateway answered from cache.
+ *
+ * WHY THIS EXISTS:
+ * - The gateway's EdgeRedirectFilter writes the 302 itself, so those redirects never
+ *   reach RedirectController and would be missing from urls.click_count
+ *
+ * HOW IT WORKS:
+ * - The gateway does HINCRBY {url.clicks.edge-key} {shortCode} 1 per served redirect
+ * - Every url.clicks.edge-drain-interval-ms one instance takes the whole hash in a single
+ *   script (HGETALL + DEL), so each click is collected by exactly one url-service instance
+ * - The counts go into WriteBehindClickCounter and are flushed with the local clicks
+ *
+ * METRICS:
+ * - url.clicks.edge.collected: clicks taken from the gateway's hash
+ */
+@Slf4j
+@Component
+public class EdgeClickCollector {
+
+    private static final RedisScript<List> TAKE_ALL = new DefaultRedisScript<>(
+            "local clicks = redis.call('HGETALL', KEYS[1]) redis.call('DEL', KEYS[1]) return clicks",
+            List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final WriteBehindClickCounter clickCounter;
+    private final Counter collected;
+
+    @Value("${url.clicks.edge-key:urlshortener:clicks:edge}")
+    private String edgeKey;
+
+    public EdgeClickCollector(StringRedisTemplate redisTemplate,
+                              WriteBehindClickCounter clickCounter,
+                              MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.clickCounter = clickCounter;
+        this.collected = Counter.builder("url.clicks.edge.collected")
+                .description("Clicks on redirects answered by the api-gateway")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${url.clicks.edge-drain-interval-ms:1000}")
+    public void collect() {
+        List<?> clicks;
+        try {
+            clicks = redisTemplate.execute(TAKE_ALL, List.of(edgeKey));
+        } catch (Exception e) {
+            // Nothing was taken; the gateway keeps counting into the hash
+            log.warn("Failed to collect edge clicks", e);
+            return;
+        }
+        if (clicks == null) {
+            return;
+        }
+
+        // HGETALL reply: field, value, field, value, ...
+        for (int i = 0; i + 1 < clicks.size(); i += 2) {
+            String shortUrl = String.valueOf(clicks.get(i));
+            long count = Long.parseLong(String.valueOf(clicks.get(i + 1)));
+            clickCounter.add(shortUrl, count);
+            collected.increment(count);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.urlshortener.service.counter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind counter for the urls.click_count column.
+ *
+ * WHY THIS EXISTS:
+ * - Every redirect ran UPDATE urls SET click_count = click_count + 1 in its own
+ *   transaction, so a viral link's row became a hot spot: each redirect waited on
+ *   the same row lock
+ *
+ * HOW IT WORKS:
+ * - Redirects only bump an in-memory LongAdder per short code (no DB, no lock)
+ * - Every url.clicks.flush-interval-ms the deltas are drained and written as ONE
+ *   JDBC batch: UPDATE urls SET click_count = click_count + ? WHERE short_url = ?
+ * - A failed flush puts its deltas back; pending deltas are flushed once more on shutdown
+ *
+ * Trade-off: click_count lags by up to one flush interval, and a crash loses the
+ * unflushed deltas. Click events in analytics-service remain the source of truth.
+ *
+ * METRICS:
+ * - url.clicks.flush.rows / url.clicks.flush.clicks: batch size per flush
+ * - url.clicks.flush.duration, url.clicks.flush.lag (ms since the last successful flush)
+ * - url.clicks.pending.urls: short codes waiting to be flushed
+ */
+@Slf4j
+@Component
+public class WriteBehindClickCounter {
+
+    private static final String INCREMENT_SQL =
+            "UPDATE urls SET click_count = click_count + ? WHERE short_url = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, PendingClicks> pending = new ConcurrentHashMap<>();
+    private final AtomicLong lastFlushMillis = new AtomicLong(System.currentTimeMillis());
+
+    private final DistributionSummary flushRows;
+    private final DistributionSummary flushClicks;
+    private final Timer flushDuration;
+
+    public WriteBehindClickCounter(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushRows = DistributionSummary.builder("url.clicks.flush.rows")
+                .description("Rows updated per click-count flush")
+                .register(meterRegistry);
+        this.flushClicks = DistributionSummary.builder("url.clicks.flush.clicks")
+                .description("Clicks written per click-count flush")
+                .register(meterRegistry);
+        this.flushDuration = Timer.builder("url.clicks.flush.duration")
+                .description("Time spent writing a click-count batch")
+                .register(meterRegistry);
+        meterRegistry.gauge("url.clicks.flush.lag", this,
+                counter -> System.currentTimeMillis() - counter.lastFlushMillis.get());
+        meterRegistry.gauge("url.clicks.pending.urls", pending, Map::size);
+    }
+
+    public void increment(String shortUrl) {
+        add(shortUrl, 1);
+    }
+
+    /**
+     * Adds clicks counted elsewhere (e.g. redirects answered by the api-gateway).
+     */
+    public void add(String shortUrl, long clicks) {
+        while (clicks > 0) {
+            PendingClicks counter = pending.computeIfAbsent(shortUrl, key -> new PendingClicks());
+            counter.clicks.add(clicks);
+            if (!counter.retired) {
+                return;
+            }
+            // drain() retired this counter and may have summed it before our add landed.
+            // Take back whatever it missed (each click is taken exactly once) and retry
+            clicks = counter.clicks.sumThenReset();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${url.clicks.flush-interval-ms:1000}")
+    public void flush() {
+        List<Object[]> batch = drain();
+        if (batch.isEmpty()) {
+            lastFlushMillis.set(System.currentTimeMillis());
+            return;
+        }
+
+        try {
+            flushDuration.record(() -> jdbcTemplate.batchUpdate(INCREMENT_SQL, batch));
+            flushRows.record(batch.size());
+            flushClicks.record(batch.stream().mapToLong(row -> (Long) row[0]).sum());
+            lastFlushMillis.set(System.currentTimeMillis());
+        } catch (Exception e) {
+            // Put the deltas back so the next flush retries them
+            log.error("Failed to flush {} click counts, will retry", batch.size(), e);
+            batch.forEach(row -> add((String) row[1], (Long) row[0]));
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flushing pending click counts before shutdown");
+        flush();
+    }
+
+    /**
+     * Takes the current delta of every counter. Counters that saw no clicks since the
+     * previous flush are removed, so the map only holds recently clicked links.
+     *
+     * A removed counter is marked retired BEFORE its final sum. An add() that still
+     * reached it either happened before that sum (and is collected here) or sees the
+     * flag afterwards and re-adds its clicks to a fresh counter.
+     */
+    private List<Object[]> drain() {
+        List<Object[]> batch = new ArrayList<>();
+        pending.forEach((shortUrl, counter) -> {
+            long delta = counter.clicks.sumThenReset();
+            if (delta == 0 && pending.remove(shortUrl, counter)) {
+                counter.retired = true;
+                delta = counter.clicks.sumThenReset();
+            }
+            if (delta > 0) {
+                batch.add(new Object[]{delta, shortUrl});
+            }
+        });
+        return batch;
+    }
+
+    private static final class PendingClicks {
+        private final LongAdder clicks = new LongAdder();
+        private volatile boolean retired;
+    }
+}
@@ -1,8 +1,11 @@
 package com.urlshortener.service.generator;
 
-import org.springframework.beans.factory.annotation.Value;
+import com.urlshortener.util.Base62;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
 
 /**
  * Problem with SimpleCounterGenerator: Why Do We Need a Distributed URL Shortener?
@@ -70,7 +73,8 @@ User C (Europe) → Load Balancer → Server 2
 Result: short.url/Kp7C4z → twitter.com
  * 
  * Distributed sequence generator implementation based on Twitter's Snowflake algorithm.
- * Thread-safe and suitable for distributed systems. AtomicInteger and synchronized are used to ensure thread safety.
+ * Thread-safe and suitable for distributed systems. AtomicInteger and a ReentrantLock are used to ensure thread safety.
+ * (A ReentrantLock rather than synchronized: a virtual thread waiting on a monitor pins its carrier thread.)
  * Pros:
  * 1. Works across multiple servers 
  * 2. Uses a base62 encoding scheme to generate the short URL
@@ -99,32 +103,55 @@ Result: short.url/Kp7C4z → twitter.com
 
 @Component
 public class DistributedSequenceGenerator implements UrlGeneratorStrategy {
-    private static final String CHARACTERS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
-    private static final int BASE = CHARACTERS.length();
-    
-    private final int nodeId; // 10 bits = 1024 nodes // supports 1024 different nodes
+    private final IntSupplier nodeId; // 10 bits = 1024 nodes // supports 1024 different nodes
+    private final SnowflakeLayout layout;
     private final AtomicInteger sequence; // 12 bits = 4096 sequences // can handle 4096 URLS per millisecond per node
     private long lastTimestamp;
+    private final ReentrantLock lock = new ReentrantLock();
 
-    public DistributedSequenceGenerator(@Value("${url.generator.node-id:1}") int nodeId) {
-        if (nodeId < 0 || nodeId > 1023) {
-            throw new IllegalArgumentException("Node ID must be between 0 and 1023");
-        }
-        this.nodeId = nodeId;
+    // Configured or leased node ID (url.generator.node-id-mode), configured bit layout
+    @Autowired
+    public DistributedSequenceGenerator(NodeIdLease nodeIdLease, SnowflakeLayout layout) {
+        this.nodeId = nodeIdLease::nodeId;
+        this.layout = layout;
+        this.sequence = new AtomicInteger(0);
+        this.lastTimestamp = 0L;
+    }
+
+    public DistributedSequenceGenerator(int nodeId) {
+        this(nodeId, SnowflakeLayout.DEFAULT);
+    }
+
+    public DistributedSequenceGenerator(int nodeId, SnowflakeLayout layout) {
+        layout.validateNodeId(nodeId);
+        this.nodeId = () -> nodeId;
+        this.layout = layout;
         this.sequence = new AtomicInteger(0);
         this.lastTimestamp = 0L;
     }
 
     @Override
-    public synchronized String generateShortUrl() {
-        long timestamp = System.currentTimeMillis();
+    public String generateShortUrl() {
+        long id;
+        lock.lock();
+        try {
+            id = nextId();
+        } finally {
+            lock.unlock();
+        }
+        return Base62.encode(id);
+    }
+
+    private long nextId() {
+        int node = nodeId.getAsInt();
+        long timestamp = layout.timestamp(System.currentTimeMillis());
         
         if (timestamp == lastTimestamp) {
             sequence.incrementAndGet();
-            if (sequence.get() >= 4096) {
+            if (sequence.get() > layout.maxSequence()) {
                 // Wait until next millisecond
                 while (timestamp == lastTimestamp) {
-                    timestamp = System.currentTimeMillis();
+                    timestamp = layout.timestamp(System.currentTimeMillis());
                 }
                 sequence.set(0);
             }
@@ -134,24 +161,7 @@ public class DistributedSequenceGenerator implements UrlGeneratorStrategy {
         
         lastTimestamp = timestamp;
         
-        // Combine bits: timestamp (42) + nodeId (10) + sequence (12) = 64 bits
-        long id = ((timestamp & 0x1FFFFFFFFFFFL) << 22) | 
-                 ((nodeId & 0x3FF) << 12) | 
-                 (sequence.get() & 0xFFF);
-                 
-        return base62Encode(id);
-    }
-
-    private String base62Encode(long number) {
-        if (number == 0) {
-            return String.valueOf(CHARACTERS.charAt(0));
-        }
-
-        StringBuilder shortUrl = new StringBuilder();
-        while (number > 0) {
-            shortUrl.insert(0, CHARACTERS.charAt((int)(number % (long)BASE)));
-            number = number / BASE;
-        }
-        return shortUrl.toString();
+        // Combine bits: timestamp (42) + nodeId (10) + sequence (12) = 64 bits, or the configured layout
+        return layout.compose(timestamp, node, sequence.get());
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,118 @@
+package com.urlshortener.service.generator;
+
+import com.urlshortener.util.Base62;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake generator without a lock, same ID layout as DistributedSequenceGenerator
+ * (SnowflakeLayout, by default):
+ *    - 41 bits for timestamp
+ *    - 10 bits for nodeId
+ *    - 12 bits for sequence
+ *
+ * Problem with DistributedSequenceGenerator under bulk creation:
+ * - Every call takes the same lock, so threads queue up behind each other
+ * - When the 4096 sequences of a millisecond run out, the lock holder busy-spins on
+ *   System.currentTimeMillis() while everyone else waits
+ *
+ * Solution: the last timestamp and sequence are packed into ONE AtomicLong
+ *   state = (timestamp << sequence bits) | sequence
+ * and each call advances it with compareAndSet. A failed CAS means another thread took
+ * that ID, so the call simply retries with the new state. Nothing ever blocks.
+ *
+ * Edge cases:
+ * 1. Millisecond exhausted (sequence 4095 used) → park until the next millisecond
+ * 2. Clock moved backwards by up to max-clock-backward-ms (NTP slew) → keep issuing IDs
+ *    from the last timestamp, so IDs never go backwards or repeat
+ * 3. Clock moved backwards further → IllegalStateException instead of risking duplicates
+ */
+@Component
+public class LockFreeSequenceGenerator implements UrlGeneratorStrategy {
+    private static final long EXHAUSTED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final IntSupplier nodeId;
+    private final SnowflakeLayout layout;
+    private final int sequenceBits;
+    private final long maxSequence;
+    private final long maxClockBackwardMillis;
+    private final LongSupplier clock;
+    private final AtomicLong state = new AtomicLong();
+
+    // Configured or leased node ID (url.generator.node-id-mode), configured bit layout
+    @Autowired
+    public LockFreeSequenceGenerator(NodeIdLease nodeIdLease,
+                                     SnowflakeLayout layout,
+                                     @Value("${url.generator.max-clock-backward-ms:5}") long maxClockBackwardMillis) {
+        this(nodeIdLease::nodeId, layout, maxClockBackwardMillis, System::currentTimeMillis);
+    }
+
+    public LockFreeSequenceGenerator(int nodeId, long maxClockBackwardMillis) {
+        this(nodeId, maxClockBackwardMillis, System::currentTimeMillis);
+    }
+
+    LockFreeSequenceGenerator(int nodeId, long maxClockBackwardMillis, LongSupplier clock) {
+        this(nodeId, SnowflakeLayout.DEFAULT, maxClockBackwardMillis, clock);
+    }
+
+    LockFreeSequenceGenerator(int nodeId, SnowflakeLayout layout, long maxClockBackwardMillis, LongSupplier clock) {
+        this(validNodeId(nodeId, layout), layout, maxClockBackwardMillis, clock);
+    }
+
+    private LockFreeSequenceGenerator(IntSupplier nodeId, SnowflakeLayout layout,
+                                      long maxClockBackwardMillis, LongSupplier clock) {
+        this.nodeId = nodeId;
+        this.layout = layout;
+        this.sequenceBits = layout.sequenceBits();
+        this.maxSequence = layout.maxSequence();
+        this.maxClockBackwardMillis = maxClockBackwardMillis;
+        this.clock = clock;
+    }
+
+    private static IntSupplier validNodeId(int nodeId, SnowflakeLayout layout) {
+        layout.validateNodeId(nodeId);
+        return () -> nodeId;
+    }
+
+    @Override
+    public String generateShortUrl() {
+        return Base62.encode(nextId());
+    }
+
+    long nextId() {
+        long node = nodeId.getAsInt();
+        while (true) {
+            long current = state.get();
+            long lastTimestamp = current >>> sequenceBits;
+            long now = layout.timestamp(clock.getAsLong());
+
+            long next;
+            if (now > lastTimestamp) {
+                next = now << sequenceBits;
+            } else {
+                if (lastTimestamp - now > maxClockBackwardMillis) {
+                    throw new IllegalStateException("Clock moved backwards by "
+                            + (lastTimestamp - now) + " ms, refusing to generate IDs");
+                }
+                if ((current & maxSequence) == maxSequence) {
+                    // Sequence exhausted: park in short slices until the clock passes
+                    // lastTimestamp (parking a whole millisecond overshoots the boundary)
+                    LockSupport.parkNanos(EXHAUSTED_PARK_NANOS);
+                    continue;
+                }
+                next = current + 1;
+            }
+
+            if (state.compareAndSet(current, next)) {
+                return layout.compose(next >>> sequenceBits, node, next & maxSequence);
+            }
+        }
+    }
+}
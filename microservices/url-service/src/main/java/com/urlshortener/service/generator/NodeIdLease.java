@@ -0,0 +1,172 @@
+package com.urlshortener.service.generator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Node ID for the Snowflake generators (DistributedSequenceGenerator, LockFreeSequenceGenerator).
+ *
+ * Two instances with the same node ID generate identical codes in the same millisecond.
+ * With url.generator.node-id-mode=STATIC the ID is hand-configured (url.generator.node-id);
+ * with LEASED every instance claims a free one from generator_node_leases instead:
+ *
+ * 1. Startup: claim the lowest node ID whose lease has expired and that fits the
+ *    SnowflakeLayout's node bits (FOR UPDATE SKIP LOCKED, so instances starting
+ *    together never claim the same row)
+ * 2. Heartbeat: extend expires_at; zero rows updated means another instance took it over
+ * 3. Shutdown: expire the lease right away so the ID is free for the next instance
+ *
+ * The lease is only trusted until the last successful claim/renewal plus the lease TTL,
+ * measured from before the statement ran. Past that point another instance may already
+ * own the ID, so nodeId() throws and generation is refused until the heartbeat claims a
+ * lease again (possibly a different ID).
+ */
+@Slf4j
+@Component
+public class NodeIdLease {
+
+    private static final String CLAIM_SQL =
+            "UPDATE generator_node_leases SET owner = ?, expires_at = now() + ? * INTERVAL '1 millisecond' "
+            + "WHERE node_id = (SELECT node_id FROM generator_node_leases "
+            + "WHERE expires_at < now() AND node_id < ? ORDER BY node_id LIMIT 1 FOR UPDATE SKIP LOCKED) "
+            + "RETURNING node_id";
+    private static final String RENEW_SQL =
+            "UPDATE generator_node_leases SET expires_at = now() + ? * INTERVAL '1 millisecond' "
+            + "WHERE node_id = ? AND owner = ?";
+    private static final String RELEASE_SQL =
+            "UPDATE generator_node_leases SET owner = NULL, expires_at = now() WHERE node_id = ? AND owner = ?";
+
+    private static final int NO_LEASE = -1;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NodeIdMode mode;
+    private final int maxNodes;
+    private final int staticNodeId;
+    private final Duration leaseTtl;
+    private final LongSupplier nanoClock;
+    private final String owner = System.getenv().getOrDefault("HOSTNAME", "url-shortener")
+            + "-" + UUID.randomUUID();
+
+    private volatile int nodeId = NO_LEASE;
+    private volatile long validUntilNanos;
+    private final Counter leasesLost;
+
+    @Autowired
+    public NodeIdLease(JdbcTemplate jdbcTemplate,
+                       MeterRegistry meterRegistry,
+                       SnowflakeLayout layout,
+                       @Value("${url.generator.node-id-mode:STATIC}") NodeIdMode mode,
+                       @Value("${url.generator.node-id:1}") int staticNodeId,
+                       @Value("${url.generator.node-id-lease.ttl:PT30S}") Duration leaseTtl) {
+        this(jdbcTemplate, meterRegistry, layout, mode, staticNodeId, leaseTtl, System::nanoTime);
+    }
+
+    NodeIdLease(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry, SnowflakeLayout layout, NodeIdMode mode,
+                int staticNodeId, Duration leaseTtl, LongSupplier nanoClock) {
+        if (mode == NodeIdMode.STATIC) {
+            layout.validateNodeId(staticNodeId);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.mode = mode;
+        this.maxNodes = layout.maxNodes();
+        this.staticNodeId = staticNodeId;
+        this.leaseTtl = leaseTtl;
+        this.nanoClock = nanoClock;
+        this.leasesLost = Counter.builder("url.generator.node-lease.lost")
+                .description("Node ID leases lost or expired before renewal")
+                .register(meterRegistry);
+        meterRegistry.gauge("url.generator.node-lease.node-id", this, lease -> lease.nodeId);
+    }
+
+    /**
+     * @return the node ID this instance may generate with
+     * @throws IllegalStateException if no valid lease is held
+     */
+    public int nodeId() {
+        if (mode == NodeIdMode.STATIC) {
+            return staticNodeId;
+        }
+        int current = nodeId;
+        if (current == NO_LEASE || nanoClock.getAsLong() - validUntilNanos >= 0) {
+            throw new IllegalStateException("No valid node ID lease, refusing to generate IDs");
+        }
+        return current;
+    }
+
+    @PostConstruct
+    public void claim() {
+        if (mode != NodeIdMode.LEASED) {
+            return;
+        }
+        long start = nanoClock.getAsLong();
+        List<Integer> claimed = jdbcTemplate.queryForList(CLAIM_SQL, Integer.class,
+                owner, leaseTtl.toMillis(), maxNodes);
+        if (claimed.isEmpty()) {
+            throw new IllegalStateException("All " + maxNodes + " node IDs are leased");
+        }
+        validUntilNanos = start + leaseTtl.toNanos();
+        nodeId = claimed.get(0);
+        log.info("Leased node ID {} as {} for {}", nodeId, owner, leaseTtl);
+    }
+
+    @Scheduled(fixedDelayString = "${url.generator.node-id-lease.heartbeat:PT10S}",
+               initialDelayString = "${url.generator.node-id-lease.heartbeat:PT10S}")
+    public void renew() {
+        if (mode != NodeIdMode.LEASED) {
+            return;
+        }
+        try {
+            int current = nodeId;
+            if (current != NO_LEASE) {
+                long start = nanoClock.getAsLong();
+                if (jdbcTemplate.update(RENEW_SQL, leaseTtl.toMillis(), current, owner) == 1) {
+                    validUntilNanos = start + leaseTtl.toNanos();
+                    return;
+                }
+                nodeId = NO_LEASE;
+                leasesLost.increment();
+                log.error("Lost the lease on node ID {}, claiming a new one", current);
+            }
+            claim();
+        } catch (Exception e) {
+            // nodeId() starts refusing once the current lease runs out
+            log.error("Failed to renew node ID lease", e);
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        int current = nodeId;
+        if (mode != NodeIdMode.LEASED || current == NO_LEASE) {
+            return;
+        }
+        nodeId = NO_LEASE;
+        try {
+            jdbcTemplate.update(RELEASE_SQL, current, owner);
+            log.info("Released node ID {}", current);
+        } catch (Exception e) {
+            log.warn("Failed to release node ID {}; it becomes free when the lease expires", current, e);
+        }
+    }
+
+    /**
+     * Where the node ID comes from.
+     */
+    public enum NodeIdMode {
+        STATIC,
+        LEASED
+    }
+}
@@ -0,0 +1,212 @@
+package com.urlshortener.service.generator;
+
+import com.urlshortener.util.Base62;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * ID generator that leases blocks of IDs from PostgreSQL and hands them out in memory.
+ *
+ * Problems with the other strategies:
+ * - DistributedSequenceGenerator needs a unique, hand-configured node-id per instance
+ *   and is bounded by 4096 IDs per millisecond
+ * - SimpleCounterGenerator restarts at 1,000,000 after every reboot and collides with
+ *   codes it issued before
+ *
+ * Solution:
+ * 1. One row per ID space in id_block_leases (auth-service's Liquibase changelog owns the
+ *    shared schema); leasing a block is a single statement
+ *      UPDATE id_block_leases SET next_id = next_id + blockSize ... RETURNING the old value
+ *    so every instance gets a disjoint range without knowing about the others
+ * 2. IDs within the block are handed out with AtomicLong.getAndIncrement (no lock,
+ *    no clock)
+ * 3. Once the prefetch threshold of a block is used, the next block is leased on a
+ *    background thread, so the hot path normally never waits for the DB
+ * 4. Only switching to the next block takes a lock (once per block)
+ * 5. Bulk creation takes a whole run of IDs from the block with one getAndAdd,
+ *    instead of one getAndIncrement and threshold check per code
+ *
+ * IDs start at 62^5, so every code is at least 6 characters: shorter than Snowflake
+ * codes (11 characters) and above anything SimpleCounterGenerator issues in practice.
+ * IDs left in a block at shutdown are skipped, never reused.
+ */
+@Slf4j
+@Component
+public class RangeLeaseGenerator implements UrlGeneratorStrategy {
+    private static final String LEASE_SQL =
+            "UPDATE id_block_leases SET next_id = next_id + ? WHERE name = ? RETURNING next_id - ?";
+
+    private final LongSupplier leaseSource;
+    private final long blockSize;
+    private final long prefetchOffset;
+    private final ReentrantLock switchLock = new ReentrantLock();
+    private final ExecutorService prefetchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "IdBlockPrefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Block current = new Block(0, 0, 0);
+    private volatile CompletableFuture<Block> prefetched;
+
+    private final Counter blocksLeased;
+    private final Timer blockWait;
+
+    @Autowired
+    public RangeLeaseGenerator(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${url.generator.range-lease.name:urls}") String leaseName,
+                               @Value("${url.generator.range-lease.block-size:10000}") long blockSize,
+                               @Value("${url.generator.range-lease.prefetch-threshold:0.8}") double prefetchThreshold) {
+        this(leaseSource(jdbcTemplate, transactionManager, leaseName, blockSize),
+                meterRegistry, blockSize, prefetchThreshold);
+    }
+
+    RangeLeaseGenerator(LongSupplier leaseSource, MeterRegistry meterRegistry, long blockSize, double prefetchThreshold) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        if (prefetchThreshold <= 0 || prefetchThreshold > 1) {
+            throw new IllegalArgumentException("Prefetch threshold must be in (0, 1]");
+        }
+        this.leaseSource = leaseSource;
+        this.blockSize = blockSize;
+        this.prefetchOffset = Math.min(blockSize - 1, (long) (blockSize * prefetchThreshold));
+        this.blocksLeased = Counter.builder("url.generator.lease.blocks")
+                .description("ID blocks leased from the database")
+                .register(meterRegistry);
+        this.blockWait = Timer.builder("url.generator.lease.wait")
+                .description("Time generation waited for the next ID block")
+                .register(meterRegistry);
+        meterRegistry.gauge("url.generator.lease.remaining", this, generator -> generator.current.remaining());
+    }
+
+    // Own transaction: a lease must stay committed even if the caller's transaction rolls back
+    private static LongSupplier leaseSource(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                            String leaseName, long blockSize) {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return () -> requiresNew.execute(status ->
+                jdbcTemplate.queryForObject(LEASE_SQL, Long.class, blockSize, leaseName, blockSize));
+    }
+
+    @Override
+    public String generateShortUrl() {
+        return Base62.encode(nextId());
+    }
+
+    @Override
+    public List<String> generateShortUrls(int count) {
+        List<String> shortUrls = new ArrayList<>(count);
+        while (shortUrls.size() < count) {
+            Block block = current;
+            long wanted = count - shortUrls.size();
+            long first = block.next.getAndAdd(wanted);
+            long end = Math.min(first + wanted, block.end);
+            for (long id = first; id < end; id++) {
+                shortUrls.add(Base62.encode(id));
+            }
+            // Ranges taken from a block are disjoint, so exactly one caller's range holds the threshold ID
+            long threshold = block.start + prefetchOffset;
+            if (first <= threshold && threshold < end) {
+                prefetch();
+            }
+            if (first + wanted > block.end) {
+                switchBlock(block);
+            }
+        }
+        return shortUrls;
+    }
+
+    long nextId() {
+        while (true) {
+            Block block = current;
+            long id = block.next.getAndIncrement();
+            if (id < block.end) {
+                // Exactly one caller sees the threshold ID
+                if (id == block.start + prefetchOffset) {
+                    prefetch();
+                }
+                return id;
+            }
+            switchBlock(block);
+        }
+    }
+
+    private void prefetch() {
+        prefetched = CompletableFuture.supplyAsync(this::lease, prefetchExecutor);
+    }
+
+    private void switchBlock(Block exhausted) {
+        switchLock.lock();
+        try {
+            if (current != exhausted) {
+                return;
+            }
+            current = blockWait.record(this::takePrefetched);
+        } finally {
+            switchLock.unlock();
+        }
+    }
+
+    private Block takePrefetched() {
+        CompletableFuture<Block> pending = prefetched;
+        prefetched = null;
+        if (pending != null) {
+            try {
+                return pending.join();
+            } catch (RuntimeException e) {
+                log.warn("Prefetching the next ID block failed, leasing synchronously", e);
+            }
+        }
+        return lease();
+    }
+
+    private Block lease() {
+        long start = leaseSource.getAsLong();
+        blocksLeased.increment();
+        log.debug("Leased ID block [{}, {})", start, start + blockSize);
+        return new Block(start, start + blockSize, start);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        prefetchExecutor.shutdownNow();
+    }
+
+    private static final class Block {
+        private final long start;
+        private final long end;
+        private final AtomicLong next;
+
+        private Block(long start, long end, long next) {
+            this.start = start;
+            this.end = end;
+            this.next = new AtomicLong(next);
+        }
+
+        private long remaining() {
+            return Math.max(0, end - next.get());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.urlshortener.service.generator;
 
+import com.urlshortener.util.Base62;
 import org.springframework.stereotype.Component;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -23,29 +24,21 @@ import java.util.concurrent.atomic.AtomicLong;
  * Cons:
  * 1. Not suitable for distributed systems
  * 2. No time information is stored in the short URL
+ * 3. Restarts at 1,000,000 after every reboot, so the first creates after a restart
+ *    collide with existing codes until the counter passes them (see mayRepeatCodes)
  */
 @Component
 public class SimpleCounterGenerator implements UrlGeneratorStrategy {
-    private static final String CHARACTERS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
-    private static final int BASE = CHARACTERS.length();
     private final AtomicLong counter = new AtomicLong(1000000); // Start from 1 million
 
     @Override
     public String generateShortUrl() {
         long number = counter.getAndIncrement();
-        return base62Encode(number);
+        return Base62.encode(number);
     }
 
-    private String base62Encode(long number) {
-        if (number == 0) {
-            return String.valueOf(CHARACTERS.charAt(0));
-        }
-
-        StringBuilder shortUrl = new StringBuilder();
-        while (number > 0) {
-            shortUrl.insert(0, CHARACTERS.charAt((int) (number % BASE)));
-            number = number / BASE;
-        }
-        return shortUrl.toString();
+    @Override
+    public boolean mayRepeatCodes() {
+        return true;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,140 @@
+package com.urlshortener.service.generator;
+
+import com.urlshortener.util.Base62;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+/**
+ * Bit layout of Snowflake IDs: [timestamp | node | sequence], timestamp in milliseconds
+ * since a custom epoch.
+ *
+ * The code length is the Base62 length of the ID, so it grows with the timestamp value:
+ * - Default (Unix epoch, 41/10/12 bits): ~1.7e12 ms << 22 → 11 characters today,
+ *   and the 41 timestamp bits run out in 2039
+ * - Epoch = go-live date, 4 node bits, 8 sequence bits (16 nodes, 256 IDs/ms each):
+ *   7 characters for the first 10 days, 8 for ~1.7 years, then 9 for about a century
+ *
+ * Fewer node/sequence bits mean fewer instances and IDs per millisecond; fewer timestamp
+ * bits mean the layout runs out sooner. The configured layout is rejected at startup
+ * unless its timestamp lasts for url.generator.layout.lifetime-years from now.
+ *
+ * Switching an existing deployment to a shorter layout is safe: the new codes are shorter
+ * than the 11-character ones already issued, so they cannot equal them. Any other
+ * collision after a layout change is caught by the unique index and retried.
+ */
+@Slf4j
+@Component
+public class SnowflakeLayout {
+
+    /** Layout of IDs issued before it became configurable */
+    public static final SnowflakeLayout DEFAULT = new SnowflakeLayout(0L, 41, 10, 12);
+
+    static final int MAX_NODE_BITS = 10;
+
+    private final long epochMillis;
+    private final int timestampBits;
+    private final int nodeBits;
+    private final int sequenceBits;
+    private final long maxTimestamp;
+
+    @Autowired
+    public SnowflakeLayout(@Value("${url.generator.layout.epoch:1970-01-01T00:00:00Z}") Instant epoch,
+                           @Value("${url.generator.layout.timestamp-bits:41}") int timestampBits,
+                           @Value("${url.generator.layout.node-bits:10}") int nodeBits,
+                           @Value("${url.generator.layout.sequence-bits:12}") int sequenceBits,
+                           @Value("${url.generator.layout.lifetime-years:10}") int lifetimeYears) {
+        this(epoch.toEpochMilli(), timestampBits, nodeBits, sequenceBits);
+        validateLifetime(System.currentTimeMillis(), lifetimeYears);
+        log.info("Snowflake layout {}: codes up to {} characters, usable until {}",
+                this, maxCodeLength(), Instant.ofEpochMilli(exhaustedAtMillis()));
+    }
+
+    SnowflakeLayout(long epochMillis, int timestampBits, int nodeBits, int sequenceBits) {
+        if (timestampBits < 1 || nodeBits < 0 || sequenceBits < 0) {
+            throw new IllegalArgumentException("Snowflake bit widths must be positive");
+        }
+        if (nodeBits > MAX_NODE_BITS) {
+            throw new IllegalArgumentException("At most " + MAX_NODE_BITS + " node bits (one row per node ID in generator_node_leases)");
+        }
+        if (timestampBits + nodeBits + sequenceBits > 63) {
+            throw new IllegalArgumentException("Snowflake layout needs " + (timestampBits + nodeBits + sequenceBits)
+                    + " bits, at most 63 fit in a positive long");
+        }
+        this.epochMillis = epochMillis;
+        this.timestampBits = timestampBits;
+        this.nodeBits = nodeBits;
+        this.sequenceBits = sequenceBits;
+        this.maxTimestamp = (1L << timestampBits) - 1;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the epoch is in the future or the timestamp
+     *                                  overflows within lifetimeYears of nowMillis
+     */
+    void validateLifetime(long nowMillis, int lifetimeYears) {
+        if (nowMillis < epochMillis) {
+            throw new IllegalArgumentException("Snowflake epoch " + Instant.ofEpochMilli(epochMillis) + " is in the future");
+        }
+        long requiredUntil = Instant.ofEpochMilli(nowMillis).atOffset(ZoneOffset.UTC)
+                .plusYears(lifetimeYears).toInstant().toEpochMilli();
+        if (requiredUntil > exhaustedAtMillis()) {
+            throw new IllegalArgumentException("Snowflake layout " + this + " runs out of timestamps at "
+                    + Instant.ofEpochMilli(exhaustedAtMillis()) + ", within the required " + lifetimeYears
+                    + " years; use more timestamp bits or a later epoch");
+        }
+    }
+
+    /**
+     * @return milliseconds since the epoch, to be passed to {@link #compose}
+     * @throws IllegalStateException if the clock is outside the layout's range
+     */
+    public long timestamp(long nowMillis) {
+        long timestamp = nowMillis - epochMillis;
+        if (timestamp < 0 || timestamp > maxTimestamp) {
+            throw new IllegalStateException("Clock " + Instant.ofEpochMilli(nowMillis)
+                    + " is outside the Snowflake layout " + this + ", refusing to generate IDs");
+        }
+        return timestamp;
+    }
+
+    public long compose(long timestamp, long node, long sequence) {
+        return (timestamp << (nodeBits + sequenceBits)) | (node << sequenceBits) | sequence;
+    }
+
+    public int maxNodes() {
+        return 1 << nodeBits;
+    }
+
+    public long maxSequence() {
+        return (1L << sequenceBits) - 1;
+    }
+
+    public int sequenceBits() {
+        return sequenceBits;
+    }
+
+    public void validateNodeId(int nodeId) {
+        if (nodeId < 0 || nodeId >= maxNodes()) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + (maxNodes() - 1));
+        }
+    }
+
+    public long exhaustedAtMillis() {
+        return epochMillis + maxTimestamp;
+    }
+
+    public int maxCodeLength() {
+        return Base62.encode(compose(maxTimestamp, maxNodes() - 1, maxSequence())).length();
+    }
+
+    @Override
+    public String toString() {
+        return "[epoch=" + Instant.ofEpochMilli(epochMillis) + ", timestamp=" + timestampBits
+                + " bits, node=" + nodeBits + " bits, sequence=" + sequenceBits + " bits]";
+    }
+}
@@ -12,6 +12,8 @@ import org.springframework.stereotype.Component;
 public class UrlGeneratorFactory {
     private final DistributedSequenceGenerator distributedGenerator;
     private final SimpleCounterGenerator simpleGenerator;
+    private final LockFreeSequenceGenerator lockFreeGenerator;
+    private final RangeLeaseGenerator rangeLeaseGenerator;
 
     /**
      * Get the appropriate URL generator based on the strategy.
@@ -22,6 +24,8 @@ public class UrlGeneratorFactory {
         return switch (strategy) {
             case DISTRIBUTED -> distributedGenerator;
             case SIMPLE_COUNTER -> simpleGenerator;
+            case LOCK_FREE -> lockFreeGenerator;
+            case RANGE_LEASE -> rangeLeaseGenerator;
         };
     }
 
@@ -39,6 +43,18 @@ public class UrlGeneratorFactory {
          * Simple counter-based generator.
          * Suitable for single-node deployments.
          */
-        SIMPLE_COUNTER
+        SIMPLE_COUNTER,
+
+        /**
+         * Snowflake layout with lock-free (CAS) state.
+         * Suitable for high-concurrency and virtual-thread deployments.
+         */
+        LOCK_FREE,
+
+        /**
+         * Blocks of IDs leased from the database (id_block_leases).
+         * Suitable for multi-instance deployments without node-id configuration.
+         */
+        RANGE_LEASE
     }
 } 
\ No newline at end of file
@@ -1,5 +1,8 @@
 package com.urlshortener.service.generator;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Strategy interface for URL generation algorithms.
  * Implementations should provide thread-safe URL generation.
@@ -10,4 +13,28 @@ public interface UrlGeneratorStrategy {
      * @return A unique string to be used as the short URL
      */
     String generateShortUrl();
+
+    /**
+     * Whether this strategy can hand out a code that an existing row already uses
+     * (for example a counter that restarts after a reboot). Creation keeps retrying
+     * such collisions instead of giving up after a few attempts.
+     * @return true if generated codes may collide with existing ones
+     */
+    default boolean mayRepeatCodes() {
+        return false;
+    }
+
+    /**
+     * Generates several unique short URLs at once, for bulk creation.
+     * Strategies that can reserve a range of ids in one step should override this.
+     * @param count Number of short URLs to generate
+     * @return The generated short URLs, all distinct
+     */
+    default List<String> generateShortUrls(int count) {
+        List<String> shortUrls = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            shortUrls.add(generateShortUrl());
+        }
+        return shortUrls;
+    }
 } 
\ No newline at end of file
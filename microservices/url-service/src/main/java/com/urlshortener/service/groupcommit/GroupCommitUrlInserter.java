@@ -0,0 +1,220 @@
+package com.urlshortener.service.groupcommit;
+
+import com.urlshortener.model.Url;
+import com.urlshortener.repository.UrlBatchRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit for single URL creates.
+ *
+ * Problem: every createShortUrl call opens its own transaction for a one-row INSERT, so
+ * under load the DB spends its time on commits (one WAL flush each), not on rows.
+ *
+ * Solution:
+ * 1. Callers hand their row to a queue and wait on a future
+ * 2. One writer thread takes the first waiting row, then collects more for up to
+ *    url.create.group-commit.window or url.create.group-commit.max-batch-size rows
+ * 3. The rows are written with UrlBatchRepository.insertAll in ONE transaction, and
+ *    every caller's future completes once it commits
+ *
+ * If the batch fails (e.g. one short_url collides), the rows are retried one per
+ * transaction, so only the failing caller sees the exception and the others still
+ * succeed. The queue needs no bound: each caller blocks on its own row, so it never
+ * holds more rows than there are request threads.
+ *
+ * Trade-off: a create waits up to one window longer when traffic is light; the writer
+ * stops waiting as soon as the batch is full.
+ */
+@Slf4j
+@Component
+public class GroupCommitUrlInserter {
+
+    private final UrlBatchRepository urlBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final BlockingQueue<PendingInsert> queue = new LinkedBlockingQueue<>();
+
+    private final DistributionSummary batchSize;
+    private final Timer addedLatency;
+    private final Timer commitDuration;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    @Autowired
+    public GroupCommitUrlInserter(UrlBatchRepository urlBatchRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${url.create.group-commit.enabled:false}") boolean enabled,
+                                  @Value("${url.create.group-commit.window:PT0.001S}") Duration window,
+                                  @Value("${url.create.group-commit.max-batch-size:100}") int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("url.create.group-commit.max-batch-size must be at least 1");
+        }
+        this.urlBatchRepository = urlBatchRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.batchSize = DistributionSummary.builder("url.create.group-commit.batch-size")
+                .description("Rows written per group commit")
+                .maximumExpectedValue((double) maxBatchSize)
+                .register(meterRegistry);
+        this.addedLatency = Timer.builder("url.create.group-commit.wait")
+                .description("Time a create waits in the queue before its batch is written")
+                .register(meterRegistry);
+        this.commitDuration = Timer.builder("url.create.group-commit.duration")
+                .description("Time spent writing and committing one group commit")
+                .register(meterRegistry);
+        meterRegistry.gauge("url.create.group-commit.pending", queue, BlockingQueue::size);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::run, "url-group-commit");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Group commit enabled: window {} µs, up to {} rows per batch", windowNanos / 1_000, maxBatchSize);
+    }
+
+    /**
+     * Inserts the row as part of the next group commit and sets its generated id.
+     * Blocks until that batch commits; exceptions of the insert are rethrown as-is,
+     * so callers handle them exactly like a direct insert.
+     */
+    public Url insert(Url url) {
+        PendingInsert pending = new PendingInsert(url, System.nanoTime(), new CompletableFuture<>());
+        queue.add(pending);
+        // Checked after queueing: if stop() ran in between, the writer may be gone and the
+        // queue already drained, so nobody else would ever complete this future. Whoever
+        // removes the row from the queue (writer, stop() or this caller) completes it
+        if (!running && queue.remove(pending)) {
+            throw new IllegalStateException("Group commit is not running");
+        }
+        try {
+            return pending.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void run() {
+        List<PendingInsert> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingInsert first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch, System.nanoTime() + windowNanos);
+                write(batch);
+            } catch (InterruptedException e) {
+                // Shutdown: write what was collected; the loop drains whatever is still queued
+                running = false;
+                write(batch);
+            } catch (Exception e) {
+                log.error("Group commit of {} URLs failed", batch.size(), e);
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void collect(List<PendingInsert> batch, long deadline) throws InterruptedException {
+        while (batch.size() < maxBatchSize) {
+            // Take what is already queued without waiting, then wait out the window
+            if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            PendingInsert next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void write(List<PendingInsert> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        batch.forEach(pending -> addedLatency.record(start - pending.enqueuedNanos(), TimeUnit.NANOSECONDS));
+        batchSize.record(batch.size());
+
+        List<Url> urls = batch.stream().map(PendingInsert::url).toList();
+        try {
+            commitDuration.record(() -> transactionTemplate.executeWithoutResult(status -> urlBatchRepository.insertAll(urls)));
+            batch.forEach(pending -> pending.result().complete(pending.url()));
+            return;
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(e);
+                return;
+            }
+            log.warn("Group commit of {} URLs failed, retrying them one by one", batch.size(), e);
+        }
+
+        for (PendingInsert pending : batch) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> urlBatchRepository.insertAll(List.of(pending.url())));
+                pending.result().complete(pending.url());
+            } catch (RuntimeException e) {
+                pending.result().completeExceptionally(e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        PendingInsert left;
+        while ((left = queue.poll()) != null) {
+            left.result().completeExceptionally(new IllegalStateException("Group commit stopped before the URL was written"));
+        }
+    }
+
+    private record PendingInsert(Url url, long enqueuedNanos, CompletableFuture<Url> result) {
+    }
+}
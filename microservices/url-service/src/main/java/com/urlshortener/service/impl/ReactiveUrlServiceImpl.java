@@ -0,0 +1,207 @@
+package com.urlshortener.service.impl;
+
+import com.urlshortener.cache.TwoTierCache;
+import com.urlshortener.cache.UrlTombstone;
+import com.urlshortener.config.CacheConfig;
+import com.urlshortener.dto.UrlResponseDto;
+import com.urlshortener.exception.UrlDeactivatedException;
+import com.urlshortener.exception.UrlExpiredException;
+import com.urlshortener.service.ReactiveUrlService;
+import com.urlshortener.service.lookup.UrlKeyLookup;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Non-blocking counterpart of UrlServiceImpl.getOriginalUrl.
+ *
+ * Lookup order: L1 (in-process) → Redis (reactive Lettuce) → PostgreSQL (R2DBC) →
+ * write back to Redis and L1. Entries share key, format and TTLs with the "urls"
+ * cache used by the blocking path, so both paths warm the same cache, including
+ * dead-link tombstones.
+ *
+ * Same as the blocking path:
+ * - the row is found by short_code_key or short_url as UrlKeyLookup decides
+ *   (url.lookup.key-mode), with the short_url fallback until the backfill is done
+ * - concurrent misses for one code on this instance share one Redis read and DB query
+ *
+ * Unlike the blocking path, a miss does not take SingleFlightLoader's Redis lock: that
+ * protocol polls Redis while it waits, which would hold the request on this path. A
+ * miss on a hot code therefore costs at most one DB query per instance.
+ */
+@Log4j2
+@Service
+@Profile("reactive-redirect")
+@RequiredArgsConstructor
+public class ReactiveUrlServiceImpl implements ReactiveUrlService {
+
+    private static final String SELECT_URL =
+            "SELECT id, original_url, short_url, expires_at, click_count, deactivated FROM urls";
+    private static final String FIND_BY_SHORT_URL = SELECT_URL + " WHERE short_url = :shortUrl";
+    private static final String FIND_BY_SHORT_CODE_KEY = SELECT_URL + " WHERE short_code_key = :key";
+
+    private final DatabaseClient redirectDatabaseClient;
+    private final ReactiveRedisTemplate<String, Object> urlCacheRedisTemplate;
+    private final RedisCacheConfiguration cacheConfiguration;
+    private final CacheManager cacheManager;
+    private final UrlKeyLookup urlKeyLookup;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Mono<Object>> inFlight = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<UrlResponseDto> getOriginalUrl(String shortUrl) {
+        TwoTierCache localTier = localTier();
+        Cache.ValueWrapper local = localTier != null ? localTier.getLocal(shortUrl) : null;
+        if (local != null) {
+            return validate(local.get(), shortUrl);
+        }
+        return coalesced(shortUrl, localTier)
+                .flatMap(url -> validate(url, shortUrl));
+    }
+
+    private Mono<Object> coalesced(String shortUrl, TwoTierCache localTier) {
+        AtomicReference<Mono<Object>> self = new AtomicReference<>();
+        Mono<Object> flight = Mono.defer(() -> lookup(shortUrl, localTier))
+                .doFinally(signal -> inFlight.remove(shortUrl, self.get()))
+                .cache();
+        self.set(flight);
+        Mono<Object> existing = inFlight.putIfAbsent(shortUrl, flight);
+        if (existing != null) {
+            countLoad("coalesced_local");
+            return existing;
+        }
+        return flight;
+    }
+
+    private Mono<Object> lookup(String shortUrl, TwoTierCache localTier) {
+        String cacheKey = cacheConfiguration.getKeyPrefixFor(CacheConfig.URL_CACHE) + shortUrl;
+
+        return urlCacheRedisTemplate.opsForValue().get(cacheKey)
+                .onErrorResume(e -> {
+                    // Same as the blocking path: a Redis outage degrades to DB lookups
+                    log.warn("Redis lookup failed for {}", shortUrl, e);
+                    return Mono.empty();
+                })
+                .doOnNext(value -> {
+                    if (localTier != null) {
+                        localTier.putLocal(shortUrl, value);
+                    }
+                })
+                .switchIfEmpty(Mono.defer(() -> loadFromDatabase(shortUrl, cacheKey, localTier)));
+    }
+
+    private Mono<Object> loadFromDatabase(String shortUrl, String cacheKey, TwoTierCache localTier) {
+        countLoad("leader");
+        return findRow(shortUrl)
+                .<Object>map(this::toCacheValue)
+                .defaultIfEmpty(new UrlTombstone(UrlTombstone.Reason.NOT_FOUND))
+                .flatMap(value -> cache(cacheKey, value)
+                        .doOnNext(cached -> {
+                            if (cached && localTier != null) {
+                                localTier.putLocal(shortUrl, value);
+                            }
+                        })
+                        .thenReturn(value));
+    }
+
+    // Same index choice as UrlKeyLookup.findByShortUrl
+    private Mono<UrlResponseDto> findRow(String shortUrl) {
+        Mono<UrlResponseDto> byShortUrl = Mono.defer(() -> redirectDatabaseClient.sql(FIND_BY_SHORT_URL)
+                .bind("shortUrl", shortUrl)
+                .map(this::toDto)
+                .one());
+        Long key = urlKeyLookup.numericKey(shortUrl);
+        if (key == null) {
+            return byShortUrl;
+        }
+        return redirectDatabaseClient.sql(FIND_BY_SHORT_CODE_KEY)
+                .bind("key", key)
+                .map(this::toDto)
+                .one()
+                .switchIfEmpty(Mono.defer(() -> urlKeyLookup.isBackfilled() ? Mono.empty() : byShortUrl));
+    }
+
+    // Same values as the blocking path: active links, or a tombstone for dead ones
+    private Object toCacheValue(UrlResponseDto url) {
+        if (url.isDeactivated()) {
+            return new UrlTombstone(UrlTombstone.Reason.DEACTIVATED);
+        }
+        if (url.getExpiresAt().isBefore(LocalDateTime.now())) {
+            return new UrlTombstone(UrlTombstone.Reason.EXPIRED);
+        }
+        return url;
+    }
+
+    /**
+     * @return false if the value is not cached (tombstones are off), true otherwise,
+     *         even when the Redis write failed: L1 still takes it
+     */
+    private Mono<Boolean> cache(String cacheKey, Object value) {
+        Duration ttl = cacheConfiguration.getTtlFunction().getTimeToLive(cacheKey, value);
+        if (ttl.isZero()) {
+            return Mono.just(false);
+        }
+        return urlCacheRedisTemplate.opsForValue().set(cacheKey, value, ttl)
+                .onErrorResume(e -> {
+                    log.warn("Failed to cache {}", cacheKey, e);
+                    return Mono.just(false);
+                })
+                .thenReturn(true);
+    }
+
+    private Mono<UrlResponseDto> validate(Object value, String shortUrl) {
+        if (value instanceof UrlTombstone tombstone) {
+            return Mono.error(tombstone.toException(shortUrl));
+        }
+        UrlResponseDto url = (UrlResponseDto) value;
+        if (url.isDeactivated()) {
+            return Mono.error(new UrlDeactivatedException("URL has been deactivated: " + shortUrl));
+        }
+        if (url.getExpiresAt().isBefore(LocalDateTime.now())) {
+            return Mono.error(new UrlExpiredException("URL has expired: " + shortUrl));
+        }
+        return Mono.just(url);
+    }
+
+    private TwoTierCache localTier() {
+        return cacheManager.getCache(CacheConfig.URL_CACHE) instanceof TwoTierCache cache ? cache : null;
+    }
+
+    // Same meter as SingleFlightLoader, so both redirect paths show up on one dashboard
+    private void countLoad(String result) {
+        Counter.builder("url.cache.loads")
+                .description("Cache miss loads by single-flight outcome")
+                .tag("cache", CacheConfig.URL_CACHE)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private UrlResponseDto toDto(Readable row) {
+        return UrlResponseDto.builder()
+                .id(row.get("id", Long.class))
+                .originalUrl(row.get("original_url", String.class))
+                .shortUrl(row.get("short_url", String.class))
+                .expiresAt(row.get("expires_at", LocalDateTime.class))
+                .clickCount(row.get("click_count", Integer.class))
+                .deactivated(Boolean.TRUE.equals(row.get("deactivated", Boolean.class)))
+                .build();
+    }
+}
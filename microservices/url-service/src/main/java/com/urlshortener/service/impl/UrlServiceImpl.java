@@ -1,29 +1,51 @@
 package com.urlshortener.service.impl;
 
+import com.urlshortener.cache.SingleFlightLoader;
+import com.urlshortener.cache.UrlTombstone;
+import com.urlshortener.config.CacheConfig;
+import com.urlshortener.dto.BatchUrlResponseDto;
+import com.urlshortener.dto.BatchUrlResultDto;
 import com.urlshortener.dto.UrlRequestDto;
 import com.urlshortener.dto.UrlResponseDto;
 import com.urlshortener.dto.UserDto;
-import com.urlshortener.exception.UrlDeactivatedException;
 import com.urlshortener.exception.UrlExpiredException;
 import com.urlshortener.exception.UrlNotFoundException;
-import com.urlshortener.lib.AuthServiceClient;
 import com.urlshortener.model.Url;
+import com.urlshortener.repository.UrlBatchRepository;
 import com.urlshortener.repository.UrlRepository;
+import com.urlshortener.service.AuthClientService;
 import com.urlshortener.service.UrlService;
+import com.urlshortener.service.bloom.ShortUrlBloomFilter;
+import com.urlshortener.service.counter.WriteBehindClickCounter;
 import com.urlshortener.service.generator.UrlGeneratorFactory;
 import com.urlshortener.service.generator.UrlGeneratorFactory.GeneratorStrategy;
+import com.urlshortener.service.generator.UrlGeneratorStrategy;
+import com.urlshortener.service.groupcommit.GroupCommitUrlInserter;
+import com.urlshortener.service.lookup.UrlKeyLookup;
+import com.urlshortener.util.Hash64;
+import com.urlshortener.util.UrlCanonicalizer;
 import io.micrometer.common.util.StringUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.CollectionUtils;
 
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -34,68 +56,279 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class UrlServiceImpl implements UrlService {
 
+    private static final int MAX_CREATE_ATTEMPTS = 3;
+    private static final String UNIQUE_VIOLATION = "23505";
+
     private final UrlRepository urlRepository;
     private final UrlGeneratorFactory urlGeneratorFactory;
-    private final AuthServiceClient authServiceClient;
+    private final AuthClientService authClientService;
+    private final WriteBehindClickCounter clickCounter;
+    private final ShortUrlBloomFilter shortUrlBloomFilter;
+    private final CacheManager cacheManager;
+    private final SingleFlightLoader singleFlightLoader;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final UrlBatchRepository urlBatchRepository;
+    private final Validator validator;
+    private final UrlKeyLookup urlKeyLookup;
+    private final GroupCommitUrlInserter groupCommitUrlInserter;
 
     @Value("${url.generator.strategy:DISTRIBUTED}")
     private GeneratorStrategy generatorStrategy;
 
+    @Value(CacheConfig.TOMBSTONE_TTL)
+    private Duration tombstoneTtl;
 
-    @Override
-    @Transactional
-    public UrlResponseDto createShortUrl(UrlRequestDto request, String userName) {
-        String shortUrl;
-        do {
-            shortUrl = urlGeneratorFactory.getGenerator(generatorStrategy)
-                    .generateShortUrl();
-        } while (urlRepository.existsByShortUrl(shortUrl));
+    @Value("${url.batch.max-size:1000}")
+    private int maxBatchSize;
 
+    @Value("${url.dedup.enabled:false}")
+    private boolean dedupEnabled;
+
+
+    /**
+     * Inserts directly and lets the unique constraint on short_url catch duplicates,
+     * instead of an existsByShortUrl SELECT before every insert (which also raced with
+     * concurrent inserts). Each attempt runs in its own transaction, because PostgreSQL
+     * aborts a transaction once a statement in it fails; a collision retries with a
+     * fresh code and is counted in url.create.collisions. With group commit enabled the
+     * insert shares a transaction with concurrent creates (GroupCommitUrlInserter).
+     *
+     * A create makes at most MAX_CREATE_ATTEMPTS attempts, since codes from a unique
+     * generator only ever collide by accident. Strategies whose codes may repeat
+     * existing ones (SIMPLE_COUNTER after a restart) are retried until a code is free.
+     */
+    @Override
+    public UrlResponseDto createShortUrl(UrlRequestDto request, String userName, Long userId) {
         LocalDateTime expiresAt = LocalDateTime.now().plusDays(
             request.getExpirationDays() != null ? request.getExpirationDays() : 7
         );
 
-        UserDto userDto = authServiceClient.getUserByUsername(userName);
+        userId = resolveUserId(userName, userId);
+
+        if (dedupEnabled) {
+            Optional<Url> existing = findDuplicate(userId, request.getUrl(), expiresAt);
+            meterRegistry.counter("url.dedup.lookups", "result", existing.isPresent() ? "hit" : "miss").increment();
+            if (existing.isPresent()) {
+                return toDto(existing.get());
+            }
+        }
+
+        UrlGeneratorStrategy generator = urlGeneratorFactory.getGenerator(generatorStrategy);
+        Url url;
+        for (int attempt = 1; ; attempt++) {
+            String shortUrl = generator.generateShortUrl();
+            Url candidate = Url.builder()
+                    .originalUrl(request.getUrl())
+                    .shortUrl(shortUrl)
+                    .createdAt(LocalDateTime.now())
+                    .expiresAt(expiresAt)
+                    .clickCount(0)
+                    .deactivated(false)
+                    .userId(userId)
+                    .build();
+
+            // Registered before the insert so the code is never rejected once the row exists
+            shortUrlBloomFilter.add(shortUrl);
+            try {
+                url = groupCommitUrlInserter.isEnabled()
+                        ? groupCommitUrlInserter.insert(candidate)
+                        : transactionTemplate.execute(status -> urlRepository.saveAndFlush(candidate));
+                break;
+            } catch (DataIntegrityViolationException e) {
+                if (!isShortUrlCollision(e) || !mayRetry(generator, attempt)) {
+                    throw e;
+                }
+                meterRegistry.counter("url.create.collisions").increment();
+                log.warn("Short URL {} already exists, retrying with a new code (attempt {})", shortUrl, attempt);
+            }
+        }
+        // Drop a NOT_FOUND tombstone cached for this code before it existed. Without
+        // tombstones there is none, so skip the Redis DEL and the invalidation broadcast
+        if (!tombstoneTtl.isZero()) {
+            urlCache().evict(url.getShortUrl());
+        }
+
+        return toDto(url);
+    }
+
+    /**
+     * An active code of the same user for the same canonical destination that lives at
+     * least until expiresAt. The hash only narrows the search down via the
+     * (user_id, original_url_hash) index; candidates are compared on the canonical URL,
+     * so a hash collision never returns someone else's destination.
+     */
+    private Optional<Url> findDuplicate(Long userId, String originalUrl, LocalDateTime expiresAt) {
+        String canonical = UrlCanonicalizer.canonicalize(originalUrl);
+        return urlRepository.findDedupCandidates(userId, Hash64.hash(canonical), expiresAt).stream()
+                .filter(candidate -> canonical.equals(UrlCanonicalizer.canonicalize(candidate.getOriginalUrl())))
+                .findFirst();
+    }
+
+    /**
+     * Bulk variant of createShortUrl for campaign imports:
+     * - the user is resolved once for the whole batch (X-User-Id, else one Auth Service call)
+     * - each item is validated on its own; invalid items get an error result
+     * - codes come from the generator in one call, and all valid rows are written with
+     *   ONE JDBC batch insert in one transaction (retried with fresh codes on a collision)
+     *
+     * Unlike createShortUrl, the new codes are not evicted from the cache one by one: a
+     * freshly generated code can only hold a NOT_FOUND tombstone if it was probed before
+     * it existed, and that tombstone expires within url.cache.tombstone-ttl.
+     */
+    @Override
+    public BatchUrlResponseDto createShortUrls(List<UrlRequestDto> requests, String userName, Long userId) {
+        if (requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch of " + requests.size()
+                    + " URLs exceeds the limit of " + maxBatchSize);
+        }
+        userId = resolveUserId(userName, userId);
+
+        List<BatchUrlResultDto> results = new ArrayList<>(requests.size());
+        List<Url> urls = new ArrayList<>(requests.size());
+        List<BatchUrlResultDto> pending = new ArrayList<>(requests.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < requests.size(); i++) {
+            UrlRequestDto request = requests.get(i);
+            BatchUrlResultDto result = BatchUrlResultDto.builder().index(i).build();
+            results.add(result);
+
+            String error = validate(request);
+            if (error != null) {
+                result.setError(error);
+                continue;
+            }
+            urls.add(Url.builder()
+                    .originalUrl(request.getUrl())
+                    .createdAt(now)
+                    .expiresAt(now.plusDays(request.getExpirationDays() != null ? request.getExpirationDays() : 7))
+                    .clickCount(0)
+                    .deactivated(false)
+                    .userId(userId)
+                    .build());
+            pending.add(result);
+        }
+
+        if (!urls.isEmpty()) {
+            insertBatch(urls);
+            for (int i = 0; i < urls.size(); i++) {
+                pending.get(i).setUrl(toDto(urls.get(i)));
+            }
+        }
+
+        return BatchUrlResponseDto.builder()
+                .created(urls.size())
+                .failed(requests.size() - urls.size())
+                .results(results)
+                .build();
+    }
+
+    private Long resolveUserId(String userName, Long userId) {
+        if (userId != null) {
+            return userId;
+        }
+        UserDto userDto = authClientService.getUserByUsername(userName);
         if (userDto == null) {
             throw new UsernameNotFoundException("User not found in the database " + userName);
         }
-        Url url = Url.builder()
-                .originalUrl(request.getUrl())
-                .shortUrl(shortUrl)
-                .createdAt(LocalDateTime.now())
-                .expiresAt(expiresAt)
-                .clickCount(0)
-                .deactivated(false)
-                .userId(userDto.getId())
-                .build();
+        return userDto.getId();
+    }
 
-        url = urlRepository.save(url);
+    private String validate(UrlRequestDto request) {
+        if (request == null) {
+            return "URL cannot be empty";
+        }
+        return validator.validate(request).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .reduce((first, second) -> first + "; " + second)
+                .orElse(null);
+    }
 
-        return UrlResponseDto.builder()
-                .id(url.getId())
-                .originalUrl(url.getOriginalUrl())
-                .shortUrl(url.getShortUrl())
-                .expiresAt(url.getExpiresAt())
-                .clickCount(url.getClickCount())
-                .deactivated(url.getDeactivated())
-                .build();
+    private void insertBatch(List<Url> urls) {
+        UrlGeneratorStrategy generator = urlGeneratorFactory.getGenerator(generatorStrategy);
+        for (int attempt = 1; ; attempt++) {
+            List<String> shortUrls = generator.generateShortUrls(urls.size());
+            for (int i = 0; i < urls.size(); i++) {
+                urls.get(i).setShortUrl(shortUrls.get(i));
+                shortUrlBloomFilter.add(shortUrls.get(i));
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> urlBatchRepository.insertAll(urls));
+                return;
+            } catch (DataIntegrityViolationException e) {
+                if (!isShortUrlCollision(e) || !mayRetry(generator, attempt)) {
+                    throw e;
+                }
+                meterRegistry.counter("url.create.collisions").increment();
+                log.warn("Short URL collision in a batch of {}, retrying with new codes (attempt {})", urls.size(), attempt);
+            }
+        }
     }
 
+    /**
+     * Cache-aside lookup. Active links are cached until they expire (capped by the
+     * cache TTL); dead links are cached as short-lived tombstones, so repeated hits on
+     * them cost one cache lookup instead of a DB query. Concurrent misses for the same
+     * code share a single DB load.
+     */
     @Override
-    @Cacheable(value = "urls", key = "#shortUrl")
-    @Transactional(readOnly = true)
     public UrlResponseDto getOriginalUrl(String shortUrl) {
-        Url url = urlRepository.findByShortUrl(shortUrl)
-                .orElseThrow(() -> new UrlNotFoundException("URL not found: " + shortUrl));
-
-        if (url.getDeactivated()) {
-            throw new UrlDeactivatedException("URL has been deactivated: " + shortUrl);
+        Cache cache = urlCache();
+        Object value = cachedValue(cache, shortUrl);
+        if (value == null) {
+            value = singleFlightLoader.load(CacheConfig.URL_CACHE, shortUrl,
+                    () -> cachedValue(cache, shortUrl),
+                    () -> loadAndCache(cache, shortUrl));
         }
 
+        if (value instanceof UrlTombstone tombstone) {
+            throw tombstone.toException(shortUrl);
+        }
+        UrlResponseDto url = (UrlResponseDto) value;
+        // The L1 copy may outlive expiresAt by up to a second
         if (url.getExpiresAt().isBefore(LocalDateTime.now())) {
             throw new UrlExpiredException("URL has expired: " + shortUrl);
         }
+        return url;
+    }
+
+    private Object cachedValue(Cache cache, String shortUrl) {
+        Cache.ValueWrapper cached = cache.get(shortUrl);
+        return cached != null ? cached.get() : null;
+    }
+
+    private Object loadAndCache(Cache cache, String shortUrl) {
+        Object value = loadForCache(shortUrl);
+        if (value instanceof UrlResponseDto || !tombstoneTtl.isZero()) {
+            cache.put(shortUrl, value);
+        }
+        return value;
+    }
+
+    private Object loadForCache(String shortUrl) {
+        Optional<Url> found = urlKeyLookup.findByShortUrl(shortUrl);
+        if (found.isEmpty()) {
+            return new UrlTombstone(UrlTombstone.Reason.NOT_FOUND);
+        }
+        Url url = found.get();
+        if (url.getDeactivated()) {
+            return new UrlTombstone(UrlTombstone.Reason.DEACTIVATED);
+        }
+        if (url.getExpiresAt().isBefore(LocalDateTime.now())) {
+            return new UrlTombstone(UrlTombstone.Reason.EXPIRED);
+        }
+        return UrlResponseDto.builder()
+                .id(url.getId())
+                .originalUrl(url.getOriginalUrl())
+                .shortUrl(url.getShortUrl())
+                .expiresAt(url.getExpiresAt())
+                .clickCount(url.getClickCount())
+                .deactivated(url.getDeactivated())
+                .build();
+    }
 
+    private UrlResponseDto toDto(Url url) {
         return UrlResponseDto.builder()
                 .id(url.getId())
                 .originalUrl(url.getOriginalUrl())
@@ -106,23 +339,43 @@ public class UrlServiceImpl implements UrlService {
                 .build();
     }
 
+    private boolean mayRetry(UrlGeneratorStrategy generator, int attempt) {
+        return attempt < MAX_CREATE_ATTEMPTS || generator.mayRepeatCodes();
+    }
+
+    // short_code_key is derived from short_url, so a duplicate on either is a code collision
+    private boolean isShortUrlCollision(DataIntegrityViolationException e) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+        String message = cause != null ? String.valueOf(cause.getMessage()) : "";
+        return cause instanceof SQLException sqlException
+                && UNIQUE_VIOLATION.equals(sqlException.getSQLState())
+                && (message.contains("short_url") || message.contains("short_code_key"));
+    }
+
+    private Cache urlCache() {
+        return cacheManager.getCache(CacheConfig.URL_CACHE);
+    }
+
     @Override
-    @Transactional
     public void incrementClickCount(String shortUrl) {
-        urlRepository.incrementClickCount(shortUrl);
+        // Buffered in memory and written in batches (see WriteBehindClickCounter)
+        clickCounter.increment(shortUrl);
     }
 
     @Override
     @Transactional
-    public List<UrlResponseDto> getAllUserUrls(String userName) {
+    public List<UrlResponseDto> getAllUserUrls(String userName, Long userId) {
 
-        if (StringUtils.isEmpty(userName)) {
-            log.error("UserName is empty");
-            return Collections.EMPTY_LIST;
+        if (userId == null) {
+            if (StringUtils.isEmpty(userName)) {
+                log.error("UserName is empty");
+                return Collections.EMPTY_LIST;
+            }
+            UserDto userDto = authClientService.getUserByUsername(userName);
+            userId = userDto != null ? userDto.getId() : null;
         }
-        UserDto userDto = authServiceClient.getUserByUsername(userName);
-        if (userDto != null) {
-            List<Url> urls = urlRepository.findByUserIdOrderByCreatedAtDesc(userDto.getId());
+        if (userId != null) {
+            List<Url> urls = urlRepository.findByUserIdOrderByCreatedAtDesc(userId);
             if (!CollectionUtils.isEmpty(urls)) {
                 return urls.stream().map(url -> UrlResponseDto.builder()
                         .id(url.getId())
@@ -143,7 +396,7 @@ public class UrlServiceImpl implements UrlService {
     @Transactional
     @CacheEvict(value = "urls", key = "#shortUrl")
     public void deactivateUrl(String shortUrl) {
-        Url url = urlRepository.findByShortUrl(shortUrl)
+        Url url = urlKeyLookup.findByShortUrl(shortUrl)
                 .orElseThrow(() -> new UrlNotFoundException("URL not found: " + shortUrl));
         
         url.setDeactivated(true);
@@ -0,0 +1,146 @@
+package com.urlshortener.service.lookup;
+
+import com.urlshortener.model.Url;
+import com.urlshortener.repository.UrlRepository;
+import com.urlshortener.util.ShortCodeKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Finds a URL row by its short code, either through the VARCHAR short_url index or
+ * through the BIGINT short_code_key index (url.lookup.key-mode).
+ *
+ * Generated codes are Base62 of a 64-bit ID, so NUMERIC mode decodes the code and
+ * looks it up by number: 8-byte index keys instead of variable-length text, a denser
+ * B-tree and fewer pages read per redirect. Codes without a numeric form (ShortCodeKey)
+ * still go through short_url.
+ *
+ * Migration path for existing rows (the column is created by auth-service's changelog):
+ * 1. Deploy: new rows get short_code_key on insert, in either mode
+ * 2. The backfill below fills short_code_key for older rows in batches, off the startup path
+ * 3. Switch url.lookup.key-mode to NUMERIC. Until this instance has seen the backfill
+ *    finish, a key miss falls back to short_url, so rows not yet backfilled still resolve
+ */
+@Slf4j
+@Component
+public class UrlKeyLookup implements ApplicationRunner {
+
+    private static final String SELECT_UNKEYED =
+            "SELECT id, short_url FROM urls WHERE short_code_key IS NULL AND id > ? ORDER BY id LIMIT ?";
+    private static final String UPDATE_KEY =
+            "UPDATE urls SET short_code_key = ? WHERE id = ? AND short_code_key IS NULL";
+
+    private final UrlRepository urlRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final KeyMode keyMode;
+    private final boolean backfillEnabled;
+    private final int backfillBatchSize;
+
+    private volatile boolean backfilled;
+
+    public UrlKeyLookup(UrlRepository urlRepository,
+                        JdbcTemplate jdbcTemplate,
+                        @Value("${url.lookup.key-mode:SHORT_URL}") KeyMode keyMode,
+                        @Value("${url.lookup.backfill.enabled:true}") boolean backfillEnabled,
+                        @Value("${url.lookup.backfill.batch-size:1000}") int backfillBatchSize) {
+        this.urlRepository = urlRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.keyMode = keyMode;
+        this.backfillEnabled = backfillEnabled;
+        this.backfillBatchSize = backfillBatchSize;
+    }
+
+    public Optional<Url> findByShortUrl(String shortUrl) {
+        Long key = numericKey(shortUrl);
+        if (key == null) {
+            return urlRepository.findByShortUrl(shortUrl);
+        }
+        Optional<Url> url = urlRepository.findByShortCodeKey(key);
+        if (url.isEmpty() && !isBackfilled()) {
+            return urlRepository.findByShortUrl(shortUrl);
+        }
+        return url;
+    }
+
+    /**
+     * @return the short_code_key to look the code up by, or null to use short_url
+     */
+    public Long numericKey(String shortUrl) {
+        return keyMode == KeyMode.NUMERIC ? ShortCodeKey.of(shortUrl) : null;
+    }
+
+    /**
+     * @return true once a key miss means the code does not exist (no fallback to short_url needed)
+     */
+    public boolean isBackfilled() {
+        return backfilled;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!backfillEnabled) {
+            backfilled = true;
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                backfill();
+            } catch (Exception e) {
+                // Lookups keep falling back to short_url; the next start retries
+                log.error("Short code key backfill failed", e);
+            }
+        }, "short-code-key-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Fills short_code_key for rows inserted before the column existed, walking the
+     * table by id so rows whose code has no key are read once and skipped.
+     *
+     * @return number of rows updated
+     */
+    long backfill() {
+        long start = System.currentTimeMillis();
+        long updated = 0;
+        long lastId = 0;
+        while (true) {
+            List<Object[]> keys = new ArrayList<>();
+            List<Long> ids = jdbcTemplate.query(SELECT_UNKEYED, (rs, rowNum) -> {
+                long id = rs.getLong("id");
+                Long key = ShortCodeKey.of(rs.getString("short_url"));
+                if (key != null) {
+                    keys.add(new Object[] {key, id});
+                }
+                return id;
+            }, lastId, backfillBatchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            if (!keys.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_KEY, keys);
+                updated += keys.size();
+            }
+            lastId = ids.get(ids.size() - 1);
+        }
+        backfilled = true;
+        log.info("Backfilled short_code_key for {} URLs in {} ms", updated, System.currentTimeMillis() - start);
+        return updated;
+    }
+
+    /**
+     * Index used to resolve a short code.
+     */
+    public enum KeyMode {
+        SHORT_URL,
+        NUMERIC
+    }
+}
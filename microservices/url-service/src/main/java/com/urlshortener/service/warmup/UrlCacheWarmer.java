@@ -0,0 +1,231 @@
+package com.urlshortener.service.warmup;
+
+import com.urlshortener.config.CacheConfig;
+import com.urlshortener.dto.UrlResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads the hottest short URLs into the shared Redis "urls" cache at startup.
+ *
+ * WHY THIS EXISTS:
+ * - After a deploy or a Redis flush the cache is empty and the first minutes of
+ *   redirects all go to PostgreSQL
+ *
+ * HOW IT WORKS:
+ * Runs as an ApplicationRunner, so it finishes before /actuator/health/readiness
+ * reports UP (Spring Boot marks the app ready after all runners).
+ *
+ * 1. One query for the top-N active, unexpired URLs, ranked by
+ *    - CLICK_COUNT:   urls.click_count (all-time)
+ *    - RECENT_CLICKS: click_events within url.cache.warmup.recent-window
+ * 2. Rows are split into batches; each batch is written with ONE pipelined round trip
+ *    of SET key value PX ttl NX, using the same key prefix, codec and TTL as the cache.
+ *    NX because the rows may already be stale: an entry written by the live path since
+ *    (a tombstone, or a value reloaded after deactivateUrl evicted it on another
+ *    instance) is newer and must not be replaced
+ * 3. Batches run on `parallelism` threads; whatever is not done when the time budget
+ *    runs out is skipped, so a slow Redis never blocks startup for long
+ *
+ * Only Redis (L2) is warmed; each instance's L1 fills from it on the first request.
+ * A failed warm-up is logged and never fails startup.
+ *
+ * METRICS:
+ * - url.cache.warmup.entries: URLs written to the cache (not counting keys already cached)
+ * - url.cache.warmup.duration: time spent warming
+ */
+@Slf4j
+@Component
+public class UrlCacheWarmer implements ApplicationRunner {
+
+    private static final String SELECT_COLUMNS =
+            "SELECT u.id, u.original_url, u.short_url, u.expires_at, u.click_count, u.deactivated FROM urls u ";
+
+    private static final String TOP_BY_CLICK_COUNT = SELECT_COLUMNS
+            + "WHERE u.deactivated = false AND u.expires_at > ? "
+            + "ORDER BY u.click_count DESC LIMIT ?";
+
+    private static final String TOP_BY_RECENT_CLICKS = SELECT_COLUMNS
+            + "JOIN click_events e ON e.url_id = u.id "
+            + "WHERE e.timestamp >= ? AND u.deactivated = false AND u.expires_at > ? "
+            + "GROUP BY u.id ORDER BY COUNT(*) DESC LIMIT ?";
+
+    private static final RowMapper<UrlResponseDto> ROW_MAPPER = (rs, rowNum) -> UrlResponseDto.builder()
+            .id(rs.getLong("id"))
+            .originalUrl(rs.getString("original_url"))
+            .shortUrl(rs.getString("short_url"))
+            .expiresAt(rs.getTimestamp("expires_at").toLocalDateTime())
+            .clickCount(rs.getInt("click_count"))
+            .deactivated(rs.getBoolean("deactivated"))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCacheConfiguration cacheConfiguration;
+
+    private final boolean enabled;
+    private final WarmupSource source;
+    private final int topN;
+    private final int batchSize;
+    private final int parallelism;
+    private final Duration timeBudget;
+    private final Duration recentWindow;
+
+    private final Counter entriesLoaded;
+    private final Timer duration;
+
+    public UrlCacheWarmer(JdbcTemplate jdbcTemplate,
+                          StringRedisTemplate redisTemplate,
+                          RedisCacheConfiguration cacheConfiguration,
+                          MeterRegistry meterRegistry,
+                          @Value("${url.cache.warmup.enabled:true}") boolean enabled,
+                          @Value("${url.cache.warmup.source:CLICK_COUNT}") WarmupSource source,
+                          @Value("${url.cache.warmup.top-n:10000}") int topN,
+                          @Value("${url.cache.warmup.batch-size:500}") int batchSize,
+                          @Value("${url.cache.warmup.parallelism:4}") int parallelism,
+                          @Value("${url.cache.warmup.time-budget:PT30S}") Duration timeBudget,
+                          @Value("${url.cache.warmup.recent-window:P1D}") Duration recentWindow) {
+        if (batchSize <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException("Warm-up batch size and parallelism must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.redisTemplate = redisTemplate;
+        this.cacheConfiguration = cacheConfiguration;
+        this.enabled = enabled;
+        this.source = source;
+        this.topN = topN;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.timeBudget = timeBudget;
+        this.recentWindow = recentWindow;
+
+        this.entriesLoaded = Counter.builder("url.cache.warmup.entries")
+                .description("URLs written to the cache by the startup warm-up")
+                .register(meterRegistry);
+        this.duration = Timer.builder("url.cache.warmup.duration")
+                .description("Time spent warming the URL cache at startup")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled || topN <= 0) {
+            return;
+        }
+        try {
+            warmUp();
+        } catch (Exception e) {
+            log.warn("URL cache warm-up failed, continuing with a cold cache", e);
+        }
+    }
+
+    /**
+     * @return number of URLs written to the cache
+     */
+    public int warmUp() throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + timeBudget.toNanos();
+
+        List<UrlResponseDto> urls = loadHottest();
+        AtomicInteger loaded = new AtomicInteger();
+        AtomicLong skipped = new AtomicLong();
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "CacheWarmup-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (int from = 0; from < urls.size(); from += batchSize) {
+                List<UrlResponseDto> batch = urls.subList(from, Math.min(from + batchSize, urls.size()));
+                executor.execute(() -> {
+                    if (System.nanoTime() > deadline) {
+                        skipped.addAndGet(batch.size());
+                        return;
+                    }
+                    try {
+                        loaded.addAndGet(write(batch));
+                    } catch (Exception e) {
+                        skipped.addAndGet(batch.size());
+                        log.warn("Failed to warm {} cache entries", batch.size(), e);
+                    }
+                });
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                log.warn("URL cache warm-up hit its time budget of {}", timeBudget);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        duration.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        entriesLoaded.increment(loaded.get());
+        log.info("Warmed URL cache with {} of {} hottest URLs ({} skipped) by {} in {} ms",
+                loaded.get(), urls.size(), skipped.get(), source, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        return loaded.get();
+    }
+
+    private List<UrlResponseDto> loadHottest() {
+        LocalDateTime now = LocalDateTime.now();
+        return switch (source) {
+            case CLICK_COUNT -> jdbcTemplate.query(TOP_BY_CLICK_COUNT, ROW_MAPPER, now, topN);
+            case RECENT_CLICKS -> jdbcTemplate.query(TOP_BY_RECENT_CLICKS, ROW_MAPPER, now.minus(recentWindow), now, topN);
+        };
+    }
+
+    /**
+     * One round trip per batch: the SETs are queued on the connection and flushed together.
+     *
+     * @return number of keys that were set (absent before)
+     */
+    private int write(List<UrlResponseDto> batch) {
+        String keyPrefix = cacheConfiguration.getKeyPrefixFor(CacheConfig.URL_CACHE);
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (UrlResponseDto url : batch) {
+                String key = keyPrefix + url.getShortUrl();
+                Duration ttl = cacheConfiguration.getTtlFunction().getTimeToLive(key, url);
+                connection.stringCommands().set(
+                        ByteUtils.getBytes(cacheConfiguration.getKeySerializationPair().write(key)),
+                        ByteUtils.getBytes(cacheConfiguration.getValueSerializationPair().write(url)),
+                        Expiration.from(ttl),
+                        SetOption.ifAbsent());
+            }
+            return null;
+        });
+        return (int) results.stream().filter(Boolean.TRUE::equals).count();
+    }
+
+    /**
+     * How the "hottest" URLs are ranked.
+     */
+    public enum WarmupSource {
+        CLICK_COUNT,
+        RECENT_CLICKS
+    }
+}
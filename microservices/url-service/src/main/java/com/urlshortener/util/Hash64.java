@@ -0,0 +1,31 @@
+package com.urlshortener.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fast, non-cryptographic 64-bit string hash: FNV-1a over the UTF-8 bytes, finished
+ * with a SplitMix64 avalanche step so every input bit affects every output bit.
+ *
+ * Used for Bloom filter positions and indexed URL hashes. Equal hashes do not prove
+ * equal strings; callers compare the values themselves when it matters.
+ */
+public final class Hash64 {
+
+    private Hash64() {
+    }
+
+    public static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
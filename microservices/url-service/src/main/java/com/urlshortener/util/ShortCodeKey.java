@@ -0,0 +1,28 @@
+package com.urlshortener.util;
+
+/**
+ * Numeric lookup key for a short code: the Base62 value of the code.
+ *
+ * Generated codes are the Base62 encoding of a 64-bit ID, so the key is that ID again
+ * and fits a BIGINT index (8 bytes) instead of a VARCHAR one.
+ *
+ * Only canonical codes have a key. "07" and "7" decode to the same number, so a code
+ * with a leading '0' (never produced by the generators) has none and is looked up by
+ * its text instead. The mapping between codes with a key and keys is then one-to-one.
+ */
+public final class ShortCodeKey {
+
+    private ShortCodeKey() {
+    }
+
+    /**
+     * @return the key, or null if the code is not a canonical Base62 number
+     */
+    public static Long of(String shortUrl) {
+        if (shortUrl == null || !Base62.isValid(shortUrl)
+                || (shortUrl.length() > 1 && shortUrl.charAt(0) == '0')) {
+            return null;
+        }
+        return Base62.decode(shortUrl);
+    }
+}
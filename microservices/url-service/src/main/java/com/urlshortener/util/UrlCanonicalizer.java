@@ -0,0 +1,69 @@
+package com.urlshortener.util;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Locale;
+
+/**
+ * Canonical form of a destination URL, so spellings of the same address compare equal:
+ *
+ *   " HTTPS://Example.COM:443?q=1 "  →  "https://example.com/?q=1"
+ *
+ * Only changes that cannot alter where the link goes are applied:
+ * - surrounding whitespace removed
+ * - scheme and host lower-cased (both are case-insensitive)
+ * - default port dropped (80 for http, 443 for https)
+ * - empty path written as "/"
+ *
+ * Path, query and fragment are kept byte for byte: their case, order and encoding can
+ * matter to the target server. Values that are not absolute URLs are only trimmed.
+ */
+public final class UrlCanonicalizer {
+
+    private UrlCanonicalizer() {
+    }
+
+    public static String canonicalize(String url) {
+        String trimmed = url.trim();
+        URI uri;
+        try {
+            uri = new URI(trimmed);
+        } catch (URISyntaxException e) {
+            return trimmed;
+        }
+        if (uri.getScheme() == null || uri.getHost() == null) {
+            return trimmed;
+        }
+
+        String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+        int port = uri.getPort();
+        if ((port == 80 && "http".equals(scheme)) || (port == 443 && "https".equals(scheme))) {
+            port = -1;
+        }
+
+        StringBuilder canonical = new StringBuilder(trimmed.length() + 1).append(scheme).append("://");
+        if (uri.getRawUserInfo() != null) {
+            canonical.append(uri.getRawUserInfo()).append('@');
+        }
+        canonical.append(uri.getHost().toLowerCase(Locale.ROOT));
+        if (port != -1) {
+            canonical.append(':').append(port);
+        }
+        String path = uri.getRawPath();
+        canonical.append(path == null || path.isEmpty() ? "/" : path);
+        if (uri.getRawQuery() != null) {
+            canonical.append('?').append(uri.getRawQuery());
+        }
+        if (uri.getRawFragment() != null) {
+            canonical.append('#').append(uri.getRawFragment());
+        }
+        return canonical.toString();
+    }
+
+    /**
+     * @return 64-bit hash of the canonical form, for the indexed original_url_hash column
+     */
+    public static long hash(String url) {
+        return Hash64.hash(canonicalize(url));
+    }
+}
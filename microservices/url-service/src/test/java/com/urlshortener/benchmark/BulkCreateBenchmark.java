@@ -0,0 +1,126 @@
+package com.urlshortener.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Links created per second through POST /api/v1/urls (one link per call) versus
+ * POST /api/v1/urls/batch, through the api-gateway in front of url-service.
+ *
+ * Not a JMH benchmark: the cost being measured is HTTP + DB round trips, not JIT-level
+ * code. Start the stack (docker-compose up), then run:
+ *   java -cp target/test-classes:<test classpath> com.urlshortener.benchmark.BulkCreateBenchmark \
+ *        [baseUrl=http://localhost:8080] [links=10000] [batchSize=500] [concurrency=8]
+ * A throwaway user is registered through auth-service for the run; the gateway turns its
+ * token into the X-User-Name / X-User-Id headers url-service reads.
+ */
+public class BulkCreateBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final String baseUrl;
+    private String token;
+
+    private BulkCreateBenchmark(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int links = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int batchSize = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+        int concurrency = args.length > 3 ? Integer.parseInt(args[3]) : 8;
+
+        BulkCreateBenchmark benchmark = new BulkCreateBenchmark(baseUrl);
+        benchmark.authenticate();
+
+        // Warm up both paths (JIT, connection pools) before measuring
+        benchmark.runSingle(Math.min(links, 500), concurrency);
+        benchmark.runBatch(Math.min(links, 500), batchSize, concurrency);
+
+        report("single", links, benchmark.runSingle(links, concurrency));
+        report("batch(" + batchSize + ")", links, benchmark.runBatch(links, batchSize, concurrency));
+    }
+
+    private long runSingle(int links, int concurrency) throws Exception {
+        List<String> bodies = new ArrayList<>(links);
+        for (int i = 0; i < links; i++) {
+            bodies.add(MAPPER.writeValueAsString(item(i)));
+        }
+        return timed(bodies, "/api/v1/urls", concurrency);
+    }
+
+    private long runBatch(int links, int batchSize, int concurrency) throws Exception {
+        List<String> bodies = new ArrayList<>();
+        for (int from = 0; from < links; from += batchSize) {
+            List<Map<String, Object>> items = new ArrayList<>();
+            for (int i = from; i < Math.min(from + batchSize, links); i++) {
+                items.add(item(i));
+            }
+            bodies.add(MAPPER.writeValueAsString(Map.of("urls", items)));
+        }
+        return timed(bodies, "/api/v1/urls/batch", concurrency);
+    }
+
+    private long timed(List<String> bodies, String path, int concurrency) {
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        try {
+            CompletableFuture.allOf(bodies.stream()
+                    .map(body -> CompletableFuture.runAsync(() -> post(path, body), executor))
+                    .toArray(CompletableFuture[]::new)).join();
+        } finally {
+            executor.shutdown();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void authenticate() throws Exception {
+        String username = "bench" + UUID.randomUUID().toString().substring(0, 8);
+        post("/api/v1/auth/register", MAPPER.writeValueAsString(Map.of(
+                "username", username, "email", username + "@example.com", "password", "benchmark123")));
+        JsonNode login = MAPPER.readTree(post("/api/v1/auth/login", MAPPER.writeValueAsString(Map.of(
+                "username", username, "password", "benchmark123"))));
+        token = login.get("token").asText();
+    }
+
+    private String post(String path, String body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        try {
+            HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 300) {
+                throw new IllegalStateException(path + " returned " + response.statusCode() + ": " + response.body());
+            }
+            return response.body();
+        } catch (Exception e) {
+            throw new IllegalStateException("Request to " + path + " failed", e);
+        }
+    }
+
+    private static Map<String, Object> item(int i) {
+        return Map.of("url", "https://example.com/campaign/" + i, "expirationDays", 30);
+    }
+
+    private static void report(String name, int links, long nanos) {
+        double seconds = nanos / 1_000_000_000.0;
+        System.out.printf("%-12s %7d links in %7.2f s  →  %9.0f links/s%n", name, links, seconds, links / seconds);
+    }
+}
@@ -0,0 +1,87 @@
+package com.urlshortener.benchmark;
+
+import com.urlshortener.cache.UrlCacheValueSerializer;
+import com.urlshortener.config.CacheConfig;
+import com.urlshortener.dto.UrlResponseDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the binary cache codec with GenericJackson2JsonRedisSerializer.
+ *
+ * Run main() from the IDE, or after mvn test-compile:
+ *   java -cp target/test-classes:target/classes:<test classpath> org.openjdk.jmh.Main UrlCacheCodecBenchmark
+ * Payload sizes are printed once during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UrlCacheCodecBenchmark {
+
+    private RedisSerializer<Object> json;
+    private RedisSerializer<Object> binary;
+    private UrlResponseDto value;
+    private byte[] jsonBytes;
+    private byte[] binaryBytes;
+
+    @Setup
+    public void setUp() {
+        json = CacheConfig.jsonSerializer();
+        binary = new UrlCacheValueSerializer(json);
+        value = UrlResponseDto.builder()
+                .id(987654321L)
+                .originalUrl("https://www.example.com/campaigns/2024/spring-sale?utm_source=newsletter&utm_medium=email")
+                .shortUrl("2Bx9kQz1mPq")
+                .expiresAt(LocalDateTime.now().plusDays(7))
+                .clickCount(1234)
+                .deactivated(false)
+                .build();
+        jsonBytes = json.serialize(value);
+        binaryBytes = binary.serialize(value);
+        System.out.printf("%nPayload size: json=%d bytes, binary=%d bytes%n", jsonBytes.length, binaryBytes.length);
+    }
+
+    @Benchmark
+    public byte[] serializeJson() {
+        return json.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] serializeBinary() {
+        return binary.serialize(value);
+    }
+
+    @Benchmark
+    public Object deserializeJson() {
+        return json.deserialize(jsonBytes);
+    }
+
+    @Benchmark
+    public Object deserializeBinary() {
+        return binary.deserialize(binaryBytes);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UrlCacheCodecBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
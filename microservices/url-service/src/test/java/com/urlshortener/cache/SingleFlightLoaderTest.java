@@ -0,0 +1,206 @@
+package com.urlshortener.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SingleFlightLoader.
+ * The Redis lock is mocked; "another instance" is simulated through the lock result.
+ */
+@ExtendWith(MockitoExtension.class)
+class SingleFlightLoaderTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private MeterRegistry meterRegistry;
+    private SingleFlightLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loader = new SingleFlightLoader(redisTemplate, meterRegistry,
+                Duration.ofSeconds(2), Duration.ofMillis(500), Duration.ofMillis(10));
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    private double loads(String result) {
+        return meterRegistry.get("url.cache.loads").tag("result", result).counter().count();
+    }
+
+    @Nested
+    @DisplayName("Lock holder tests")
+    class LeaderTests {
+
+        @Test
+        @DisplayName("Should run one load when many threads miss the same key")
+        void load_ConcurrentMisses_LoadsOnce() throws Exception {
+            // Given
+            when(valueOperations.setIfAbsent(eq("lock:urls::abc"), anyString(), any(Duration.class))).thenReturn(true);
+            AtomicInteger loads = new AtomicInteger();
+            CountDownLatch release = new CountDownLatch(1);
+            int threadCount = 16;
+            ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+            // When
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                results.add(executor.submit(() -> loader.load("urls", "abc", () -> null, () -> {
+                    loads.incrementAndGet();
+                    awaitQuietly(release);
+                    return "https://example.com";
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            // Then
+            for (Future<Object> result : results) {
+                assertEquals("https://example.com", result.get(5, TimeUnit.SECONDS));
+            }
+            executor.shutdown();
+            assertEquals(1, loads.get());
+            assertEquals(1.0, loads("leader"));
+            assertEquals(threadCount - 1.0, loads("coalesced_local"));
+            verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("lock:urls::abc")), anyString());
+        }
+
+        @Test
+        @DisplayName("Should use the cached value when it appeared before the lock was acquired")
+        void load_CachedAfterLock_SkipsLoader() {
+            // Given - another instance loaded and released the lock between our miss and SET NX
+            when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+
+            // When
+            Object value = loader.load("urls", "abc",
+                    () -> "https://example.com",
+                    () -> fail("Loader should not run when the value is already cached"));
+
+            // Then
+            assertEquals("https://example.com", value);
+            assertEquals(1.0, loads("coalesced_remote"));
+            verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("lock:urls::abc")), anyString());
+        }
+
+        @Test
+        @DisplayName("Should propagate a loader failure and release the lock")
+        void load_LoaderFails_ReleasesLock() {
+            // Given
+            when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+
+            // When / Then
+            assertThrows(IllegalStateException.class, () -> loader.load("urls", "abc", () -> null, () -> {
+                throw new IllegalStateException("DB down");
+            }));
+            verify(redisTemplate).execute(any(RedisScript.class), anyList(), anyString());
+        }
+    }
+
+    @Nested
+    @DisplayName("Waiting and fallback tests")
+    class WaitingTests {
+
+        @Test
+        @DisplayName("Should read the value from the cache while another instance holds the lock")
+        void load_LockHeldElsewhere_ReadsFromCache() {
+            // Given
+            when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+            when(redisTemplate.hasKey("lock:urls::abc")).thenReturn(true);
+            AtomicInteger lookups = new AtomicInteger();
+
+            // When
+            Object value = loader.load("urls", "abc",
+                    () -> lookups.incrementAndGet() < 3 ? null : "https://example.com",
+                    () -> fail("Loader should not run while another instance loads"));
+
+            // Then
+            assertEquals("https://example.com", value);
+            assertEquals(1.0, loads("coalesced_remote"));
+        }
+
+        @Test
+        @DisplayName("Should load locally when the other instance does not finish in time")
+        void load_RemoteLoadTooSlow_FallsBack() {
+            // Given
+            when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+            when(redisTemplate.hasKey("lock:urls::abc")).thenReturn(true);
+
+            // When
+            Object value = loader.load("urls", "abc", () -> null, () -> "https://example.com");
+
+            // Then
+            assertEquals("https://example.com", value);
+            assertEquals(1.0, loads("fallback"));
+        }
+
+        @Test
+        @DisplayName("Should load right away when the other instance finished without caching")
+        void load_RemoteResultNotCached_LoadsWithoutWaiting() {
+            // Given - the leader found a dead link while tombstones are off: it releases
+            // the lock but leaves the cache empty
+            when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+            when(redisTemplate.hasKey("lock:urls::abc")).thenReturn(true, false);
+            AtomicInteger lookups = new AtomicInteger();
+
+            // When
+            Object value = loader.load("urls", "abc", () -> {
+                lookups.incrementAndGet();
+                return null;
+            }, () -> "not found");
+
+            // Then - two polls, not the 50 that fit into the wait timeout
+            assertEquals("not found", value);
+            assertEquals(2, lookups.get());
+            assertEquals(1.0, loads("uncached"));
+            assertNull(meterRegistry.find("url.cache.loads").tag("result", "fallback").counter());
+        }
+
+        @Test
+        @DisplayName("Should load directly when Redis is unavailable")
+        void load_RedisDown_LoadsDirectly() {
+            // Given
+            when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                    .thenThrow(new RedisConnectionFailureException("down"));
+
+            // When / Then
+            assertEquals("https://example.com", loader.load("urls", "abc", () -> null, () -> "https://example.com"));
+            assertEquals(1.0, loads("fallback"));
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.urlshortener.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TwoTierCache and the pub/sub invalidation in TwoTierCacheManager.
+ * Redis (L2) is replaced by an in-memory ConcurrentMapCache.
+ */
+class TwoTierCacheTest {
+
+    private ConcurrentMapCache remoteCache;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        remoteCache = new ConcurrentMapCache("urls", false);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private double requests(String tier, String result) {
+        return meterRegistry.get("url.cache.requests")
+                .tag("tier", tier)
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+
+    @Nested
+    @DisplayName("TwoTierCache tests")
+    class TwoTierCacheTests {
+
+        private List<Object> publishedInvalidations;
+        private TwoTierCache cache;
+
+        @BeforeEach
+        void setUp() {
+            publishedInvalidations = new ArrayList<>();
+            cache = new TwoTierCache("urls", Caffeine.newBuilder().maximumSize(100).build(),
+                    remoteCache, publishedInvalidations::add, meterRegistry);
+        }
+
+        @Test
+        @DisplayName("Should copy an L2 hit into L1 and serve the next read from L1")
+        void get_RemoteHit_PromotesToLocal() {
+            // Given
+            remoteCache.put("abc123XY", "https://example.com");
+
+            // When
+            cache.get("abc123XY");
+            remoteCache.evict("abc123XY");
+
+            // Then - served from L1 although L2 no longer has it
+            assertEquals("https://example.com", cache.get("abc123XY").get());
+            assertEquals(1.0, requests("l1", "hit"));
+            assertEquals(1.0, requests("l2", "hit"));
+        }
+
+        @Test
+        @DisplayName("Should return null and count misses when both tiers miss")
+        void get_BothMiss_ReturnsNull() {
+            // When / Then
+            assertNull(cache.get("missing"));
+            assertEquals(1.0, requests("l1", "miss"));
+            assertEquals(1.0, requests("l2", "miss"));
+        }
+
+        @Test
+        @DisplayName("Should write both tiers on put without broadcasting")
+        void put_WritesBothTiers_WithoutBroadcast() {
+            // When
+            cache.put("abc123XY", "https://example.com");
+
+            // Then
+            assertEquals("https://example.com", remoteCache.get("abc123XY").get());
+            assertEquals("https://example.com", cache.get("abc123XY").get());
+            assertTrue(publishedInvalidations.isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should clear both tiers and publish the key on evict")
+        void evict_ClearsBothTiers_AndPublishes() {
+            // Given
+            cache.put("abc123XY", "https://example.com");
+
+            // When
+            cache.evict("abc123XY");
+
+            // Then
+            assertNull(remoteCache.get("abc123XY"));
+            assertNull(cache.get("abc123XY"));
+            assertEquals(List.of("abc123XY"), publishedInvalidations);
+        }
+    }
+
+    @Nested
+    @DisplayName("TwoTierCacheManager invalidation tests")
+    class InvalidationTests {
+
+        private StringRedisTemplate redisTemplate;
+        private TwoTierCacheManager cacheManager;
+
+        @BeforeEach
+        void setUp() {
+            RedisCacheManager redisCacheManager = mock(RedisCacheManager.class);
+            when(redisCacheManager.getCache("urls")).thenReturn(remoteCache);
+            redisTemplate = mock(StringRedisTemplate.class);
+            cacheManager = new TwoTierCacheManager(redisCacheManager, redisTemplate, meterRegistry,
+                    "url-cache-invalidation", 1_000_000, Duration.ofMinutes(1),
+                    new UrlCacheTtlFunction(Duration.ofHours(1), Duration.ofSeconds(30)));
+        }
+
+        private DefaultMessage message(String payload) {
+            return new DefaultMessage("url-cache-invalidation".getBytes(StandardCharsets.UTF_8),
+                    payload.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Test
+        @DisplayName("Should publish evictions on the invalidation channel")
+        void evict_PublishesToChannel() {
+            // When
+            cacheManager.getCache("urls").evict("abc123XY");
+
+            // Then
+            verify(redisTemplate).convertAndSend(eq("url-cache-invalidation"), endsWith("|urls|abc123XY"));
+        }
+
+        @Test
+        @DisplayName("Should drop the key from L1 when another instance evicts it")
+        void onMessage_FromOtherInstance_InvalidatesLocal() {
+            // Given - cached locally, then changed in Redis by another instance
+            cacheManager.getCache("urls").put("abc123XY", "https://old.example.com");
+            remoteCache.put("abc123XY", "https://new.example.com");
+
+            // When
+            cacheManager.onMessage(message("other-instance|urls|abc123XY"), null);
+
+            // Then
+            assertEquals("https://new.example.com", cacheManager.getCache("urls").get("abc123XY").get());
+            assertEquals(1.0, meterRegistry.get("url.cache.invalidations.received").counter().count());
+        }
+    }
+}
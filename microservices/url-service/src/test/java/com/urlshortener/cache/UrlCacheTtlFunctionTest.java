@@ -0,0 +1,65 @@
+package com.urlshortener.cache;
+
+import com.urlshortener.dto.UrlResponseDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UrlCacheTtlFunction.
+ */
+class UrlCacheTtlFunctionTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    private final UrlCacheTtlFunction ttlFunction = new UrlCacheTtlFunction(
+            Duration.ofHours(1),
+            Duration.ofSeconds(30),
+            Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+
+    @Test
+    @DisplayName("Should end the TTL at expiresAt when the link expires before the maximum TTL")
+    void getTimeToLive_ExpiresSoon_EndsAtExpiry() {
+        assertEquals(Duration.ofMinutes(5), ttlFunction.getTimeToLive("abc", urlExpiringAt(NOW.plusMinutes(5))));
+    }
+
+    @Test
+    @DisplayName("Should cap the TTL at the maximum TTL")
+    void getTimeToLive_ExpiresLater_CappedAtMaxTtl() {
+        assertEquals(Duration.ofHours(1), ttlFunction.getTimeToLive("abc", urlExpiringAt(NOW.plusYears(2))));
+    }
+
+    @Test
+    @DisplayName("Should never return a TTL below one second")
+    void getTimeToLive_AboutToExpire_AtLeastOneSecond() {
+        assertEquals(Duration.ofSeconds(1), ttlFunction.getTimeToLive("abc", urlExpiringAt(NOW.minusSeconds(5))));
+    }
+
+    @Test
+    @DisplayName("Should use the tombstone TTL for tombstones")
+    void getTimeToLive_Tombstone_UsesTombstoneTtl() {
+        assertEquals(Duration.ofSeconds(30),
+                ttlFunction.getTimeToLive("abc", new UrlTombstone(UrlTombstone.Reason.NOT_FOUND)));
+    }
+
+    @Test
+    @DisplayName("Should use the maximum TTL for values without an expiry")
+    void getTimeToLive_NoExpiry_UsesMaxTtl() {
+        assertEquals(Duration.ofHours(1), ttlFunction.getTimeToLive("abc", "other"));
+        assertEquals(Duration.ofHours(1), ttlFunction.getTimeToLive("abc", urlExpiringAt(null)));
+    }
+
+    private UrlResponseDto urlExpiringAt(LocalDateTime expiresAt) {
+        return UrlResponseDto.builder()
+                .shortUrl("abc")
+                .originalUrl("https://example.com")
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,189 @@
+package com.urlshortener.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.urlshortener.config.CacheConfig;
+import com.urlshortener.dto.UrlResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UrlCacheValueSerializer and its JSON fallback (CacheConfig.jsonSerializer).
+ */
+class UrlCacheValueSerializerTest {
+
+    private RedisSerializer<Object> jsonSerializer;
+    private UrlCacheValueSerializer serializer;
+    private UrlResponseDto url;
+
+    @BeforeEach
+    void setUp() {
+        jsonSerializer = CacheConfig.jsonSerializer();
+        serializer = new UrlCacheValueSerializer(jsonSerializer);
+        url = UrlResponseDto.builder()
+                .id(1234567L)
+                .originalUrl("https://example.com/some/long/path?q=ünïcödé")
+                .shortUrl("2Bx9kQz1mPq")
+                .expiresAt(LocalDateTime.of(2030, 5, 17, 13, 45, 12, 123_000_000))
+                .clickCount(42)
+                .deactivated(true)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Binary codec tests")
+    class BinaryCodecTests {
+
+        @Test
+        @DisplayName("Should round-trip a UrlResponseDto")
+        void serialize_Dto_RoundTrips() {
+            assertEquals(url, serializer.deserialize(serializer.serialize(url)));
+        }
+
+        @Test
+        @DisplayName("Should keep absent optional fields null")
+        void serialize_SparseDto_KeepsNulls() {
+            // Given
+            UrlResponseDto sparse = UrlResponseDto.builder().shortUrl("abc").build();
+
+            // When / Then
+            assertEquals(sparse, serializer.deserialize(serializer.serialize(sparse)));
+        }
+
+        @Test
+        @DisplayName("Should be much smaller than the JSON encoding")
+        void serialize_Dto_SmallerThanJson() {
+            // When
+            int binary = serializer.serialize(url).length;
+            int json = jsonSerializer.serialize(url).length;
+
+            // Then
+            assertTrue(binary * 2 < json, "binary=" + binary + " json=" + json);
+        }
+
+        @Test
+        @DisplayName("Should return null for missing or empty bytes")
+        void deserialize_Empty_ReturnsNull() {
+            assertNull(serializer.deserialize(null));
+            assertNull(serializer.deserialize(new byte[0]));
+        }
+
+        @Test
+        @DisplayName("Should round-trip every tombstone in three bytes")
+        void serialize_Tombstone_RoundTripsInThreeBytes() {
+            for (UrlTombstone.Reason reason : UrlTombstone.Reason.values()) {
+                // When
+                byte[] bytes = serializer.serialize(new UrlTombstone(reason));
+
+                // Then
+                assertEquals(3, bytes.length);
+                assertEquals(new UrlTombstone(reason), serializer.deserialize(bytes));
+            }
+        }
+
+        @Test
+        @DisplayName("Should reject an unknown layout version")
+        void deserialize_UnknownVersion_ThrowsException() {
+            // Given
+            byte[] bytes = serializer.serialize(url);
+            bytes[1] = 99;
+
+            // When / Then
+            assertThrows(SerializationException.class, () -> serializer.deserialize(bytes));
+        }
+
+        @Test
+        @DisplayName("Should reject a truncated value")
+        void deserialize_Truncated_ThrowsException() {
+            // Given
+            byte[] bytes = serializer.serialize(url);
+            byte[] truncated = Arrays.copyOf(bytes, bytes.length - 5);
+
+            // When / Then
+            assertThrows(SerializationException.class, () -> serializer.deserialize(truncated));
+        }
+    }
+
+    @Nested
+    @DisplayName("JSON fallback tests")
+    class JsonFallbackTests {
+
+        /**
+         * The value serializer url-service used before the binary codec.
+         */
+        private RedisSerializer<Object> previousJsonSerializer() {
+            ObjectMapper objectMapper = new ObjectMapper();
+            objectMapper.registerModule(new JavaTimeModule());
+            objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+            objectMapper.activateDefaultTyping(
+                    objectMapper.getPolymorphicTypeValidator(),
+                    ObjectMapper.DefaultTyping.NON_FINAL);
+            return new GenericJackson2JsonRedisSerializer(objectMapper);
+        }
+
+        @Test
+        @DisplayName("Should read entries written by the previous JSON serializer")
+        void deserialize_PreviousJsonEntry_IsReadable() {
+            // Given
+            byte[] existing = previousJsonSerializer().serialize(url);
+
+            // When / Then
+            assertEquals(url, serializer.deserialize(existing));
+        }
+
+        @Test
+        @DisplayName("Should write JSON that the previous serializer can still read")
+        void jsonSerializer_Output_ReadableByPreviousSerializer() {
+            // Given - url.cache.codec=JSON during a rollout with older instances
+            byte[] written = jsonSerializer.serialize(url);
+
+            // When / Then
+            assertArrayEquals(previousJsonSerializer().serialize(url), written);
+            assertEquals(url, previousJsonSerializer().deserialize(written));
+        }
+
+        @Test
+        @DisplayName("Should read a tombstone written with url.cache.codec=JSON")
+        void deserialize_JsonTombstone_IsReadable() {
+            // Given
+            UrlTombstone tombstone = new UrlTombstone(UrlTombstone.Reason.EXPIRED);
+
+            // When / Then
+            assertEquals(tombstone, serializer.deserialize(jsonSerializer.serialize(tombstone)));
+        }
+
+        @Test
+        @DisplayName("Should route values that are not a UrlResponseDto through JSON")
+        void serialize_OtherType_UsesFallback() {
+            // Given
+            Map<String, String> other = new HashMap<>(Map.of("key", "value"));
+
+            // When / Then
+            assertEquals(other, serializer.deserialize(serializer.serialize(other)));
+        }
+
+        @Test
+        @DisplayName("Should refuse to instantiate types outside the allowed packages")
+        void deserialize_ForeignType_ThrowsException() {
+            // Given - a value naming a class that is not one of our DTOs
+            byte[] foreign = "[\"java.net.URL\",\"http://attacker.example\"]".getBytes(StandardCharsets.UTF_8);
+
+            // When / Then
+            assertThrows(SerializationException.class, () -> serializer.deserialize(foreign));
+        }
+    }
+}
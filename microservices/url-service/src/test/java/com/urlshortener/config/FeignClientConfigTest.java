@@ -0,0 +1,96 @@
+package com.urlshortener.config;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FeignClientConfig.
+ * Calls a local HTTP server through an OkHttp client built from the configured builder.
+ */
+class FeignClientConfigTest {
+
+    private HttpServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private OkHttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+        FeignClientConfig config = new FeignClientConfig();
+        ConnectionPool pool = new ConnectionPool(10, 5, TimeUnit.MINUTES);
+        config.okHttpConnectionPoolMetrics(pool, 10).bindTo(meterRegistry);
+        client = config.okHttpClientBuilder(meterRegistry).connectionPool(pool).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        client.connectionPool().evictAll();
+    }
+
+    private void call() throws IOException {
+        Request request = new Request.Builder()
+                .url("http://127.0.0.1:" + server.getAddress().getPort() + "/api")
+                .build();
+        try (Response response = client.newCall(request).execute()) {
+            assertEquals(200, response.code());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reuse the pooled connection and time only the first connect")
+    void connectIsTimedOnce_WhenConnectionIsReused() throws IOException {
+        // When
+        call();
+        call();
+        call();
+
+        // Then
+        assertEquals(1, meterRegistry.get("feign.client.connect")
+                .tag("outcome", "success").timer().count());
+        assertEquals(1.0, meterRegistry.get("okhttp.pool.connection.count")
+                .tag("state", "idle").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should record failed connects")
+    void failedConnectIsTimed() throws IOException {
+        // Given
+        int port = server.getAddress().getPort();
+        server.stop(0);
+        Request request = new Request.Builder().url("http://127.0.0.1:" + port + "/api").build();
+
+        // When
+        assertThrows(IOException.class, () -> client.newCall(request).execute());
+
+        // Then
+        assertEquals(1, meterRegistry.get("feign.client.connect")
+                .tag("outcome", "failure").timer().count());
+    }
+}
@@ -0,0 +1,128 @@
+package com.urlshortener.controller;
+
+import com.urlshortener.dto.UrlResponseDto;
+import com.urlshortener.exception.UrlDeactivatedException;
+import com.urlshortener.exception.UrlExpiredException;
+import com.urlshortener.exception.UrlNotFoundException;
+import com.urlshortener.service.ReactiveUrlService;
+import com.urlshortener.service.UrlService;
+import com.urlshortener.service.bloom.ShortUrlBloomFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for ReactiveRedirectController.
+ * Checks that the non-blocking path answers like RedirectController (302/404/403/410).
+ */
+@WebMvcTest(ReactiveRedirectController.class)
+@ActiveProfiles("reactive-redirect")
+@WithMockUser
+class ReactiveRedirectControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReactiveUrlService reactiveUrlService;
+
+    @MockBean
+    private UrlService urlService;
+
+    @MockBean
+    private ShortUrlBloomFilter shortUrlBloomFilter;
+
+    @BeforeEach
+    void setUp() {
+        when(shortUrlBloomFilter.mightContain(anyString())).thenReturn(true);
+    }
+
+    private MvcResult startRedirect(String shortUrl) throws Exception {
+        return mockMvc.perform(get("/" + shortUrl))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    @Test
+    @DisplayName("Should redirect with 302 and count the click")
+    void redirect_Found_Returns302() throws Exception {
+        // Given
+        when(reactiveUrlService.getOriginalUrl("abc123XY")).thenReturn(Mono.just(UrlResponseDto.builder()
+                .id(1L)
+                .shortUrl("abc123XY")
+                .originalUrl("https://example.com/long/url")
+                .build()));
+
+        // When / Then
+        mockMvc.perform(asyncDispatch(startRedirect("abc123XY")))
+                .andExpect(status().isFound())
+                .andExpect(header().string("Location", "https://example.com/long/url"));
+        verify(urlService).incrementClickCount("abc123XY");
+    }
+
+    @Test
+    @DisplayName("Should return 404 when the URL does not exist")
+    void redirect_NotFound_Returns404() throws Exception {
+        // Given
+        when(reactiveUrlService.getOriginalUrl("missing1"))
+                .thenReturn(Mono.error(new UrlNotFoundException("URL not found: missing1")));
+
+        // When / Then
+        mockMvc.perform(asyncDispatch(startRedirect("missing1")))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("URL not found"));
+        verify(urlService, never()).incrementClickCount(anyString());
+    }
+
+    @Test
+    @DisplayName("Should return 404 without a lookup when the Bloom filter rejects the code")
+    void redirect_BloomFilterReject_Returns404WithoutLookup() throws Exception {
+        // Given
+        when(shortUrlBloomFilter.mightContain("unknown1")).thenReturn(false);
+
+        // When / Then
+        mockMvc.perform(asyncDispatch(startRedirect("unknown1")))
+                .andExpect(status().isNotFound());
+        verifyNoInteractions(reactiveUrlService);
+    }
+
+    @Test
+    @DisplayName("Should return 403 when the URL is deactivated")
+    void redirect_Deactivated_Returns403() throws Exception {
+        // Given
+        when(reactiveUrlService.getOriginalUrl("abc123XY"))
+                .thenReturn(Mono.error(new UrlDeactivatedException("URL has been deactivated: abc123XY")));
+
+        // When / Then
+        mockMvc.perform(asyncDispatch(startRedirect("abc123XY")))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.message").value("URL has been deactivated"));
+    }
+
+    @Test
+    @DisplayName("Should return 410 when the URL has expired")
+    void redirect_Expired_Returns410() throws Exception {
+        // Given
+        when(reactiveUrlService.getOriginalUrl("abc123XY"))
+                .thenReturn(Mono.error(new UrlExpiredException("URL has expired: abc123XY")));
+
+        // When / Then
+        mockMvc.perform(asyncDispatch(startRedirect("abc123XY")))
+                .andExpect(status().isGone())
+                .andExpect(jsonPath("$.message").value("URL has expired"));
+    }
+}
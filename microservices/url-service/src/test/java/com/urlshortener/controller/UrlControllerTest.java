@@ -1,9 +1,13 @@
 package com.urlshortener.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.urlshortener.dto.BatchUrlRequestDto;
+import com.urlshortener.dto.BatchUrlResponseDto;
+import com.urlshortener.dto.BatchUrlResultDto;
 import com.urlshortener.dto.UrlAnalyticsResponse;
 import com.urlshortener.dto.UrlRequestDto;
 import com.urlshortener.dto.UrlResponseDto;
+import com.urlshortener.dto.UrlStatsBatchRequestDto;
 import com.urlshortener.exception.UrlDeactivatedException;
 import com.urlshortener.exception.UrlExpiredException;
 import com.urlshortener.exception.UrlNotFoundException;
@@ -25,9 +29,12 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -82,7 +89,7 @@ class UrlControllerTest {
         @WithMockUser
         @DisplayName("Should create short URL successfully")
         void createShortUrl_Success() throws Exception {
-            when(urlService.createShortUrl(any(UrlRequestDto.class), eq("testuser")))
+            when(urlService.createShortUrl(any(UrlRequestDto.class), eq("testuser"), isNull()))
                     .thenReturn(testResponse);
 
             mockMvc.perform(post("/api/v1/urls")
@@ -97,6 +104,65 @@ class UrlControllerTest {
                     .andExpect(jsonPath("$.deactivated").value(false));
         }
 
+        @Test
+        @WithMockUser
+        @DisplayName("Should pass the gateway's X-User-Id to the service")
+        void createShortUrl_PassesUserIdHeader() throws Exception {
+            when(urlService.createShortUrl(any(UrlRequestDto.class), eq("testuser"), eq(42L)))
+                    .thenReturn(testResponse);
+
+            mockMvc.perform(post("/api/v1/urls")
+                            .with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .header("X-User-Name", "testuser")
+                            .header("X-User-Id", "42")
+                            .content(objectMapper.writeValueAsString(testRequest)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.shortUrl").value("abc123XY"));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("POST /api/v1/urls/batch - createShortUrls")
+    class CreateShortUrlsTests {
+
+        @Test
+        @WithMockUser
+        @DisplayName("Should create the batch for the gateway's user")
+        void createShortUrls_Success() throws Exception {
+            BatchUrlResponseDto response = BatchUrlResponseDto.builder()
+                    .created(1)
+                    .failed(0)
+                    .results(List.of(BatchUrlResultDto.builder().index(0).url(testResponse).build()))
+                    .build();
+            when(urlService.createShortUrls(anyList(), eq("testuser"), eq(42L))).thenReturn(response);
+
+            mockMvc.perform(post("/api/v1/urls/batch")
+                            .with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .header("X-User-Name", "testuser")
+                            .header("X-User-Id", "42")
+                            .content(objectMapper.writeValueAsString(
+                                    BatchUrlRequestDto.builder().urls(List.of(testRequest)).build())))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.created").value(1))
+                    .andExpect(jsonPath("$.results[0].url.shortUrl").value("abc123XY"));
+        }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Should reject an empty batch")
+        void createShortUrls_EmptyBatch_Returns400() throws Exception {
+            mockMvc.perform(post("/api/v1/urls/batch")
+                            .with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .header("X-User-Name", "testuser")
+                            .content("{\"urls\":[]}"))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(urlService);
+        }
     }
 
     @Nested
@@ -162,7 +228,7 @@ class UrlControllerTest {
         @WithMockUser
         @DisplayName("Should return user URLs")
         void getUserUrls_Success() throws Exception {
-            when(urlService.getAllUserUrls("testuser"))
+            when(urlService.getAllUserUrls("testuser", null))
                     .thenReturn(Arrays.asList(testResponse));
 
             mockMvc.perform(get("/api/v1/urls")
@@ -175,7 +241,7 @@ class UrlControllerTest {
         @WithMockUser
         @DisplayName("Should return empty list when no URLs")
         void getUserUrls_EmptyList() throws Exception {
-            when(urlService.getAllUserUrls("testuser"))
+            when(urlService.getAllUserUrls("testuser", null))
                     .thenReturn(Collections.emptyList());
 
             mockMvc.perform(get("/api/v1/urls")
@@ -245,4 +311,119 @@ class UrlControllerTest {
                     .andExpect(jsonPath("$.message").value("Analytics temporarily unavailable. URL data is current."));
         }
     }
+
+    @Nested
+    @DisplayName("POST /api/v1/urls/stats:batch - getUrlStatsBatch")
+    class GetUrlStatsBatchTests {
+
+        @Test
+        @WithMockUser
+        @DisplayName("Should return stats for all known URLs with one analytics call")
+        void getUrlStatsBatch_Success() throws Exception {
+            Url first = Url.builder().id(1L).shortUrl("abc123XY").originalUrl("https://example.com/1").userId(1L).build();
+            Url second = Url.builder().id(2L).shortUrl("def456YZ").originalUrl("https://example.com/2").userId(1L).build();
+
+            when(urlRepository.findByShortUrlIn(List.of("def456YZ", "abc123XY", "unknown")))
+                    .thenReturn(List.of(first, second));
+            when(analyticsClientService.getUrlAnalyticsBatch(List.of(2L, 1L), 30))
+                    .thenReturn(List.of(
+                            UrlAnalyticsResponse.builder().urlId(2L).totalClicks(5L).build(),
+                            UrlAnalyticsResponse.builder().urlId(1L).totalClicks(100L).build()));
+
+            mockMvc.perform(post("/api/v1/urls/stats:batch")
+                            .with(csrf())
+                            .header("X-User-Name", "testuser")
+                            .header("X-User-Id", "1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(UrlStatsBatchRequestDto.builder()
+                                    .shortCodes(List.of("def456YZ", "abc123XY", "unknown"))
+                                    .days(30)
+                                    .build())))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(2))
+                    .andExpect(jsonPath("$[0].shortCode").value("def456YZ"))
+                    .andExpect(jsonPath("$[0].originalUrl").value("https://example.com/2"))
+                    .andExpect(jsonPath("$[1].totalClicks").value(100));
+        }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Should not call analytics when no short code is known")
+        void getUrlStatsBatch_NoKnownUrls() throws Exception {
+            when(urlRepository.findByShortUrlIn(List.of("unknown"))).thenReturn(List.of());
+
+            mockMvc.perform(post("/api/v1/urls/stats:batch")
+                            .with(csrf())
+                            .header("X-User-Name", "testuser")
+                            .header("X-User-Id", "1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"shortCodes\":[\"unknown\"]}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$").isEmpty());
+
+            verifyNoInteractions(analyticsClientService);
+        }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Should leave out URLs of other users")
+        void getUrlStatsBatch_OtherUsersUrls_LeftOut() throws Exception {
+            Url own = Url.builder().id(1L).shortUrl("abc123XY").originalUrl("https://example.com/1").userId(1L).build();
+            Url foreign = Url.builder().id(2L).shortUrl("def456YZ").originalUrl("https://example.com/2").userId(2L).build();
+
+            when(urlRepository.findByShortUrlIn(List.of("abc123XY", "def456YZ"))).thenReturn(List.of(own, foreign));
+            when(analyticsClientService.getUrlAnalyticsBatch(List.of(1L), 7))
+                    .thenReturn(List.of(UrlAnalyticsResponse.builder().urlId(1L).totalClicks(100L).build()));
+
+            mockMvc.perform(post("/api/v1/urls/stats:batch")
+                            .with(csrf())
+                            .header("X-User-Name", "testuser")
+                            .header("X-User-Id", "1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"shortCodes\":[\"abc123XY\",\"def456YZ\"]}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(jsonPath("$[0].shortCode").value("abc123XY"));
+
+            verify(analyticsClientService).getUrlAnalyticsBatch(List.of(1L), 7);
+        }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Should match the caller's URLs by name when the token has no user id")
+        void getUrlStatsBatch_NoUserIdHeader_MatchesByName() throws Exception {
+            Url own = Url.builder().id(1L).shortUrl("abc123XY").originalUrl("https://example.com/1").userId(1L).build();
+            Url foreign = Url.builder().id(2L).shortUrl("def456YZ").originalUrl("https://example.com/2").userId(2L).build();
+
+            when(urlService.getAllUserUrls("testuser")).thenReturn(List.of(testResponse));
+            when(urlRepository.findByShortUrlIn(List.of("abc123XY", "def456YZ"))).thenReturn(List.of(own, foreign));
+            when(analyticsClientService.getUrlAnalyticsBatch(List.of(1L), 7))
+                    .thenReturn(List.of(UrlAnalyticsResponse.builder().urlId(1L).totalClicks(100L).build()));
+
+            mockMvc.perform(post("/api/v1/urls/stats:batch")
+                            .with(csrf())
+                            .header("X-User-Name", "testuser")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"shortCodes\":[\"abc123XY\",\"def456YZ\"]}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(jsonPath("$[0].shortCode").value("abc123XY"));
+        }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Should reject a period of less than one day")
+        void getUrlStatsBatch_ZeroDays_Returns400() throws Exception {
+            mockMvc.perform(post("/api/v1/urls/stats:batch")
+                            .with(csrf())
+                            .header("X-User-Name", "testuser")
+                            .header("X-User-Id", "1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"shortCodes\":[\"abc123XY\"],\"days\":0}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.details.days").value("Days must be at least 1"));
+
+            verifyNoInteractions(urlRepository, analyticsClientService);
+        }
+    }
 }
@@ -0,0 +1,161 @@
+package com.urlshortener.service;
+
+import com.urlshortener.dto.UserDto;
+import com.urlshortener.lib.AuthServiceClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AuthClientService.
+ * A manual ticker drives the cache clock; background refreshes are queued and run
+ * explicitly via runRefreshes().
+ */
+@ExtendWith(MockitoExtension.class)
+class AuthClientServiceTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+    private static final Duration MAX_STALE = Duration.ofHours(1);
+
+    @Mock
+    private AuthServiceClient authServiceClient;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Queue<Runnable> refreshes = new ArrayDeque<>();
+    private SimpleMeterRegistry meterRegistry;
+    private AuthClientService authClientService;
+    private UserDto testUser;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        authClientService = new AuthClientService(authServiceClient, meterRegistry, TTL, MAX_STALE, 100,
+                nanos::get, refreshes::add);
+        testUser = UserDto.builder().id(1L).username("testuser").build();
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    private void runRefreshes() {
+        Runnable refresh;
+        while ((refresh = refreshes.poll()) != null) {
+            refresh.run();
+        }
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", AuthClientService.CACHE_NAME)
+                .tag("result", result).functionCounter().count();
+    }
+
+    @Test
+    @DisplayName("Should call Auth Service once for repeated lookups")
+    void getUserByUsername_IsCached() {
+        // Given
+        when(authServiceClient.getUserByUsername("testuser")).thenReturn(testUser);
+
+        // When
+        authClientService.getUserByUsername("testuser");
+        UserDto result = authClientService.getUserByUsername("testuser");
+
+        // Then
+        assertEquals(1L, result.getId());
+        verify(authServiceClient, times(1)).getUserByUsername("testuser");
+        assertEquals(1.0, gets("hit"));
+        assertEquals(1.0, gets("miss"));
+    }
+
+    @Test
+    @DisplayName("Should return the cached user and reload it once the TTL has passed")
+    void getUserByUsername_RevalidatesAfterTtl() {
+        // Given
+        UserDto renamed = UserDto.builder().id(1L).username("testuser").email("new@example.com").build();
+        when(authServiceClient.getUserByUsername("testuser")).thenReturn(testUser, renamed);
+        authClientService.getUserByUsername("testuser");
+        advance(TTL.plusSeconds(1));
+
+        // When
+        UserDto stale = authClientService.getUserByUsername("testuser");
+        runRefreshes();
+        UserDto fresh = authClientService.getUserByUsername("testuser");
+
+        // Then
+        assertSame(testUser, stale);
+        assertSame(renamed, fresh);
+        verify(authServiceClient, times(2)).getUserByUsername("testuser");
+    }
+
+    @Test
+    @DisplayName("Should keep serving the cached user while Auth Service is down")
+    void getUserByUsername_ServesStale_WhenAuthServiceDown() {
+        // Given
+        when(authServiceClient.getUserByUsername("testuser"))
+                .thenReturn(testUser)
+                .thenThrow(new RuntimeException("auth-service unavailable"));
+        authClientService.getUserByUsername("testuser");
+        advance(TTL.plusSeconds(1));
+
+        // When / Then
+        assertSame(testUser, authClientService.getUserByUsername("testuser"));
+        runRefreshes();
+        assertSame(testUser, authClientService.getUserByUsername("testuser"));
+    }
+
+    @Test
+    @DisplayName("Should stop serving the cached user after max-stale")
+    void getUserByUsername_Throws_WhenStaleTooLongAndAuthServiceDown() {
+        // Given
+        when(authServiceClient.getUserByUsername("testuser"))
+                .thenReturn(testUser)
+                .thenThrow(new RuntimeException("auth-service unavailable"));
+        authClientService.getUserByUsername("testuser");
+        advance(MAX_STALE.plusSeconds(1));
+
+        // When / Then
+        assertThrows(RuntimeException.class, () -> authClientService.getUserByUsername("testuser"));
+    }
+
+    @Test
+    @DisplayName("Should not cache unknown users")
+    void getUserByUsername_DoesNotCacheNull() {
+        // Given
+        when(authServiceClient.getUserByUsername("unknown")).thenReturn(null);
+
+        // When
+        authClientService.getUserByUsername("unknown");
+        UserDto result = authClientService.getUserByUsername("unknown");
+
+        // Then
+        assertNull(result);
+        verify(authServiceClient, times(2)).getUserByUsername("unknown");
+    }
+
+    @Test
+    @DisplayName("Should reload the user after it was evicted")
+    void evict_ForcesReload() {
+        // Given
+        when(authServiceClient.getUserByUsername("testuser")).thenReturn(testUser);
+        authClientService.getUserByUsername("testuser");
+
+        // When
+        authClientService.evict("testuser");
+        authClientService.getUserByUsername("testuser");
+
+        // Then
+        verify(authServiceClient, times(2)).getUserByUsername("testuser");
+    }
+}
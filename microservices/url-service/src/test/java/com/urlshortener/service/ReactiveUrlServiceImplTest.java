@@ -0,0 +1,228 @@
+package com.urlshortener.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.urlshortener.cache.TwoTierCache;
+import com.urlshortener.config.CacheConfig;
+import com.urlshortener.dto.UrlResponseDto;
+import com.urlshortener.exception.UrlDeactivatedException;
+import com.urlshortener.exception.UrlExpiredException;
+import com.urlshortener.service.impl.ReactiveUrlServiceImpl;
+import com.urlshortener.service.lookup.UrlKeyLookup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReactiveUrlServiceImpl.
+ * Covers lookups answered by L1, by the shared "urls" cache entry, and by the DB
+ * through the configured key mode.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReactiveUrlServiceImplTest {
+
+    private static final String CACHE_KEY = "urlshortener:urls::abc123XY";
+    private static final String FIND_BY_SHORT_URL =
+            "SELECT id, original_url, short_url, expires_at, click_count, deactivated FROM urls WHERE short_url = :shortUrl";
+    private static final String FIND_BY_SHORT_CODE_KEY =
+            "SELECT id, original_url, short_url, expires_at, click_count, deactivated FROM urls WHERE short_code_key = :key";
+
+    @Mock
+    private DatabaseClient databaseClient;
+
+    @Mock
+    private ReactiveRedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, Object> valueOperations;
+
+    @Mock
+    private UrlKeyLookup urlKeyLookup;
+
+    private TwoTierCache urlCache;
+    private ReactiveUrlServiceImpl reactiveUrlService;
+    private UrlResponseDto cachedUrl;
+
+    @BeforeEach
+    void setUp() {
+        CacheConfig cacheConfig = new CacheConfig();
+        ReflectionTestUtils.setField(cacheConfig, "codec", CacheConfig.CacheCodec.BINARY);
+        ReflectionTestUtils.setField(cacheConfig, "ttl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(cacheConfig, "tombstoneTtl", Duration.ofSeconds(30));
+        RedisCacheConfiguration cacheConfiguration = cacheConfig.cacheConfiguration();
+        urlCache = new TwoTierCache(CacheConfig.URL_CACHE, Caffeine.newBuilder().maximumSize(100).build(),
+                mock(Cache.class), key -> { }, new SimpleMeterRegistry());
+        CacheManager cacheManager = mock(CacheManager.class);
+        when(cacheManager.getCache(CacheConfig.URL_CACHE)).thenReturn(urlCache);
+        reactiveUrlService = new ReactiveUrlServiceImpl(databaseClient, redisTemplate, cacheConfiguration,
+                cacheManager, urlKeyLookup, new SimpleMeterRegistry());
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        // SHORT_URL key mode unless a test says otherwise
+        lenient().when(urlKeyLookup.numericKey(anyString())).thenReturn(null);
+
+        cachedUrl = UrlResponseDto.builder()
+                .id(1L)
+                .shortUrl("abc123XY")
+                .originalUrl("https://example.com/long/url")
+                .expiresAt(LocalDateTime.now().plusDays(7))
+                .clickCount(0)
+                .deactivated(false)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should answer from the same Redis key as the @Cacheable path")
+    void getOriginalUrl_CacheHit_ReturnsWithoutDatabase() {
+        // Given
+        when(valueOperations.get(CACHE_KEY)).thenReturn(Mono.just(cachedUrl));
+
+        // When
+        UrlResponseDto result = reactiveUrlService.getOriginalUrl("abc123XY").block();
+
+        // Then
+        assertEquals(cachedUrl, result);
+        verifyNoInteractions(databaseClient);
+    }
+
+    @Test
+    @DisplayName("Should fail with UrlDeactivatedException for a deactivated URL")
+    void getOriginalUrl_Deactivated_ThrowsException() {
+        // Given
+        cachedUrl.setDeactivated(true);
+        when(valueOperations.get(CACHE_KEY)).thenReturn(Mono.just(cachedUrl));
+
+        // When / Then
+        assertThrows(UrlDeactivatedException.class, () -> reactiveUrlService.getOriginalUrl("abc123XY").block());
+    }
+
+    @Test
+    @DisplayName("Should fail with UrlExpiredException for an expired URL")
+    void getOriginalUrl_Expired_ThrowsException() {
+        // Given
+        cachedUrl.setExpiresAt(LocalDateTime.now().minusDays(1));
+        when(valueOperations.get(CACHE_KEY)).thenReturn(Mono.just(cachedUrl));
+
+        // When / Then
+        assertThrows(UrlExpiredException.class, () -> reactiveUrlService.getOriginalUrl("abc123XY").block());
+    }
+
+    @Test
+    @DisplayName("Should answer from L1 without a Redis round trip")
+    void getOriginalUrl_L1Hit_SkipsRedis() {
+        // Given
+        urlCache.putLocal("abc123XY", cachedUrl);
+
+        // When
+        UrlResponseDto result = reactiveUrlService.getOriginalUrl("abc123XY").block();
+
+        // Then
+        assertEquals(cachedUrl, result);
+        verifyNoInteractions(valueOperations, databaseClient);
+    }
+
+    @Test
+    @DisplayName("Should copy a Redis hit into L1")
+    void getOriginalUrl_RedisHit_FillsL1() {
+        // Given
+        when(valueOperations.get(CACHE_KEY)).thenReturn(Mono.just(cachedUrl));
+
+        // When
+        reactiveUrlService.getOriginalUrl("abc123XY").block();
+
+        // Then
+        assertNotNull(urlCache.getLocal("abc123XY"));
+    }
+
+    @Test
+    @DisplayName("Should look up by short_code_key in NUMERIC key mode")
+    void getOriginalUrl_NumericKeyMode_QueriesShortCodeKey() {
+        // Given
+        when(valueOperations.get(CACHE_KEY)).thenReturn(Mono.empty());
+        when(valueOperations.set(eq(CACHE_KEY), any(), any(Duration.class))).thenReturn(Mono.just(true));
+        when(urlKeyLookup.numericKey("abc123XY")).thenReturn(42L);
+        databaseReturns(FIND_BY_SHORT_CODE_KEY, Mono.just(cachedUrl));
+
+        // When
+        UrlResponseDto result = reactiveUrlService.getOriginalUrl("abc123XY").block();
+
+        // Then
+        assertEquals(cachedUrl, result);
+        verify(databaseClient, never()).sql(FIND_BY_SHORT_URL);
+        assertNotNull(urlCache.getLocal("abc123XY"));
+    }
+
+    @Test
+    @DisplayName("Should fall back to short_url on a key miss until the backfill is done")
+    void getOriginalUrl_NumericKeyMissBeforeBackfill_FallsBackToShortUrl() {
+        // Given
+        when(valueOperations.get(CACHE_KEY)).thenReturn(Mono.empty());
+        when(valueOperations.set(eq(CACHE_KEY), any(), any(Duration.class))).thenReturn(Mono.just(true));
+        when(urlKeyLookup.numericKey("abc123XY")).thenReturn(42L);
+        when(urlKeyLookup.isBackfilled()).thenReturn(false);
+        databaseReturns(FIND_BY_SHORT_CODE_KEY, Mono.empty());
+        databaseReturns(FIND_BY_SHORT_URL, Mono.just(cachedUrl));
+
+        // When
+        UrlResponseDto result = reactiveUrlService.getOriginalUrl("abc123XY").block();
+
+        // Then
+        assertEquals(cachedUrl, result);
+    }
+
+    @Test
+    @DisplayName("Should share one Redis read and DB query between concurrent misses")
+    void getOriginalUrl_ConcurrentMisses_LoadOnce() {
+        // Given - the DB answers only after both requests are waiting
+        Sinks.One<UrlResponseDto> row = Sinks.one();
+        when(valueOperations.get(CACHE_KEY)).thenReturn(Mono.empty());
+        when(valueOperations.set(eq(CACHE_KEY), any(), any(Duration.class))).thenReturn(Mono.just(true));
+        databaseReturns(FIND_BY_SHORT_URL, row.asMono());
+
+        // When
+        Mono<UrlResponseDto> first = reactiveUrlService.getOriginalUrl("abc123XY");
+        Mono<UrlResponseDto> second = reactiveUrlService.getOriginalUrl("abc123XY");
+        UrlResponseDto[] results = new UrlResponseDto[2];
+        first.subscribe(url -> results[0] = url);
+        second.subscribe(url -> results[1] = url);
+        row.tryEmitValue(cachedUrl);
+
+        // Then
+        assertEquals(cachedUrl, results[0]);
+        assertEquals(cachedUrl, results[1]);
+        verify(valueOperations, times(1)).get(CACHE_KEY);
+        verify(databaseClient, times(1)).sql(anyString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void databaseReturns(String sql, Mono<UrlResponseDto> result) {
+        DatabaseClient.GenericExecuteSpec spec = mock(DatabaseClient.GenericExecuteSpec.class);
+        RowsFetchSpec<UrlResponseDto> rows = mock(RowsFetchSpec.class);
+        when(databaseClient.sql(sql)).thenReturn(spec);
+        when(spec.bind(anyString(), any())).thenReturn(spec);
+        when(spec.map(any(Function.class))).thenReturn(rows);
+        when(rows.one()).thenReturn(result);
+    }
+}
@@ -1,5 +1,8 @@
 package com.urlshortener.service;
 
+import com.urlshortener.cache.SingleFlightLoader;
+import com.urlshortener.config.CacheConfig;
+import com.urlshortener.dto.BatchUrlResponseDto;
 import com.urlshortener.dto.UrlRequestDto;
 import com.urlshortener.dto.UrlResponseDto;
 import com.urlshortener.dto.UserDto;
@@ -8,30 +11,51 @@ import com.urlshortener.exception.UrlExpiredException;
 import com.urlshortener.exception.UrlNotFoundException;
 import com.urlshortener.lib.AuthServiceClient;
 import com.urlshortener.model.Url;
+import com.urlshortener.repository.UrlBatchRepository;
 import com.urlshortener.repository.UrlRepository;
+import com.urlshortener.service.bloom.ShortUrlBloomFilter;
+import com.urlshortener.service.counter.WriteBehindClickCounter;
+import com.urlshortener.service.generator.SimpleCounterGenerator;
 import com.urlshortener.service.generator.UrlGeneratorStrategy;
 import com.urlshortener.service.generator.UrlGeneratorFactory;
+import com.urlshortener.service.groupcommit.GroupCommitUrlInserter;
 import com.urlshortener.service.impl.UrlServiceImpl;
+import com.urlshortener.service.lookup.UrlKeyLookup;
+import com.urlshortener.service.lookup.UrlKeyLookup.KeyMode;
+import com.urlshortener.util.Base62;
+import com.urlshortener.util.UrlCanonicalizer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -53,7 +77,25 @@ class UrlServiceImplTest {
     @Mock
     private AuthServiceClient authServiceClient;
 
-    @InjectMocks
+    @Mock
+    private WriteBehindClickCounter clickCounter;
+
+    @Mock
+    private ShortUrlBloomFilter shortUrlBloomFilter;
+
+    @Mock
+    private SingleFlightLoader singleFlightLoader;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private UrlBatchRepository urlBatchRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.URL_CACHE);
+
     private UrlServiceImpl urlService;
 
     private UserDto testUser;
@@ -62,9 +104,25 @@ class UrlServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        urlService = new UrlServiceImpl(urlRepository, urlGeneratorFactory,
+                new AuthClientService(authServiceClient, new SimpleMeterRegistry(),
+                        Duration.ofMinutes(5), Duration.ofHours(1), 100, Runnable::run),
+                clickCounter, shortUrlBloomFilter, cacheManager,
+                singleFlightLoader, new TransactionTemplate(transactionManager), meterRegistry,
+                urlBatchRepository, Validation.buildDefaultValidatorFactory().getValidator(),
+                new UrlKeyLookup(urlRepository, null, KeyMode.SHORT_URL, false, 1000),
+                new GroupCommitUrlInserter(urlBatchRepository, new TransactionTemplate(transactionManager),
+                        meterRegistry, false, Duration.ofMillis(1), 100));
+        // No concurrent misses in these tests: run the loader directly
+        lenient().when(singleFlightLoader.load(anyString(), anyString(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<Object>>getArgument(3).get());
+
         // Set the generator strategy via reflection
         ReflectionTestUtils.setField(urlService, "generatorStrategy",
             UrlGeneratorFactory.GeneratorStrategy.DISTRIBUTED);
+        ReflectionTestUtils.setField(urlService, "tombstoneTtl", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(urlService, "maxBatchSize", 100);
 
         testUser = UserDto.builder()
                 .id(1L)
@@ -99,8 +157,7 @@ class UrlServiceImplTest {
             when(authServiceClient.getUserByUsername("testuser")).thenReturn(testUser);
             when(urlGeneratorFactory.getGenerator(any())).thenReturn(urlGeneratorStrategy);
             when(urlGeneratorStrategy.generateShortUrl()).thenReturn("abc123XY");
-            when(urlRepository.existsByShortUrl("abc123XY")).thenReturn(false);
-            when(urlRepository.save(any(Url.class))).thenReturn(testUrl);
+            when(urlRepository.saveAndFlush(any(Url.class))).thenReturn(testUrl);
 
             // When
             UrlResponseDto result = urlService.createShortUrl(testRequest, "testuser");
@@ -112,30 +169,120 @@ class UrlServiceImplTest {
             assertEquals(0, result.getClickCount());
             assertFalse(result.isDeactivated());
 
-            verify(urlRepository).save(any(Url.class));
+            verify(urlRepository).saveAndFlush(any(Url.class));
             verify(authServiceClient).getUserByUsername("testuser");
         }
 
         @Test
-        @DisplayName("Should handle collision and regenerate short URL")
-        void createShortUrl_HandlesCollision() {
-            // Given
+        @DisplayName("Should drop a NOT_FOUND tombstone cached before the code existed")
+        void createShortUrl_EvictsTombstone() {
+            // Given - the code was looked up (and tombstoned) before it was created
+            when(urlRepository.findByShortUrl("abc123XY"))
+                    .thenReturn(Optional.empty())
+                    .thenReturn(Optional.of(testUrl));
+            assertThrows(UrlNotFoundException.class, () -> urlService.getOriginalUrl("abc123XY"));
+
+            when(authServiceClient.getUserByUsername("testuser")).thenReturn(testUser);
+            when(urlGeneratorFactory.getGenerator(any())).thenReturn(urlGeneratorStrategy);
+            when(urlGeneratorStrategy.generateShortUrl()).thenReturn("abc123XY");
+            when(urlRepository.saveAndFlush(any(Url.class))).thenReturn(testUrl);
+
+            // When
+            urlService.createShortUrl(testRequest, "testuser");
+
+            // Then
+            assertEquals("https://example.com/long/url/path", urlService.getOriginalUrl("abc123XY").getOriginalUrl());
+        }
+
+        @Test
+        @DisplayName("Should not evict the new code from the cache while tombstones are disabled")
+        void createShortUrl_TombstonesDisabled_NoEvict() {
+            // Given - an entry under the code, which only an evict would remove
+            ReflectionTestUtils.setField(urlService, "tombstoneTtl", Duration.ZERO);
+            cacheManager.getCache(CacheConfig.URL_CACHE).put("abc123XY", "cached");
             when(authServiceClient.getUserByUsername("testuser")).thenReturn(testUser);
             when(urlGeneratorFactory.getGenerator(any())).thenReturn(urlGeneratorStrategy);
+            when(urlGeneratorStrategy.generateShortUrl()).thenReturn("abc123XY");
+            when(urlRepository.saveAndFlush(any(Url.class))).thenReturn(testUrl);
+
+            // When
+            urlService.createShortUrl(testRequest, "testuser");
+
+            // Then
+            assertNotNull(cacheManager.getCache(CacheConfig.URL_CACHE).get("abc123XY"));
+        }
+
+        @Test
+        @DisplayName("Should retry with a new code when the insert hits the short_url unique constraint")
+        void createShortUrl_UniqueViolation_RetriesWithNewCode() {
+            // Given
+            when(urlGeneratorFactory.getGenerator(any())).thenReturn(urlGeneratorStrategy);
             when(urlGeneratorStrategy.generateShortUrl())
                     .thenReturn("abc123XY")  // First attempt - collides
                     .thenReturn("def456YZ"); // Second attempt - succeeds
-            when(urlRepository.existsByShortUrl("abc123XY")).thenReturn(true);
-            when(urlRepository.existsByShortUrl("def456YZ")).thenReturn(false);
-            when(urlRepository.save(any(Url.class))).thenReturn(testUrl);
+            when(urlRepository.saveAndFlush(any(Url.class)))
+                    .thenThrow(shortUrlCollision())
+                    .thenReturn(testUrl);
 
             // When
-            urlService.createShortUrl(testRequest, "testuser");
+            UrlResponseDto result = urlService.createShortUrl(testRequest, "testuser", 1L);
 
             // Then
+            assertEquals("abc123XY", result.getShortUrl());
             verify(urlGeneratorStrategy, times(2)).generateShortUrl();
-            verify(urlRepository).existsByShortUrl("abc123XY");
-            verify(urlRepository).existsByShortUrl("def456YZ");
+            verify(urlRepository, times(2)).saveAndFlush(any(Url.class));
+            verify(transactionManager, times(2)).getTransaction(any());
+            assertEquals(1.0, meterRegistry.get("url.create.collisions").counter().count());
+        }
+
+        @Test
+        @DisplayName("Should give up after three colliding attempts")
+        void createShortUrl_RepeatedUniqueViolation_Throws() {
+            // Given
+            when(urlGeneratorFactory.getGenerator(any())).thenReturn(urlGeneratorStrategy);
+            when(urlGeneratorStrategy.generateShortUrl()).thenReturn("abc123XY");
+            when(urlRepository.saveAndFlush(any(Url.class))).thenThrow(shortUrlCollision());
+
+            // When / Then
+            assertThrows(DataIntegrityViolationException.class,
+                    () -> urlService.createShortUrl(testRequest, "testuser", 1L));
+            verify(urlRepository, times(3)).saveAndFlush(any(Url.class));
+            assertEquals(2.0, meterRegistry.get("url.create.collisions").counter().count());
+        }
+
+        @Test
+        @DisplayName("Should keep retrying past three collisions for a counter that restarted below existing codes")
+        void createShortUrl_RepeatingGenerator_RetriesUntilCodeIsFree() {
+            // Given - SIMPLE_COUNTER after a restart: its first five codes already exist
+            when(urlGeneratorFactory.getGenerator(any())).thenReturn(new SimpleCounterGenerator());
+            when(urlRepository.saveAndFlush(any(Url.class)))
+                    .thenThrow(shortUrlCollision(), shortUrlCollision(), shortUrlCollision(),
+                            shortUrlCollision(), shortUrlCollision())
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            UrlResponseDto result = urlService.createShortUrl(testRequest, "testuser", 1L);
+
+            // Then - the sixth code, 1,000,005
+            assertEquals(Base62.encode(1_000_005L), result.getShortUrl());
+            verify(urlRepository, times(6)).saveAndFlush(any(Url.class));
+            assertEquals(5.0, meterRegistry.get("url.create.collisions").counter().count());
+        }
+
+        @Test
+        @DisplayName("Should not retry other integrity violations")
+        void createShortUrl_OtherIntegrityViolation_ThrowsWithoutRetry() {
+            // Given
+            when(urlGeneratorFactory.getGenerator(any())).thenReturn(urlGeneratorStrategy);
+            when(urlGeneratorStrategy.generateShortUrl()).thenReturn("abc123XY");
+            when(urlRepository.saveAndFlush(any(Url.class))).thenThrow(new DataIntegrityViolationException("not-null",
+                    new SQLException("null value in column \"original_url\" violates not-null constraint", "23502")));
+
+            // When / Then
+            assertThrows(DataIntegrityViolationException.class,
+                    () -> urlService.createShortUrl(testRequest, "testuser", 1L));
+            verify(urlRepository, times(1)).saveAndFlush(any(Url.class));
+            assertTrue(meterRegistry.find("url.create.collisions").counters().isEmpty());
         }
 
         @Test
@@ -143,16 +290,13 @@ class UrlServiceImplTest {
         void createShortUrl_ThrowsException_WhenUserNotFound() {
             // Given
             when(authServiceClient.getUserByUsername("nonexistent")).thenReturn(null);
-            when(urlGeneratorFactory.getGenerator(any())).thenReturn(urlGeneratorStrategy);
-            when(urlGeneratorStrategy.generateShortUrl()).thenReturn("abc123XY");
-            when(urlRepository.existsByShortUrl(anyString())).thenReturn(false);
 
             // When / Then
             assertThrows(UsernameNotFoundException.class, () ->
                     urlService.createShortUrl(testRequest, "nonexistent")
             );
 
-            verify(urlRepository, never()).save(any());
+            verify(urlRepository, never()).saveAndFlush(any());
         }
 
         @Test
@@ -163,8 +307,7 @@ class UrlServiceImplTest {
             when(authServiceClient.getUserByUsername("testuser")).thenReturn(testUser);
             when(urlGeneratorFactory.getGenerator(any())).thenReturn(urlGeneratorStrategy);
             when(urlGeneratorStrategy.generateShortUrl()).thenReturn("abc123XY");
-            when(urlRepository.existsByShortUrl("abc123XY")).thenReturn(false);
-            when(urlRepository.save(any(Url.class))).thenAnswer(invocation -> {
+            when(urlRepository.saveAndFlush(any(Url.class))).thenAnswer(invocation -> {
                 Url savedUrl = invocation.getArgument(0);
                 // Verify expiration is approximately 7 days from now
                 assertTrue(savedUrl.getExpiresAt().isAfter(LocalDateTime.now().plusDays(6)));
@@ -176,7 +319,240 @@ class UrlServiceImplTest {
             urlService.createShortUrl(testRequest, "testuser");
 
             // Then
-            verify(urlRepository).save(any(Url.class));
+            verify(urlRepository).saveAndFlush(any(Url.class));
+        }
+
+        @Test
+        @DisplayName("Should use the gateway's user id without calling Auth Service")
+        void createShortUrl_UsesUserIdHeader_WithoutAuthServiceCall() {
+            // Given
+            when(urlGeneratorFactory.getGenerator(any())).thenReturn(urlGeneratorStrategy);
+            when(urlGeneratorStrategy.generateShortUrl()).thenReturn("abc123XY");
+            when(urlRepository.saveAndFlush(any(Url.class))).thenAnswer(invocation -> {
+                assertEquals(42L, invocation.<Url>getArgument(0).getUserId());
+                return testUrl;
+            });
+
+            // When
+            urlService.createShortUrl(testRequest, "testuser", 42L);
+
+            // Then
+            verify(urlRepository).saveAndFlush(any(Url.class));
+            verifyNoInteractions(authServiceClient);
+        }
+
+        @Test
+        @DisplayName("Should add the new code to the Bloom filter before inserting it")
+        void createShortUrl_AddsToBloomFilter_BeforeSave() {
+            // Given
+            when(urlGeneratorFactory.getGenerator(any())).thenReturn(urlGeneratorStrategy);
+            when(urlGeneratorStrategy.generateShortUrl()).thenReturn("abc123XY");
+            when(urlRepository.saveAndFlush(any(Url.class))).thenReturn(testUrl);
+
+            // When
+            urlService.createShortUrl(testRequest, "testuser", 1L);
+
+            // Then - a redirect arriving right after the insert must not be rejected
+            InOrder inOrder = inOrder(shortUrlBloomFilter, urlRepository);
+            inOrder.verify(shortUrlBloomFilter).add("abc123XY");
+            inOrder.verify(urlRepository).saveAndFlush(any(Url.class));
+        }
+
+        @Test
+        @DisplayName("Should insert through the group commit when it is enabled")
+        void createShortUrl_GroupCommitEnabled_InsertsInBatch() throws InterruptedException {
+            // Given
+            GroupCommitUrlInserter inserter = new GroupCommitUrlInserter(urlBatchRepository,
+                    new TransactionTemplate(transactionManager), meterRegistry, true, Duration.ofMillis(1), 100);
+            inserter.start();
+            ReflectionTestUtils.setField(urlService, "groupCommitUrlInserter", inserter);
+            when(urlGeneratorFactory.getGenerator(any())).thenReturn(urlGeneratorStrategy);
+            when(urlGeneratorStrategy.generateShortUrl()).thenReturn("abc123XY");
+            doAnswer(invocation -> {
+                invocation.<List<Url>>getArgument(0).forEach(url -> url.setId(7L));
+                return null;
+            }).when(urlBatchRepository).insertAll(anyList());
+
+            // When
+            UrlResponseDto result;
+            try {
+                result = urlService.createShortUrl(testRequest, "testuser", 1L);
+            } finally {
+                inserter.stop();
+            }
+
+            // Then
+            assertEquals(7L, result.getId());
+            assertEquals("abc123XY", result.getShortUrl());
+            verify(urlBatchRepository).insertAll(anyList());
+            verify(urlRepository, never()).saveAndFlush(any(Url.class));
+        }
+
+        @Test
+        @DisplayName("Should return the user's existing code for the same destination when dedup is enabled")
+        void createShortUrl_DedupHit_ReturnsExistingCode() {
+            // Given
+            ReflectionTestUtils.setField(urlService, "dedupEnabled", true);
+            Url existing = Url.builder()
+                    .id(5L)
+                    .originalUrl("HTTPS://Example.com:443/long/url/path")
+                    .shortUrl("old123XY")
+                    .userId(1L)
+                    .createdAt(LocalDateTime.now().minusDays(1))
+                    .expiresAt(LocalDateTime.now().plusDays(30))
+                    .clickCount(5)
+                    .deactivated(false)
+                    .build();
+            when(urlRepository.findDedupCandidates(eq(1L),
+                    eq(UrlCanonicalizer.hash("https://example.com/long/url/path")), any()))
+                    .thenReturn(List.of(existing));
+
+            // When
+            UrlResponseDto result = urlService.createShortUrl(testRequest, "testuser", 1L);
+
+            // Then
+            assertEquals("old123XY", result.getShortUrl());
+            verify(urlRepository, never()).saveAndFlush(any(Url.class));
+            verifyNoInteractions(urlGeneratorFactory);
+            assertEquals(1.0, meterRegistry.counter("url.dedup.lookups", "result", "hit").count());
+        }
+
+        @Test
+        @DisplayName("Should create a new code when the candidate only shares the hash")
+        void createShortUrl_DedupHashCollision_CreatesNewCode() {
+            // Given
+            ReflectionTestUtils.setField(urlService, "dedupEnabled", true);
+            Url other = Url.builder()
+                    .originalUrl("https://example.com/other")
+                    .shortUrl("old123XY")
+                    .userId(1L)
+                    .expiresAt(LocalDateTime.now().plusDays(30))
+                    .deactivated(false)
+                    .build();
+            when(urlRepository.findDedupCandidates(eq(1L), anyLong(), any())).thenReturn(List.of(other));
+            when(urlGeneratorFactory.getGenerator(any())).thenReturn(urlGeneratorStrategy);
+            when(urlGeneratorStrategy.generateShortUrl()).thenReturn("abc123XY");
+            when(urlRepository.saveAndFlush(any(Url.class))).thenReturn(testUrl);
+
+            // When
+            UrlResponseDto result = urlService.createShortUrl(testRequest, "testuser", 1L);
+
+            // Then
+            assertEquals("abc123XY", result.getShortUrl());
+            assertEquals(1.0, meterRegistry.counter("url.dedup.lookups", "result", "miss").count());
+        }
+
+        @Test
+        @DisplayName("Should not look up duplicates when dedup is disabled")
+        void createShortUrl_DedupDisabled_NoLookup() {
+            // Given
+            when(urlGeneratorFactory.getGenerator(any())).thenReturn(urlGeneratorStrategy);
+            when(urlGeneratorStrategy.generateShortUrl()).thenReturn("abc123XY");
+            when(urlRepository.saveAndFlush(any(Url.class))).thenReturn(testUrl);
+
+            // When
+            urlService.createShortUrl(testRequest, "testuser", 1L);
+
+            // Then
+            verify(urlRepository, never()).findDedupCandidates(any(), anyLong(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("createShortUrls tests")
+    class CreateShortUrlsTests {
+
+        @Test
+        @DisplayName("Should resolve the user once and insert all rows in one batch")
+        void createShortUrls_Success_OneUserLookupAndOneBatch() {
+            // Given
+            when(authServiceClient.getUserByUsername("testuser")).thenReturn(testUser);
+            when(urlGeneratorFactory.getGenerator(any())).thenReturn(urlGeneratorStrategy);
+            when(urlGeneratorStrategy.generateShortUrls(3)).thenReturn(List.of("a1", "a2", "a3"));
+            doAnswer(invocation -> {
+                List<Url> urls = invocation.getArgument(0);
+                for (int i = 0; i < urls.size(); i++) {
+                    assertEquals(1L, urls.get(i).getUserId());
+                    urls.get(i).setId(100L + i);
+                }
+                return null;
+            }).when(urlBatchRepository).insertAll(anyList());
+
+            // When
+            BatchUrlResponseDto response = urlService.createShortUrls(
+                    List.of(testRequest, testRequest, testRequest), "testuser", null);
+
+            // Then
+            assertEquals(3, response.getCreated());
+            assertEquals(0, response.getFailed());
+            assertEquals("a2", response.getResults().get(1).getUrl().getShortUrl());
+            assertEquals(101L, response.getResults().get(1).getUrl().getId());
+            verify(authServiceClient, times(1)).getUserByUsername("testuser");
+            verify(urlBatchRepository, times(1)).insertAll(anyList());
+            verify(urlGeneratorStrategy, never()).generateShortUrl();
+        }
+
+        @Test
+        @DisplayName("Should use the gateway's user id without calling Auth Service")
+        void createShortUrls_UsesUserIdHeader_WithoutAuthServiceCall() {
+            // Given
+            when(urlGeneratorFactory.getGenerator(any())).thenReturn(urlGeneratorStrategy);
+            when(urlGeneratorStrategy.generateShortUrls(1)).thenReturn(List.of("a1"));
+
+            // When
+            urlService.createShortUrls(List.of(testRequest), "testuser", 42L);
+
+            // Then
+            verify(urlBatchRepository).insertAll(argThat(urls -> urls.get(0).getUserId() == 42L));
+            verifyNoInteractions(authServiceClient);
+        }
+
+        @Test
+        @DisplayName("Should fail only the invalid item of a batch")
+        void createShortUrls_InvalidItem_OnlyThatItemFails() {
+            // Given
+            when(urlGeneratorFactory.getGenerator(any())).thenReturn(urlGeneratorStrategy);
+            when(urlGeneratorStrategy.generateShortUrls(2)).thenReturn(List.of("a1", "a2"));
+            UrlRequestDto invalid = UrlRequestDto.builder().url("not a url").build();
+
+            // When
+            BatchUrlResponseDto response = urlService.createShortUrls(
+                    List.of(testRequest, invalid, testRequest), "testuser", 1L);
+
+            // Then
+            assertEquals(2, response.getCreated());
+            assertEquals(1, response.getFailed());
+            assertNull(response.getResults().get(1).getUrl());
+            assertEquals("Invalid URL format", response.getResults().get(1).getError());
+            assertEquals("a2", response.getResults().get(2).getUrl().getShortUrl());
+        }
+
+        @Test
+        @DisplayName("Should retry the batch with new codes on a short_url collision")
+        void createShortUrls_UniqueViolation_RetriesWithNewCodes() {
+            // Given
+            when(urlGeneratorFactory.getGenerator(any())).thenReturn(urlGeneratorStrategy);
+            when(urlGeneratorStrategy.generateShortUrls(1)).thenReturn(List.of("taken"), List.of("fresh"));
+            doThrow(shortUrlCollision()).doNothing().when(urlBatchRepository).insertAll(anyList());
+
+            // When
+            BatchUrlResponseDto response = urlService.createShortUrls(List.of(testRequest), "testuser", 1L);
+
+            // Then
+            assertEquals("fresh", response.getResults().get(0).getUrl().getShortUrl());
+            assertEquals(1.0, meterRegistry.get("url.create.collisions").counter().count());
+        }
+
+        @Test
+        @DisplayName("Should reject a batch above url.batch.max-size")
+        void createShortUrls_TooLarge_Throws() {
+            // Given
+            List<UrlRequestDto> requests = Collections.nCopies(101, testRequest);
+
+            // When / Then
+            assertThrows(IllegalArgumentException.class,
+                    () -> urlService.createShortUrls(requests, "testuser", 1L));
+            verifyNoInteractions(urlBatchRepository, authServiceClient);
         }
     }
 
@@ -246,6 +622,65 @@ class UrlServiceImplTest {
             assertTrue(exception.getMessage().contains("expired"));
             verify(urlRepository, never()).save(any());
         }
+
+        @Test
+        @DisplayName("Should answer repeated lookups of an active URL from the cache")
+        void getOriginalUrl_RepeatedLookup_QueriesDatabaseOnce() {
+            // Given
+            when(urlRepository.findByShortUrl("abc123XY")).thenReturn(Optional.of(testUrl));
+
+            // When
+            urlService.getOriginalUrl("abc123XY");
+            UrlResponseDto result = urlService.getOriginalUrl("abc123XY");
+
+            // Then
+            assertEquals("https://example.com/long/url/path", result.getOriginalUrl());
+            verify(urlRepository, times(1)).findByShortUrl("abc123XY");
+        }
+
+        @Test
+        @DisplayName("Should answer repeated lookups of a dead link from its tombstone")
+        void getOriginalUrl_RepeatedDeadLink_QueriesDatabaseOnce() {
+            // Given
+            testUrl.setDeactivated(true);
+            when(urlRepository.findByShortUrl("abc123XY")).thenReturn(Optional.of(testUrl));
+
+            // When
+            assertThrows(UrlDeactivatedException.class, () -> urlService.getOriginalUrl("abc123XY"));
+            assertThrows(UrlDeactivatedException.class, () -> urlService.getOriginalUrl("abc123XY"));
+
+            // Then
+            verify(urlRepository, times(1)).findByShortUrl("abc123XY");
+        }
+
+        @Test
+        @DisplayName("Should not cache dead links when tombstones are disabled")
+        void getOriginalUrl_TombstonesDisabled_QueriesDatabaseEveryTime() {
+            // Given
+            ReflectionTestUtils.setField(urlService, "tombstoneTtl", Duration.ZERO);
+            when(urlRepository.findByShortUrl("nonexistent")).thenReturn(Optional.empty());
+
+            // When
+            assertThrows(UrlNotFoundException.class, () -> urlService.getOriginalUrl("nonexistent"));
+            assertThrows(UrlNotFoundException.class, () -> urlService.getOriginalUrl("nonexistent"));
+
+            // Then
+            verify(urlRepository, times(2)).findByShortUrl("nonexistent");
+        }
+
+        @Test
+        @DisplayName("Should create the URL exceptions without a stack trace")
+        void getOriginalUrl_NotFound_ExceptionHasNoStackTrace() {
+            // Given
+            when(urlRepository.findByShortUrl("nonexistent")).thenReturn(Optional.empty());
+
+            // When
+            UrlNotFoundException exception = assertThrows(UrlNotFoundException.class, () ->
+                    urlService.getOriginalUrl("nonexistent"));
+
+            // Then
+            assertEquals(0, exception.getStackTrace().length);
+        }
     }
 
     @Nested
@@ -306,6 +741,21 @@ class UrlServiceImplTest {
             assertTrue(result.isEmpty());
         }
 
+        @Test
+        @DisplayName("Should list by the gateway's user id without calling Auth Service")
+        void getAllUserUrls_UsesUserIdHeader_WithoutAuthServiceCall() {
+            // Given
+            when(urlRepository.findByUserIdOrderByCreatedAtDesc(42L))
+                    .thenReturn(List.of(createUrl(1L, "abc1", LocalDateTime.now())));
+
+            // When
+            List<UrlResponseDto> result = urlService.getAllUserUrls("testuser", 42L);
+
+            // Then
+            assertEquals(1, result.size());
+            verifyNoInteractions(authServiceClient);
+        }
+
         @Test
         @DisplayName("Should return empty list when user has no URLs")
         void getAllUserUrls_ReturnsEmptyList_WhenNoUrls() {
@@ -356,6 +806,22 @@ class UrlServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("incrementClickCount tests")
+    class IncrementClickCountTests {
+
+        @Test
+        @DisplayName("Should buffer the click instead of updating the database")
+        void incrementClickCount_BuffersClick() {
+            // When
+            urlService.incrementClickCount("abc123XY");
+
+            // Then
+            verify(clickCounter).increment("abc123XY");
+            verifyNoInteractions(urlRepository);
+        }
+    }
+
     // Helper method to create test URLs
     private Url createUrl(Long id, String shortUrl, LocalDateTime createdAt) {
         return Url.builder()
@@ -369,4 +835,9 @@ class UrlServiceImplTest {
                 .deactivated(false)
                 .build();
     }
+
+    private static DataIntegrityViolationException shortUrlCollision() {
+        return new DataIntegrityViolationException("duplicate key", new SQLException(
+                "duplicate key value violates unique constraint \"urls_short_url_key\"", "23505"));
+    }
 }
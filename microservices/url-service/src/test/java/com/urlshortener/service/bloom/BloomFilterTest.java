@@ -0,0 +1,110 @@
+package com.urlshortener.service.bloom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BloomFilter.
+ */
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Should report every added value as present")
+    void mightContain_AddedValues_NoFalseNegatives() {
+        // Given
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("code" + i);
+        }
+
+        // Then
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("code" + i), "No false negatives allowed: code" + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the false-positive rate near the configured rate at capacity")
+    void mightContain_AtCapacity_FalsePositiveRateNearConfigured() {
+        // Given
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("code" + i);
+        }
+
+        // When
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("unknown" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        double rate = (double) falsePositives / probes;
+        assertTrue(rate < 0.02, "False positive rate too high: " + rate);
+        assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.005);
+    }
+
+    @Test
+    @DisplayName("Should size bits and hash functions from the standard formulas")
+    void constructor_SizesFromFormula() {
+        // When
+        BloomFilter filter = new BloomFilter(1_000_000, 0.01);
+
+        // Then - ~9.59 bits per element and 7 hash functions for a 1% rate
+        assertEquals(9_585_059, filter.bitSize(), 64);
+        assertEquals(7, filter.hashFunctions());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid sizing arguments")
+    void constructor_InvalidArguments_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1));
+    }
+
+    @Test
+    @DisplayName("Should not lose values added concurrently")
+    void put_ConcurrentAdds_NoValueLost() throws InterruptedException {
+        // Given
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        int threadCount = 8;
+        int valuesPerThread = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        // When
+        for (int t = 0; t < threadCount; t++) {
+            int thread = t;
+            executor.submit(() -> {
+                try {
+                    for (int i = 0; i < valuesPerThread; i++) {
+                        filter.put(thread + "-" + i);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        // Then
+        assertTrue(latch.await(5, TimeUnit.SECONDS), "All threads should complete within timeout");
+        executor.shutdown();
+        for (int t = 0; t < threadCount; t++) {
+            for (int i = 0; i < valuesPerThread; i++) {
+                assertTrue(filter.mightContain(t + "-" + i));
+            }
+        }
+        assertEquals(threadCount * valuesPerThread, filter.insertions());
+    }
+}
@@ -0,0 +1,170 @@
+package com.urlshortener.service.bloom;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ShortUrlBloomFilter.
+ * The urls table is replaced by a mocked JdbcTemplate.
+ */
+class ShortUrlBloomFilterTest {
+
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM urls";
+    private static final String CATCH_UP_SQL = "SELECT short_url, id FROM urls WHERE id > ?";
+
+    private JdbcTemplate jdbcTemplate;
+    private StringRedisTemplate redisTemplate;
+    private ShortUrlBloomFilter bloomFilter;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        redisTemplate = mock(StringRedisTemplate.class);
+        bloomFilter = new ShortUrlBloomFilter(jdbcTemplate, mock(PlatformTransactionManager.class),
+                redisTemplate, new SimpleMeterRegistry(), true, 1_000, 0.01, "url-created");
+    }
+
+    private void urlsTableContains(List<String> shortCodes) {
+        when(jdbcTemplate.queryForObject(COUNT_SQL, Long.class)).thenReturn((long) shortCodes.size());
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int i = 0; i < shortCodes.size(); i++) {
+                handler.processRow(row(shortCodes.get(i), i + 1));
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    private static ResultSet row(String shortCode, long id) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString(1)).thenReturn(shortCode);
+        when(rs.getLong(2)).thenReturn(id);
+        return rs;
+    }
+
+    @Test
+    @DisplayName("Should reject codes missing from the urls table once built")
+    void mightContain_AfterBuild_RejectsUnknownCodes() throws SQLException {
+        // Given
+        urlsTableContains(List.of("abc123XY", "xyz789AB"));
+
+        // When
+        bloomFilter.run(null);
+
+        // Then
+        assertTrue(bloomFilter.mightContain("abc123XY"));
+        assertTrue(bloomFilter.mightContain("xyz789AB"));
+        assertFalse(bloomFilter.mightContain("unknown1"));
+    }
+
+    @Test
+    @DisplayName("Should start and allow every code when the urls table cannot be read yet")
+    void run_UrlsTableMissing_AllowsEverything() {
+        // Given - auth-service has not created the urls table yet
+        when(jdbcTemplate.queryForObject(COUNT_SQL, Long.class))
+                .thenThrow(new BadSqlGrammarException("count", COUNT_SQL, new SQLException("relation \"urls\" does not exist")));
+
+        // When
+        assertDoesNotThrow(() -> bloomFilter.run(null));
+
+        // Then
+        assertTrue(bloomFilter.mightContain("anything"));
+    }
+
+    @Test
+    @DisplayName("Should build on a later retry once the urls table is readable")
+    void buildIfMissing_AfterFailedStartup_BuildsFilter() throws SQLException {
+        // Given
+        when(jdbcTemplate.queryForObject(COUNT_SQL, Long.class))
+                .thenThrow(new BadSqlGrammarException("count", COUNT_SQL, new SQLException("relation \"urls\" does not exist")));
+        bloomFilter.run(null);
+        reset(jdbcTemplate);
+        urlsTableContains(List.of("abc123XY"));
+
+        // When
+        bloomFilter.buildIfMissing();
+
+        // Then
+        assertTrue(bloomFilter.mightContain("abc123XY"));
+        assertFalse(bloomFilter.mightContain("unknown1"));
+    }
+
+    @Test
+    @DisplayName("Should accept a created code locally and publish it to other instances")
+    void add_AddsLocally_AndPublishes() throws SQLException {
+        // Given
+        urlsTableContains(List.of());
+        bloomFilter.run(null);
+
+        // When
+        bloomFilter.add("new123AB");
+
+        // Then
+        assertTrue(bloomFilter.mightContain("new123AB"));
+        verify(redisTemplate).convertAndSend(eq("url-created"), eq("new123AB"));
+    }
+
+    @Test
+    @DisplayName("Should accept a code created on another instance even if its message was lost")
+    void catchUp_MissedMessage_AcceptsNewCode() throws SQLException {
+        // Given - built with ids 1 and 2; id 3 was created elsewhere and never announced
+        urlsTableContains(List.of("abc123XY", "xyz789AB"));
+        bloomFilter.run(null);
+        assertFalse(bloomFilter.mightContain("lost123A"));
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(row("lost123A", 3));
+            return null;
+        }).when(jdbcTemplate).query(eq(CATCH_UP_SQL), any(RowCallbackHandler.class), eq(2L));
+
+        // When
+        bloomFilter.catchUp();
+
+        // Then
+        assertTrue(bloomFilter.mightContain("lost123A"));
+    }
+
+    @Test
+    @DisplayName("Should re-read from the id seen one poll earlier, for inserts that commit out of id order")
+    void catchUp_StartsFromPreviousPoll() throws SQLException {
+        // Given - the first poll sees id 5, while id 4 is still uncommitted
+        urlsTableContains(List.of("abc123XY", "xyz789AB"));
+        bloomFilter.run(null);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(row("five555A", 5));
+            return null;
+        }).when(jdbcTemplate).query(eq(CATCH_UP_SQL), any(RowCallbackHandler.class), eq(2L));
+        bloomFilter.catchUp();
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(row("four444A", 4));
+            handler.processRow(row("five555A", 5));
+            return null;
+        }).when(jdbcTemplate).query(eq(CATCH_UP_SQL), any(RowCallbackHandler.class), eq(2L));
+
+        // When
+        bloomFilter.catchUp();
+
+        // Then
+        assertTrue(bloomFilter.mightContain("four444A"));
+        assertTrue(bloomFilter.mightContain("five555A"));
+    }
+}
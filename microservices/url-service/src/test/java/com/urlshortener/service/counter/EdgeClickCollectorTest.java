@@ -0,0 +1,83 @@
+package com.urlshortener.service.counter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EdgeClickCollector.
+ */
+class EdgeClickCollectorTest {
+
+    private static final String EDGE_KEY = "urlshortener:clicks:edge";
+
+    private StringRedisTemplate redisTemplate;
+    private WriteBehindClickCounter clickCounter;
+    private EdgeClickCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        clickCounter = mock(WriteBehindClickCounter.class);
+        collector = new EdgeClickCollector(redisTemplate, clickCounter, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(collector, "edgeKey", EDGE_KEY);
+    }
+
+    @Test
+    @DisplayName("Should add every short code taken from the gateway's hash to the click counter")
+    @SuppressWarnings("unchecked")
+    void collect_TakesHash_AddsClicks() {
+        // Given
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(EDGE_KEY))))
+                .thenReturn(List.of("abc123XY", "3", "xyz789AB", "1"));
+
+        // When
+        collector.collect();
+
+        // Then
+        verify(clickCounter).add("abc123XY", 3);
+        verify(clickCounter).add("xyz789AB", 1);
+    }
+
+    @Test
+    @DisplayName("Should do nothing when the gateway served no redirects")
+    @SuppressWarnings("unchecked")
+    void collect_EmptyHash_AddsNothing() {
+        // Given
+        when(redisTemplate.execute(any(RedisScript.class), anyList())).thenReturn(List.of());
+
+        // When
+        collector.collect();
+
+        // Then
+        verifyNoInteractions(clickCounter);
+    }
+
+    @Test
+    @DisplayName("Should leave the hash to the next run when Redis is unavailable")
+    @SuppressWarnings("unchecked")
+    void collect_RedisError_DoesNotThrow() {
+        // Given
+        when(redisTemplate.execute(any(RedisScript.class), anyList()))
+                .thenThrow(new QueryTimeoutException("Redis timeout"));
+
+        // When / Then
+        assertDoesNotThrow(() -> collector.collect());
+        verify(clickCounter, never()).add(anyString(), anyLong());
+    }
+}
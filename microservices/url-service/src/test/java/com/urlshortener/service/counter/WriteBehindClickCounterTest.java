@@ -0,0 +1,182 @@
+package com.urlshortener.service.counter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for WriteBehindClickCounter.
+ * JdbcTemplate is mocked; the flushed batches are recorded per short code.
+ */
+class WriteBehindClickCounterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private WriteBehindClickCounter clickCounter;
+    private Map<String, Long> flushed;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        clickCounter = new WriteBehindClickCounter(jdbcTemplate, new SimpleMeterRegistry());
+        flushed = new HashMap<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> batch = invocation.getArgument(1);
+            batch.forEach(row -> flushed.merge((String) row[1], (Long) row[0], Long::sum));
+            return new int[batch.size()];
+        });
+    }
+
+    @Nested
+    @DisplayName("flush tests")
+    class FlushTests {
+
+        @Test
+        @DisplayName("Should write all clicks of a short code as one batched row")
+        void flush_AggregatesClicksPerShortCode() {
+            // Given
+            clickCounter.increment("abc123XY");
+            clickCounter.increment("abc123XY");
+            clickCounter.increment("xyz789AB");
+
+            // When
+            clickCounter.flush();
+
+            // Then
+            verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+            assertEquals(Map.of("abc123XY", 2L, "xyz789AB", 1L), flushed);
+        }
+
+        @Test
+        @DisplayName("Should not touch the database when nothing was clicked")
+        void flush_NoClicks_SkipsDatabase() {
+            // When
+            clickCounter.flush();
+
+            // Then
+            verifyNoInteractions(jdbcTemplate);
+        }
+
+        @Test
+        @DisplayName("Should write each click only once across flushes")
+        void flush_Twice_DoesNotRepeatClicks() {
+            // Given
+            clickCounter.increment("abc123XY");
+            clickCounter.flush();
+
+            // When
+            clickCounter.flush();
+            clickCounter.flush();
+
+            // Then
+            verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+            assertEquals(Map.of("abc123XY", 1L), flushed);
+        }
+
+        @Test
+        @DisplayName("Should keep the clicks of a failed flush for the next one")
+        void flush_DatabaseFailure_RetriesNextTime() {
+            // Given
+            clickCounter.increment("abc123XY");
+            clickCounter.increment("abc123XY");
+            doThrow(new DataAccessResourceFailureException("db down"))
+                    .doAnswer(invocation -> {
+                        List<Object[]> batch = invocation.getArgument(1);
+                        batch.forEach(row -> flushed.merge((String) row[1], (Long) row[0], Long::sum));
+                        return new int[batch.size()];
+                    })
+                    .when(jdbcTemplate).batchUpdate(anyString(), anyList());
+
+            // When
+            clickCounter.flush();
+            clickCounter.increment("abc123XY");
+            clickCounter.flush();
+
+            // Then
+            assertEquals(Map.of("abc123XY", 3L), flushed);
+        }
+
+        @Test
+        @DisplayName("Should flush pending clicks on shutdown")
+        void flushOnShutdown_WritesPendingClicks() {
+            // Given
+            clickCounter.increment("abc123XY");
+
+            // When
+            clickCounter.flushOnShutdown();
+
+            // Then
+            assertEquals(Map.of("abc123XY", 1L), flushed);
+        }
+    }
+
+    @Nested
+    @DisplayName("Concurrency tests")
+    class ConcurrencyTests {
+
+        @Test
+        @DisplayName("Should not lose clicks that race with a flush removing idle counters")
+        void increment_ConcurrentWithFlush_LosesNothing() throws Exception {
+            // Given - few short codes, so counters keep going idle and being removed
+            int threads = 8;
+            int clicksPerThread = 50_000;
+            List<String> shortCodes = List.of("abc123XY", "xyz789AB", "qwe456RT");
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicBoolean clicking = new AtomicBoolean(true);
+            List<Future<?>> clickers = new ArrayList<>();
+
+            // When
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                clickers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < clicksPerThread; i++) {
+                        clickCounter.increment(shortCodes.get((i + offset) % shortCodes.size()));
+                        if (i % 1_000 == 0) {
+                            Thread.yield();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            Thread flusher = new Thread(() -> {
+                while (clicking.get()) {
+                    clickCounter.flush();
+                }
+            });
+            flusher.start();
+            start.countDown();
+            for (Future<?> clicker : clickers) {
+                clicker.get(30, TimeUnit.SECONDS);
+            }
+            clicking.set(false);
+            flusher.join();
+            executor.shutdown();
+            clickCounter.flush();
+
+            // Then
+            long total = flushed.values().stream().mapToLong(Long::longValue).sum();
+            assertEquals((long) threads * clicksPerThread, total);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.urlshortener.service.generator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LockFreeSequenceGenerator.
+ * The clock is injected, so millisecond boundaries and clock steps are deterministic.
+ */
+class LockFreeSequenceGeneratorTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    @DisplayName("Should reject node ids outside 0-1023")
+    void constructor_NodeIdOutOfRange_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new LockFreeSequenceGenerator(-1, 5));
+        assertThrows(IllegalArgumentException.class, () -> new LockFreeSequenceGenerator(1024, 5));
+    }
+
+    @Test
+    @DisplayName("Should use the 41/10/12-bit Snowflake layout")
+    void nextId_SameMillisecond_UsesSnowflakeLayout() {
+        // Given
+        LockFreeSequenceGenerator generator = new LockFreeSequenceGenerator(7, 5, () -> NOW);
+
+        // When
+        long first = generator.nextId();
+        long second = generator.nextId();
+
+        // Then
+        assertEquals(NOW, first >>> 22);
+        assertEquals(7, (first >>> 12) & 0x3FF);
+        assertEquals(0, first & 0xFFF);
+        assertEquals(1, second & 0xFFF);
+    }
+
+    @Test
+    @DisplayName("Should keep issuing increasing ids after a small backwards clock step")
+    void nextId_ClockMovesBackSlightly_IdsKeepIncreasing() {
+        // Given
+        AtomicLong time = new AtomicLong(NOW);
+        LockFreeSequenceGenerator generator = new LockFreeSequenceGenerator(1, 5, time::get);
+        long before = generator.nextId();
+
+        // When
+        time.addAndGet(-3);
+        long after = generator.nextId();
+
+        // Then
+        assertTrue(after > before);
+        assertEquals(before >>> 22, after >>> 22, "Last timestamp should be reused");
+    }
+
+    @Test
+    @DisplayName("Should refuse to generate after a large backwards clock step")
+    void nextId_ClockMovesBackTooFar_ThrowsException() {
+        // Given
+        AtomicLong time = new AtomicLong(NOW);
+        LockFreeSequenceGenerator generator = new LockFreeSequenceGenerator(1, 5, time::get);
+        generator.nextId();
+
+        // When
+        time.addAndGet(-1_000);
+
+        // Then
+        assertThrows(IllegalStateException.class, generator::nextId);
+    }
+
+    @Test
+    @DisplayName("Should move to the next millisecond once 4096 ids were issued")
+    void nextId_MillisecondExhausted_UsesNextMillisecond() {
+        // Given - the clock advances by one millisecond only after the first 4096 ids
+        AtomicLong calls = new AtomicLong();
+        LockFreeSequenceGenerator generator = new LockFreeSequenceGenerator(1, 5,
+                () -> NOW + (calls.incrementAndGet() > 4097 ? 1 : 0));
+
+        // When
+        long last = 0;
+        for (int i = 0; i < 4096; i++) {
+            last = generator.nextId();
+        }
+        long next = generator.nextId();
+
+        // Then
+        assertEquals(4095, last & 0xFFF);
+        assertEquals((last >>> 22) + 1, next >>> 22);
+        assertEquals(0, next & 0xFFF);
+    }
+
+    @Test
+    @DisplayName("Should generate unique short URLs across threads")
+    void generateShortUrl_ConcurrentThreads_AllUnique() throws InterruptedException {
+        // Given
+        LockFreeSequenceGenerator generator = new LockFreeSequenceGenerator(1, 5);
+        int threadCount = 16;
+        int urlsPerThread = 20_000;
+        Set<String> urls = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        // When
+        for (int t = 0; t < threadCount; t++) {
+            executor.submit(() -> {
+                try {
+                    for (int i = 0; i < urlsPerThread; i++) {
+                        urls.add(generator.generateShortUrl());
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        // Then
+        assertTrue(latch.await(30, TimeUnit.SECONDS), "All threads should complete within timeout");
+        executor.shutdown();
+        assertEquals(threadCount * urlsPerThread, urls.size());
+    }
+}
@@ -0,0 +1,169 @@
+package com.urlshortener.service.generator;
+
+import com.urlshortener.service.generator.NodeIdLease.NodeIdMode;
+import com.urlshortener.util.Base62;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NodeIdLease.
+ * The lease table is mocked and the monotonic clock is injected.
+ */
+@ExtendWith(MockitoExtension.class)
+class NodeIdLeaseTest {
+
+    private static final Duration TTL = Duration.ofSeconds(30);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private NodeIdLease leased() {
+        return new NodeIdLease(jdbcTemplate, meterRegistry, SnowflakeLayout.DEFAULT, NodeIdMode.LEASED, 1, TTL, nanos::get);
+    }
+
+    private void claimReturns(Integer... nodeIds) {
+        when(jdbcTemplate.queryForList(contains("RETURNING node_id"), eq(Integer.class), any(), any(), any()))
+                .thenReturn(List.of(nodeIds));
+    }
+
+    @Test
+    @DisplayName("Should use the configured node id without the database in STATIC mode")
+    void nodeId_StaticMode_UsesConfiguredIdWithoutDatabase() {
+        NodeIdLease lease = new NodeIdLease(jdbcTemplate, meterRegistry, SnowflakeLayout.DEFAULT, NodeIdMode.STATIC, 42, TTL, nanos::get);
+        lease.claim();
+        lease.renew();
+
+        assertEquals(42, lease.nodeId());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should reject a configured node id outside 0-1023")
+    void constructor_StaticNodeIdOutOfRange_ThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new NodeIdLease(jdbcTemplate, meterRegistry, SnowflakeLayout.DEFAULT, NodeIdMode.STATIC, 1024, TTL, nanos::get));
+    }
+
+    @Test
+    @DisplayName("Should use the claimed node id")
+    void claim_FreeNodeId_UsesLeasedId() {
+        claimReturns(7);
+        NodeIdLease lease = leased();
+        lease.claim();
+
+        assertEquals(7, lease.nodeId());
+    }
+
+    @Test
+    @DisplayName("Should fail to start when every node id is leased")
+    void claim_NoFreeNodeId_ThrowsException() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), any(), any(), any()))
+                .thenReturn(Collections.emptyList());
+
+        assertThrows(IllegalStateException.class, leased()::claim);
+    }
+
+    @Test
+    @DisplayName("Should refuse to generate without a lease")
+    void generateShortUrl_NoLease_IsRefused() {
+        DistributedSequenceGenerator generator = new DistributedSequenceGenerator(leased(), SnowflakeLayout.DEFAULT);
+
+        assertThrows(IllegalStateException.class, generator::generateShortUrl);
+    }
+
+    @Test
+    @DisplayName("Should keep the lease valid past the original TTL after a renewal")
+    void renew_Success_ExtendsLease() {
+        claimReturns(7);
+        when(jdbcTemplate.update(contains("SET expires_at"), any(), any(), any())).thenReturn(1);
+        NodeIdLease lease = leased();
+        lease.claim();
+
+        nanos.addAndGet(Duration.ofSeconds(20).toNanos());
+        lease.renew();
+        nanos.addAndGet(Duration.ofSeconds(20).toNanos());
+
+        assertEquals(7, lease.nodeId());
+    }
+
+    @Test
+    @DisplayName("Should refuse to generate once a lease that could not be renewed runs out")
+    void renew_KeepsFailing_RefusesOnceLeaseRunsOut() {
+        claimReturns(7);
+        when(jdbcTemplate.update(contains("SET expires_at"), any(), any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+        NodeIdLease lease = leased();
+        lease.claim();
+
+        nanos.addAndGet(Duration.ofSeconds(20).toNanos());
+        lease.renew();
+        assertEquals(7, lease.nodeId());
+
+        nanos.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThrows(IllegalStateException.class, lease::nodeId);
+    }
+
+    @Test
+    @DisplayName("Should claim a new node id when the lease was taken over")
+    void renew_LeaseTakenOver_ClaimsNewNodeId() {
+        claimReturns(7);
+        NodeIdLease lease = leased();
+        lease.claim();
+
+        when(jdbcTemplate.update(contains("SET expires_at"), any(), any(), any())).thenReturn(0);
+        claimReturns(9);
+        lease.renew();
+
+        assertEquals(9, lease.nodeId());
+        assertEquals(1, meterRegistry.counter("url.generator.node-lease.lost").count());
+    }
+
+    @Test
+    @DisplayName("Should expire the lease on release and refuse to generate")
+    void release_LeaseHeld_ExpiresLeaseAndRefuses() {
+        claimReturns(7);
+        NodeIdLease lease = leased();
+        lease.claim();
+
+        lease.release();
+
+        verify(jdbcTemplate).update(contains("owner = NULL"), eq(7), anyString());
+        assertThrows(IllegalStateException.class, lease::nodeId);
+    }
+
+    @Test
+    @DisplayName("Should encode the leased node id in generated ids")
+    void generateShortUrl_LeasedNodeId_IsEncodedInId() {
+        claimReturns(513);
+        NodeIdLease lease = leased();
+        lease.claim();
+
+        long id = Base62.decode(new DistributedSequenceGenerator(lease, SnowflakeLayout.DEFAULT).generateShortUrl());
+
+        assertEquals(513, (id >>> 12) & 0x3FF);
+    }
+}
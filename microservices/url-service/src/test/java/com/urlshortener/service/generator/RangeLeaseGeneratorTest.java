@@ -0,0 +1,220 @@
+package com.urlshortener.service.generator;
+
+import com.urlshortener.util.Base62;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RangeLeaseGenerator.
+ * The lease table is faked in memory, so several generators can share it like several instances.
+ */
+class RangeLeaseGeneratorTest {
+
+    private static final long FIRST_ID = 916_132_832L;
+
+    @Test
+    @DisplayName("Should hand out consecutive ids within a block")
+    void nextId_WithinBlock_IdsAreConsecutive() {
+        RangeLeaseGenerator generator = generator(new FakeLeaseTable(100), 100, 0.8);
+
+        assertEquals(FIRST_ID, generator.nextId());
+        assertEquals(FIRST_ID + 1, generator.nextId());
+        assertEquals(6, generator.generateShortUrl().length(), "Codes start at 6 characters");
+    }
+
+    @Test
+    @DisplayName("Should continue with the next leased block")
+    void nextId_BlockExhausted_UsesNextBlock() {
+        FakeLeaseTable leases = new FakeLeaseTable(10);
+        RangeLeaseGenerator generator = generator(leases, 10, 0.5);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(FIRST_ID + i, generator.nextId());
+        }
+        assertEquals(FIRST_ID + 10, generator.nextId());
+        assertEquals(2, leases.leases.get());
+    }
+
+    @Test
+    @DisplayName("Should give instances sharing the lease table disjoint ranges")
+    void nextId_TwoInstances_RangesNeverOverlap() {
+        FakeLeaseTable leases = new FakeLeaseTable(10);
+        RangeLeaseGenerator first = generator(leases, 10, 1.0);
+        RangeLeaseGenerator second = generator(leases, 10, 1.0);
+
+        long a = first.nextId();
+        long b = second.nextId();
+
+        assertEquals(FIRST_ID, a);
+        assertEquals(FIRST_ID + 10, b);
+    }
+
+    @Test
+    @DisplayName("Should lease synchronously when the background prefetch failed")
+    void nextId_PrefetchFails_LeasesSynchronously() {
+        AtomicInteger calls = new AtomicInteger();
+        FakeLeaseTable leases = new FakeLeaseTable(10);
+        // Second lease (the background prefetch) fails once
+        RangeLeaseGenerator generator = generator(() -> {
+            if (calls.incrementAndGet() == 2) {
+                throw new IllegalStateException("DB unavailable");
+            }
+            return leases.getAsLong();
+        }, 10, 0.1);
+
+        for (int i = 0; i < 10; i++) {
+            generator.nextId();
+        }
+
+        assertEquals(FIRST_ID + 10, generator.nextId());
+    }
+
+    @Test
+    @DisplayName("Should take a batch of codes from the current block with one lease")
+    void generateShortUrls_WithinBlock_ConsecutiveCodes() {
+        FakeLeaseTable leases = new FakeLeaseTable(100);
+        RangeLeaseGenerator generator = generator(leases, 100, 1.0);
+
+        List<String> shortUrls = generator.generateShortUrls(50);
+
+        assertEquals(ids(FIRST_ID, 50), shortUrls);
+        assertEquals(FIRST_ID + 50, generator.nextId());
+        assertEquals(1, leases.leases.get());
+    }
+
+    @Test
+    @DisplayName("Should lease further blocks for a batch larger than what is left")
+    void generateShortUrls_SpansBlocks_LeasesAsNeeded() {
+        FakeLeaseTable leases = new FakeLeaseTable(10);
+        RangeLeaseGenerator generator = generator(leases, 10, 1.0);
+        generator.nextId();
+
+        List<String> shortUrls = generator.generateShortUrls(25);
+
+        assertEquals(ids(FIRST_ID + 1, 25), shortUrls);
+        assertEquals(3, leases.leases.get());
+        assertEquals(FIRST_ID + 26, generator.nextId());
+    }
+
+    @Test
+    @DisplayName("Should prefetch the next block when a batch passes the threshold")
+    void generateShortUrls_PassesThreshold_PrefetchesOnce() {
+        FakeLeaseTable leases = new FakeLeaseTable(100);
+        RangeLeaseGenerator generator = generator(leases, 100, 0.5);
+        generator.nextId();
+
+        generator.generateShortUrls(60);
+        List<String> rest = generator.generateShortUrls(40);
+
+        assertEquals(ids(FIRST_ID + 61, 40), rest);
+        assertEquals(2, leases.leases.get(), "Prefetched block used, nothing leased twice");
+        assertEquals(FIRST_ID + 101, generator.nextId());
+    }
+
+    @Test
+    @DisplayName("Should never hand out a code twice when batches and single codes race")
+    void generateShortUrls_ConcurrentWithSingles_AllUnique() throws InterruptedException {
+        RangeLeaseGenerator generator = generator(new FakeLeaseTable(1_000), 1_000, 0.5);
+        int threadCount = 8;
+        Set<String> urls = ConcurrentHashMap.newKeySet();
+        AtomicInteger generated = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        for (int t = 0; t < threadCount; t++) {
+            boolean batches = t % 2 == 0;
+            executor.submit(() -> {
+                try {
+                    for (int i = 0; i < 500; i++) {
+                        List<String> codes = batches ? generator.generateShortUrls(37) : List.of(generator.generateShortUrl());
+                        urls.addAll(codes);
+                        generated.addAndGet(codes.size());
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        assertTrue(latch.await(30, TimeUnit.SECONDS), "All threads should complete within timeout");
+        executor.shutdown();
+        generator.shutdown();
+        assertEquals(generated.get(), urls.size());
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive block size or prefetch threshold")
+    void constructor_InvalidArguments_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> generator(new FakeLeaseTable(10), 0, 0.8));
+        assertThrows(IllegalArgumentException.class, () -> generator(new FakeLeaseTable(10), 10, 0));
+    }
+
+    @Test
+    @DisplayName("Should generate unique short URLs across threads")
+    void generateShortUrl_ConcurrentThreads_AllUnique() throws InterruptedException {
+        FakeLeaseTable leases = new FakeLeaseTable(1_000);
+        RangeLeaseGenerator generator = generator(leases, 1_000, 0.5);
+        int threadCount = 16;
+        int urlsPerThread = 10_000;
+        Set<String> urls = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        for (int t = 0; t < threadCount; t++) {
+            executor.submit(() -> {
+                try {
+                    for (int i = 0; i < urlsPerThread; i++) {
+                        urls.add(generator.generateShortUrl());
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        assertTrue(latch.await(30, TimeUnit.SECONDS), "All threads should complete within timeout");
+        executor.shutdown();
+        generator.shutdown();
+        assertEquals(threadCount * urlsPerThread, urls.size());
+    }
+
+    private static List<String> ids(long first, int count) {
+        return LongStream.range(first, first + count).mapToObj(Base62::encode).toList();
+    }
+
+    private RangeLeaseGenerator generator(LongSupplier leaseSource, long blockSize, double prefetchThreshold) {
+        return new RangeLeaseGenerator(leaseSource, new SimpleMeterRegistry(), blockSize, prefetchThreshold);
+    }
+
+    // Mirrors UPDATE id_block_leases SET next_id = next_id + blockSize RETURNING next_id - blockSize
+    private static class FakeLeaseTable implements LongSupplier {
+        private final AtomicLong nextId = new AtomicLong(FIRST_ID);
+        private final AtomicInteger leases = new AtomicInteger();
+        private final long blockSize;
+
+        private FakeLeaseTable(long blockSize) {
+            this.blockSize = blockSize;
+        }
+
+        @Override
+        public long getAsLong() {
+            leases.incrementAndGet();
+            return nextId.getAndAdd(blockSize);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.urlshortener.service.generator;
+
+import com.urlshortener.util.Base62;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SnowflakeLayout.
+ */
+class SnowflakeLayoutTest {
+
+    private static final long NOW = Instant.parse("2026-10-01T00:00:00Z").toEpochMilli();
+
+    @Test
+    @DisplayName("Should pack IDs exactly like the original 41/10/12 layout by default")
+    void compose_DefaultLayout_MatchesOriginalBitPacking() {
+        SnowflakeLayout layout = SnowflakeLayout.DEFAULT;
+        long timestamp = layout.timestamp(NOW);
+
+        assertEquals((NOW << 22) | (5L << 12) | 17, layout.compose(timestamp, 5, 17));
+        assertEquals(1024, layout.maxNodes());
+        assertEquals(4095, layout.maxSequence());
+        assertEquals(11, Base62.encode(layout.compose(timestamp, 5, 17)).length());
+    }
+
+    @Test
+    @DisplayName("Should produce shorter codes with a recent epoch and fewer bits")
+    void compose_RecentEpochFewerBits_ShorterCodes() {
+        long epoch = NOW - Duration.ofDays(5).toMillis();
+        SnowflakeLayout layout = new SnowflakeLayout(epoch, 40, 4, 8);
+        layout.validateLifetime(NOW, 20);
+
+        String code = Base62.encode(layout.compose(layout.timestamp(NOW), layout.maxNodes() - 1, layout.maxSequence()));
+        assertEquals(7, code.length());
+
+        long afterAYear = NOW + Duration.ofDays(365).toMillis();
+        assertEquals(8, Base62.encode(layout.compose(layout.timestamp(afterAYear), 15, 255)).length());
+        assertEquals(9, layout.maxCodeLength());
+    }
+
+    @Test
+    @DisplayName("Should reject a layout whose timestamp runs out within the lifetime")
+    void validateLifetime_TimestampRunsOut_ThrowsException() {
+        // 2^36 ms is about 2.2 years
+        SnowflakeLayout layout = new SnowflakeLayout(NOW, 36, 4, 8);
+
+        assertThrows(IllegalArgumentException.class, () -> layout.validateLifetime(NOW, 5));
+        assertDoesNotThrow(() -> layout.validateLifetime(NOW, 2));
+    }
+
+    @Test
+    @DisplayName("Should reject the default layout when the lifetime reaches past 2039")
+    void validateLifetime_DefaultLayoutPast2039_ThrowsException() {
+        long in2035 = Instant.parse("2035-01-01T00:00:00Z").toEpochMilli();
+
+        assertThrows(IllegalArgumentException.class, () -> SnowflakeLayout.DEFAULT.validateLifetime(in2035, 10));
+    }
+
+    @Test
+    @DisplayName("Should reject an epoch in the future")
+    void validateLifetime_FutureEpoch_ThrowsException() {
+        SnowflakeLayout layout = new SnowflakeLayout(NOW + 1_000, 41, 10, 12);
+
+        assertThrows(IllegalArgumentException.class, () -> layout.validateLifetime(NOW, 1));
+    }
+
+    @Test
+    @DisplayName("Should reject bit widths that do not fit")
+    void constructor_InvalidBitWidths_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeLayout(0, 42, 10, 12));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeLayout(0, 41, 11, 5));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeLayout(0, 0, 10, 12));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeLayout(0, 41, -1, 12));
+    }
+
+    @Test
+    @DisplayName("Should refuse a clock outside the layout range")
+    void timestamp_ClockOutsideLayout_ThrowsException() {
+        SnowflakeLayout layout = new SnowflakeLayout(NOW, 20, 4, 8);
+
+        assertThrows(IllegalStateException.class, () -> layout.timestamp(NOW - 1));
+        assertThrows(IllegalStateException.class, () -> layout.timestamp(NOW + (1L << 20)));
+    }
+
+    @Test
+    @DisplayName("Should reject a node id that does not fit the node bits")
+    void validateNodeId_TooLarge_ThrowsException() {
+        SnowflakeLayout layout = new SnowflakeLayout(0, 41, 4, 8);
+
+        assertDoesNotThrow(() -> layout.validateNodeId(15));
+        assertThrows(IllegalArgumentException.class, () -> layout.validateNodeId(16));
+        assertThrows(IllegalArgumentException.class, () -> new DistributedSequenceGenerator(16, layout));
+    }
+
+    @Test
+    @DisplayName("Should wrap the sequence at the configured width")
+    void nextId_CustomLayout_SequenceWrapsAtWidth() {
+        SnowflakeLayout layout = new SnowflakeLayout(NOW - 1_000, 40, 4, 2);
+        long[] calls = {0};
+        // Clock advances by one millisecond only after the first 4 IDs
+        LockFreeSequenceGenerator generator = new LockFreeSequenceGenerator(3, layout, 5,
+                () -> NOW + (++calls[0] > 5 ? 1 : 0));
+
+        long last = 0;
+        for (int i = 0; i < 4; i++) {
+            last = generator.nextId();
+        }
+        long next = generator.nextId();
+
+        assertEquals(layout.compose(1_000, 3, 3), last);
+        assertEquals(layout.compose(1_001, 3, 0), next);
+    }
+}
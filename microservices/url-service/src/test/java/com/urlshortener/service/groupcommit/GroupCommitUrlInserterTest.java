@@ -0,0 +1,240 @@
+package com.urlshortener.service.groupcommit;
+
+import com.urlshortener.model.Url;
+import com.urlshortener.repository.UrlBatchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for GroupCommitUrlInserter.
+ * The batch insert and the transaction are mocked; callers run on a thread pool.
+ */
+@ExtendWith(MockitoExtension.class)
+class GroupCommitUrlInserterTest {
+
+    @Mock
+    private UrlBatchRepository urlBatchRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<List<Url>> batches = new CopyOnWriteArrayList<>();
+    private final AtomicLong ids = new AtomicLong();
+    private ExecutorService callers;
+    private GroupCommitUrlInserter inserter;
+
+    @BeforeEach
+    void setUp() {
+        callers = Executors.newFixedThreadPool(8);
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().doAnswer(invocation -> {
+            List<Url> urls = invocation.getArgument(0);
+            batches.add(List.copyOf(urls));
+            urls.forEach(url -> url.setId(ids.incrementAndGet()));
+            return null;
+        }).when(urlBatchRepository).insertAll(anyList());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        callers.shutdownNow();
+        if (inserter != null) {
+            inserter.stop();
+        }
+    }
+
+    private GroupCommitUrlInserter started(Duration window, int maxBatchSize) {
+        inserter = new GroupCommitUrlInserter(urlBatchRepository, transactionTemplate, meterRegistry, true,
+                window, maxBatchSize);
+        inserter.start();
+        return inserter;
+    }
+
+    private List<Future<Url>> insertConcurrently(int count) {
+        CountDownLatch ready = new CountDownLatch(count);
+        List<Future<Url>> results = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Url url = Url.builder().originalUrl("https://example.com/" + i).shortUrl("code" + i).build();
+            results.add(callers.submit(() -> {
+                ready.countDown();
+                ready.await();
+                return inserter.insert(url);
+            }));
+        }
+        return results;
+    }
+
+    @Test
+    @DisplayName("Should write concurrent creates in one batch")
+    void insert_ConcurrentCreates_ShareOneBatch() throws Exception {
+        // Given
+        started(Duration.ofMillis(500), 8);
+
+        // When
+        List<Future<Url>> results = insertConcurrently(8);
+
+        // Then
+        for (Future<Url> result : results) {
+            assertNotNull(result.get(5, TimeUnit.SECONDS).getId());
+        }
+        assertEquals(1, batches.size());
+        assertEquals(8, batches.get(0).size());
+        assertEquals(8.0, meterRegistry.summary("url.create.group-commit.batch-size").max());
+        assertEquals(8, meterRegistry.timer("url.create.group-commit.wait").count());
+    }
+
+    @Test
+    @DisplayName("Should write a full batch without waiting out the window")
+    void insert_BatchFull_WrittenBeforeWindowEnds() throws Exception {
+        // Given
+        started(Duration.ofMinutes(1), 4);
+
+        // When
+        List<Future<Url>> results = insertConcurrently(8);
+
+        // Then
+        for (Future<Url> result : results) {
+            assertNotNull(result.get(5, TimeUnit.SECONDS).getId());
+        }
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 4));
+        assertEquals(8, batches.stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    @DisplayName("Should write a lone create once the window ends")
+    void insert_SingleCreate_WrittenAfterWindow() {
+        // Given
+        started(Duration.ofMillis(1), 100);
+
+        // When
+        Url url = inserter.insert(Url.builder().originalUrl("https://example.com").shortUrl("abc123").build());
+
+        // Then
+        assertEquals(1L, url.getId());
+        assertEquals(1, batches.size());
+    }
+
+    @Test
+    @DisplayName("Should fail only the caller whose row failed")
+    void insert_OneRowFails_OnlyItsCallerThrows() throws Exception {
+        // Given
+        DataIntegrityViolationException collision = new DataIntegrityViolationException("duplicate short_url");
+        doAnswer(invocation -> {
+            List<Url> urls = invocation.getArgument(0);
+            if (urls.stream().anyMatch(url -> "code3".equals(url.getShortUrl()))) {
+                throw collision;
+            }
+            urls.forEach(url -> url.setId(ids.incrementAndGet()));
+            return null;
+        }).when(urlBatchRepository).insertAll(anyList());
+        started(Duration.ofMillis(500), 4);
+
+        // When
+        List<Future<Url>> results = insertConcurrently(4);
+
+        // Then
+        for (int i = 0; i < results.size(); i++) {
+            Future<Url> result = results.get(i);
+            if (i == 3) {
+                Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+                assertSame(collision, e.getCause());
+            } else {
+                assertNotNull(result.get(5, TimeUnit.SECONDS).getId());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a create after stop instead of waiting forever")
+    void insert_AfterStop_Throws() throws Exception {
+        // Given - the end state of an insert racing stop(): its row is queued after the
+        // writer exited and stop() drained the queue
+        started(Duration.ofMillis(1), 100);
+        inserter.stop();
+
+        // When
+        Future<Url> result = callers.submit(() ->
+                inserter.insert(Url.builder().originalUrl("https://example.com").shortUrl("abc123").build()));
+
+        // Then
+        Exception e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    @Test
+    @DisplayName("Should complete every create that races with stop, written or rejected")
+    void insert_DuringStop_NeverHangs() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            // Given
+            GroupCommitUrlInserter current = started(Duration.ofMillis(1), 10);
+            CountDownLatch go = new CountDownLatch(1);
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(callers.submit(() -> {
+                    go.await();
+                    for (int i = 0; i < 20; i++) {
+                        try {
+                            current.insert(Url.builder().originalUrl("https://example.com/" + i).shortUrl("code" + i).build());
+                        } catch (IllegalStateException e) {
+                            return null;
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            // When
+            go.countDown();
+            current.stop();
+
+            // Then - a TimeoutException here is a caller left waiting on its future
+            for (Future<?> result : results) {
+                result.get(5, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should not start a writer when group commit is disabled")
+    void start_Disabled_NoWriterStarted() {
+        inserter = new GroupCommitUrlInserter(urlBatchRepository, transactionTemplate, meterRegistry, false,
+                Duration.ofMillis(1), 100);
+
+        // When
+        inserter.start();
+
+        // Then
+        assertFalse(inserter.isEnabled());
+        assertThrows(IllegalStateException.class, () -> inserter.insert(Url.builder().build()));
+    }
+}
@@ -0,0 +1,127 @@
+package com.urlshortener.service.lookup;
+
+import com.urlshortener.model.Url;
+import com.urlshortener.repository.UrlRepository;
+import com.urlshortener.service.lookup.UrlKeyLookup.KeyMode;
+import com.urlshortener.util.Base62;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UrlKeyLookup.
+ */
+@ExtendWith(MockitoExtension.class)
+class UrlKeyLookupTest {
+
+    private static final long ID = 7_503_232_716_230_541_312L;
+    private static final String CODE = Base62.encode(ID);
+
+    @Mock
+    private UrlRepository urlRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should look up by short_url in SHORT_URL mode")
+    void findByShortUrl_ShortUrlMode_LooksUpByText() {
+        Url url = Url.builder().shortUrl(CODE).build();
+        when(urlRepository.findByShortUrl(CODE)).thenReturn(Optional.of(url));
+        UrlKeyLookup lookup = new UrlKeyLookup(urlRepository, jdbcTemplate, KeyMode.SHORT_URL, false, 1000);
+
+        assertSame(url, lookup.findByShortUrl(CODE).orElseThrow());
+        verify(urlRepository, never()).findByShortCodeKey(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should look up by the decoded key in NUMERIC mode")
+    void findByShortUrl_NumericMode_LooksUpByDecodedKey() {
+        Url url = Url.builder().shortUrl(CODE).build();
+        when(urlRepository.findByShortCodeKey(ID)).thenReturn(Optional.of(url));
+        UrlKeyLookup lookup = new UrlKeyLookup(urlRepository, jdbcTemplate, KeyMode.NUMERIC, false, 1000);
+
+        assertSame(url, lookup.findByShortUrl(CODE).orElseThrow());
+        verify(urlRepository, never()).findByShortUrl(any());
+    }
+
+    @Test
+    @DisplayName("Should look up codes without a key by short_url")
+    void findByShortUrl_CodeWithoutKey_LooksUpByText() {
+        when(urlRepository.findByShortUrl("0abc")).thenReturn(Optional.empty());
+        UrlKeyLookup lookup = new UrlKeyLookup(urlRepository, jdbcTemplate, KeyMode.NUMERIC, false, 1000);
+
+        assertTrue(lookup.findByShortUrl("0abc").isEmpty());
+        verify(urlRepository, never()).findByShortCodeKey(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should fall back to short_url until the backfill finished")
+    void findByShortUrl_MissBeforeBackfill_FallsBackToText() {
+        Url url = Url.builder().shortUrl(CODE).build();
+        when(urlRepository.findByShortCodeKey(ID)).thenReturn(Optional.empty());
+        when(urlRepository.findByShortUrl(CODE)).thenReturn(Optional.of(url));
+        UrlKeyLookup lookup = new UrlKeyLookup(urlRepository, jdbcTemplate, KeyMode.NUMERIC, true, 1000);
+
+        assertSame(url, lookup.findByShortUrl(CODE).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should not query short_url after the backfill finished")
+    void findByShortUrl_MissAfterBackfill_SkipsTextIndex() {
+        when(urlRepository.findByShortCodeKey(ID)).thenReturn(Optional.empty());
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), anyLong(), anyInt()))
+                .thenReturn(Collections.emptyList());
+        UrlKeyLookup lookup = new UrlKeyLookup(urlRepository, jdbcTemplate, KeyMode.NUMERIC, true, 1000);
+        lookup.backfill();
+
+        assertTrue(lookup.findByShortUrl(CODE).isEmpty());
+        verify(urlRepository, never()).findByShortUrl(any());
+    }
+
+    @Test
+    @DisplayName("Should backfill canonical codes and skip the rest")
+    @SuppressWarnings("unchecked")
+    void backfill_MixedCodes_KeysOnlyCanonicalCodes() throws SQLException {
+        List<String[]> rows = List.of(new String[] {"1", "4C92"}, new String[] {"2", "04C92"}, new String[] {"3", "abc-1"});
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(0L), eq(3)))
+                .thenAnswer(invocation -> mapRows(invocation.getArgument(1), rows));
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(3L), eq(3)))
+                .thenReturn(Collections.emptyList());
+        UrlKeyLookup lookup = new UrlKeyLookup(urlRepository, jdbcTemplate, KeyMode.NUMERIC, true, 3);
+
+        assertEquals(1, lookup.backfill());
+
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), updates.capture());
+        assertEquals(1, updates.getValue().size());
+        assertArrayEquals(new Object[] {1_000_000L, 1L}, updates.getValue().get(0));
+    }
+
+    private static List<Long> mapRows(RowMapper<Long> mapper, List<String[]> rows) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getLong("id")).thenReturn(Long.parseLong(rows.get(i)[0]));
+            when(rs.getString("short_url")).thenReturn(rows.get(i)[1]);
+            ids.add(mapper.mapRow(rs, i));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,161 @@
+package com.urlshortener.service.warmup;
+
+import com.urlshortener.config.CacheConfig;
+import com.urlshortener.dto.UrlResponseDto;
+import com.urlshortener.service.warmup.UrlCacheWarmer.WarmupSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UrlCacheWarmer.
+ * Uses the real "urls" cache configuration, so the warmed keys are the ones getOriginalUrl reads.
+ */
+@ExtendWith(MockitoExtension.class)
+class UrlCacheWarmerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisStringCommands stringCommands;
+
+    private RedisCacheConfiguration cacheConfiguration;
+    private final Set<String> redisKeys = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<List<Object>> pipelineResults = new ThreadLocal<>();
+
+    @BeforeEach
+    void setUp() {
+        CacheConfig cacheConfig = new CacheConfig();
+        ReflectionTestUtils.setField(cacheConfig, "codec", CacheConfig.CacheCodec.BINARY);
+        ReflectionTestUtils.setField(cacheConfig, "ttl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(cacheConfig, "tombstoneTtl", Duration.ofSeconds(30));
+        cacheConfiguration = cacheConfig.cacheConfiguration();
+
+        // Redis with SET NX semantics: a pipelined SET reports true only for a key not yet present
+        lenient().when(connection.stringCommands()).thenReturn(stringCommands);
+        lenient().when(stringCommands.set(any(byte[].class), any(byte[].class), any(Expiration.class), any(SetOption.class)))
+                .thenAnswer(invocation -> {
+                    String key = new String(invocation.<byte[]>getArgument(0), StandardCharsets.UTF_8);
+                    pipelineResults.get().add(redisKeys.add(key));
+                    return null;
+                });
+        lenient().when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            pipelineResults.set(new ArrayList<>());
+            invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+            return pipelineResults.get();
+        });
+    }
+
+    @Test
+    @DisplayName("Should write the hottest URLs under the cache's keys in pipelined batches")
+    void warmUp_HottestUrls_WrittenInPipelinedBatches() throws Exception {
+        // Given
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(), any())).thenReturn(urls(25));
+
+        // When
+        int loaded = warmer(10, Duration.ofSeconds(5)).warmUp();
+
+        // Then
+        assertEquals(25, loaded);
+        verify(redisTemplate, times(3)).executePipelined(any(RedisCallback.class));
+        verify(stringCommands).set(
+                eq("urlshortener:urls::code0".getBytes(StandardCharsets.UTF_8)),
+                any(byte[].class),
+                eq(Expiration.from(Duration.ofHours(1))),
+                eq(SetOption.ifAbsent()));
+        verify(stringCommands, times(25)).set(any(byte[].class), any(byte[].class), any(Expiration.class), any(SetOption.class));
+    }
+
+    @Test
+    @DisplayName("Should leave keys the live path has already written, such as tombstones")
+    void warmUp_KeyAlreadyCached_NotOverwritten() throws Exception {
+        // Given - code0 was deactivated and tombstoned after the warm-up query read it
+        redisKeys.add("urlshortener:urls::code0");
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(), any())).thenReturn(urls(25));
+
+        // When
+        int loaded = warmer(10, Duration.ofSeconds(5)).warmUp();
+
+        // Then
+        assertEquals(24, loaded);
+        verify(stringCommands, times(25)).set(any(byte[].class), any(byte[].class), any(Expiration.class),
+                eq(SetOption.ifAbsent()));
+    }
+
+    @Test
+    @DisplayName("Should skip the remaining batches once the time budget is spent")
+    void warmUp_TimeBudgetExhausted_SkipsBatches() throws Exception {
+        // Given
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(), any())).thenReturn(urls(25));
+
+        // When
+        int loaded = warmer(10, Duration.ZERO).warmUp();
+
+        // Then
+        assertEquals(0, loaded);
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should not abort startup when Redis fails")
+    void run_RedisError_DoesNotThrow() {
+        // Given
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(), any())).thenReturn(urls(5));
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenThrow(new IllegalStateException("Redis down"));
+
+        // When / Then
+        assertDoesNotThrow(() -> warmer(10, Duration.ofSeconds(5)).run(null));
+    }
+
+    private UrlCacheWarmer warmer(int batchSize, Duration timeBudget) {
+        return new UrlCacheWarmer(jdbcTemplate, redisTemplate, cacheConfiguration, new SimpleMeterRegistry(),
+                true, WarmupSource.CLICK_COUNT, 100, batchSize, 2, timeBudget, Duration.ofDays(1));
+    }
+
+    private List<UrlResponseDto> urls(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> UrlResponseDto.builder()
+                        .id((long) i)
+                        .originalUrl("https://example.com/" + i)
+                        .shortUrl("code" + i)
+                        .expiresAt(LocalDateTime.now().plusDays(1))
+                        .clickCount(100 - i)
+                        .deactivated(false)
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,42 @@
+package com.urlshortener.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ShortCodeKey.
+ */
+class ShortCodeKeyTest {
+
+    @Test
+    @DisplayName("Should use the Base62 value of a canonical code as its key")
+    void of_CanonicalCode_ReturnsBase62Value() {
+        assertEquals(1_000_000L, ShortCodeKey.of("4C92"));
+        assertEquals(0L, ShortCodeKey.of("0"));
+        assertEquals(Long.MAX_VALUE, ShortCodeKey.of(Base62.encode(Long.MAX_VALUE)));
+    }
+
+    @Test
+    @DisplayName("Should map a generated code back to its id")
+    void of_GeneratedCode_EncodesBackToSameCode() {
+        // Given
+        long id = (System.currentTimeMillis() << 22) | (1 << 12) | 42;
+        String code = Base62.encode(id);
+
+        // When / Then
+        assertEquals(id, ShortCodeKey.of(code));
+        assertEquals(code, Base62.encode(ShortCodeKey.of(code)));
+    }
+
+    @Test
+    @DisplayName("Should return no key for codes without a unique numeric form")
+    void of_NonCanonicalCode_ReturnsNull() {
+        assertNull(ShortCodeKey.of("04C92"));
+        assertNull(ShortCodeKey.of("abc-12"));
+        assertNull(ShortCodeKey.of("zzzzzzzzzzz"));
+        assertNull(ShortCodeKey.of(""));
+        assertNull(ShortCodeKey.of(null));
+    }
+}
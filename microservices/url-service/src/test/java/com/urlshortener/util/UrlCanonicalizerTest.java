@@ -0,0 +1,41 @@
+package com.urlshortener.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UrlCanonicalizer.
+ */
+class UrlCanonicalizerTest {
+
+    @Test
+    @DisplayName("Should give the same canonical form for scheme/host case and default port variants")
+    void canonicalize_CaseAndDefaultPort_Match() {
+        // Given
+        String canonical = "https://example.com/";
+
+        // Then
+        assertEquals(canonical, UrlCanonicalizer.canonicalize("https://example.com"));
+        assertEquals(canonical, UrlCanonicalizer.canonicalize(" HTTPS://Example.COM:443 "));
+        assertEquals("http://example.com/a", UrlCanonicalizer.canonicalize("http://EXAMPLE.com:80/a"));
+        assertEquals(UrlCanonicalizer.hash("https://example.com"), UrlCanonicalizer.hash("HTTPS://example.com:443/"));
+    }
+
+    @Test
+    @DisplayName("Should keep path, query and fragment as they are")
+    void canonicalize_PathQueryFragment_KeptAsIs() {
+        assertEquals("https://example.com/A%2Fb?Q=1&a=2#Top",
+                UrlCanonicalizer.canonicalize("https://Example.com/A%2Fb?Q=1&a=2#Top"));
+        assertEquals("http://example.com:443/", UrlCanonicalizer.canonicalize("http://example.com:443"));
+        assertNotEquals(UrlCanonicalizer.hash("https://example.com/a"), UrlCanonicalizer.hash("https://example.com/A"));
+    }
+
+    @Test
+    @DisplayName("Should only trim values that are not absolute URLs")
+    void canonicalize_NotAbsoluteUrl_OnlyTrimmed() {
+        assertEquals("not a url", UrlCanonicalizer.canonicalize(" not a url "));
+        assertEquals("example.com/path", UrlCanonicalizer.canonicalize("example.com/path"));
+    }
+}